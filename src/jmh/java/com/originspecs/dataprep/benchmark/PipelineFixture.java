@@ -0,0 +1,97 @@
+package com.originspecs.dataprep.benchmark;
+
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import com.originspecs.dataprep.synthetic.SyntheticWorkbookGenerator;
+import com.originspecs.dataprep.synthetic.SyntheticWorkbookSpec;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Shared input for the pipeline benchmarks: a {@link SyntheticWorkbookGenerator} workbook
+ * written to a temp directory once per trial, plus the models each stage consumes — the raw
+ * model as read, and the processed model as written. Sparse columns fall below the column
+ * threshold and are dropped by processing.
+ *
+ * <p>Parameters can be overridden from the command line, e.g.
+ * {@code -Djmh.args="benchmark -p rows=50000 -p sparsity=0.6"}.
+ */
+@State(Scope.Benchmark)
+public class PipelineFixture {
+
+    static final double COLUMN_THRESHOLD = 0.05;
+
+    /** Worksheets in the workbook. */
+    @Param({"4"})
+    public int sheets;
+
+    /** Data rows per sheet. .xls holds at most 65,536 rows per sheet. */
+    @Param({"5000"})
+    public int rows;
+
+    /** Columns per sheet, including Car Name, Common Name and Model Type. */
+    @Param({"40"})
+    public int columns;
+
+    /** Share of data rows that start a new model group, i.e. a new pair of vertical merges. */
+    @Param({"0.1"})
+    public double mergeDensity;
+
+    /** Share of spec columns that are sparse. */
+    @Param({"0.3"})
+    public double sparsity;
+
+    /** Share of numeric spec columns holding formulas. */
+    @Param({"0.05"})
+    public double formulaRatio;
+
+    SyntheticWorkbookGenerator generator;
+    Set<String> brands;
+    Map<String, String> permittedHeaders;
+    Path directory;
+    Path xlsInput;
+    WorkBookData raw;
+    WorkBookData processed;
+    long rowCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SyntheticWorkbookSpec spec = SyntheticWorkbookSpec.defaults()
+                .withSheets(sheets)
+                .withRowsPerSheet(rows)
+                .withColumns(columns)
+                .withMergeDensity(mergeDensity)
+                .withSparsity(sparsity)
+                .withFormulaRatio(formulaRatio);
+        generator = new SyntheticWorkbookGenerator(spec);
+        brands = Set.copyOf(spec.brands());
+        permittedHeaders = generator.permittedHeaders();
+        directory = Files.createTempDirectory("dataprep-bench");
+        xlsInput = generator.generate(directory.resolve("input.xls"));
+        raw = new WorkBookReader(brands).read(xlsInput);
+        processed = new WorkBookProcessor(permittedHeaders).process(raw, COLUMN_THRESHOLD);
+        rowCount = raw.getWorksheets().stream().mapToLong(sheet -> sheet.getRows().size()).sum();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
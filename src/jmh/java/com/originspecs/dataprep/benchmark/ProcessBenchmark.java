@@ -0,0 +1,62 @@
+package com.originspecs.dataprep.benchmark;
+
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import com.originspecs.dataprep.processor.HeaderResolver;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link WorkBookProcessor#process} of the {@link PipelineFixture} raw model, and
+ * {@link HeaderResolver#resolve} of its header blocks on their own.
+ *
+ * <p>Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.args="ProcessBenchmark -prof gc"};
+ * for {@code process}, {@code rows} is the throughput in rows/s. {@code resolveHeaders}
+ * reports workbooks per second: every sheet's header block, all columns kept.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-DLOG_LEVEL=WARN")
+public class ProcessBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Stages {
+
+        WorkBookProcessor processor;
+        HeaderResolver headerResolver;
+
+        @Setup(Level.Trial)
+        public void setUp(PipelineFixture fixture) {
+            processor = new WorkBookProcessor(fixture.permittedHeaders);
+            headerResolver = new HeaderResolver(fixture.permittedHeaders);
+        }
+    }
+
+    @Benchmark
+    public WorkBookData process(PipelineFixture fixture, Stages stages, RowCounter counter) {
+        WorkBookData processed = stages.processor.process(fixture.raw, PipelineFixture.COLUMN_THRESHOLD);
+        counter.rows += fixture.rowCount;
+        return processed;
+    }
+
+    @Benchmark
+    public void resolveHeaders(PipelineFixture fixture, Stages stages, Blackhole blackhole) {
+        for (WorkSheetData sheet : fixture.raw.getWorksheets()) {
+            List<Integer> allColumns = IntStream.range(0, sheet.getOriginalColumnCount()).boxed().toList();
+            blackhole.consume(stages.headerResolver.resolve(sheet.getRawHeaderRows(), allColumns));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.originspecs.dataprep.benchmark;
+
+import com.originspecs.dataprep.config.ReaderEngine;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.reader.ReaderOptions;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WorkBookReader#read} of the {@link PipelineFixture} workbook, per input format and
+ * reader engine. {@code .xlsx} is always read by the streaming SAX reader.
+ *
+ * <p>{@code xls-usermodel} opens the file through a file-backed {@code POIFSFileSystem};
+ * {@code xls-usermodel-stream} reads the same workbook from an uncompressed zip file system,
+ * which takes the {@code InputStream} path that buffers the whole OLE2 container on the heap.
+ * Both copy the container's blocks once, so {@code gc.alloc.rate.norm} stays close; the
+ * stream path differs in holding the whole container live while the workbook is parsed.
+ *
+ * <p>Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.args="ReadBenchmark -prof gc"};
+ * {@code rows} is the read throughput in rows/s and {@code gc.alloc.rate.norm} the bytes
+ * allocated per workbook read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-DLOG_LEVEL=WARN")
+public class ReadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        @Param({"xls-usermodel", "xls-usermodel-stream", "xls-event", "xlsx"})
+        public String reader;
+
+        Path path;
+        WorkBookReader workBookReader;
+        FileSystem zipFileSystem;
+        Path zip;
+
+        @Setup(Level.Trial)
+        public void setUp(PipelineFixture fixture) throws IOException {
+            ReaderOptions options = ReaderOptions.defaults();
+            switch (reader) {
+                case "xls-usermodel" -> path = fixture.xlsInput;
+                case "xls-usermodel-stream" -> {
+                    // Outside the fixture directory: the fixture may be torn down before this state
+                    zip = Files.createTempDirectory("dataprep-bench-zip").resolve("input.zip");
+                    zipFileSystem = FileSystems.newFileSystem(zip, Map.of("create", "true", "noCompression", "true"));
+                    path = Files.copy(fixture.xlsInput, zipFileSystem.getPath("input.xls"));
+                }
+                case "xls-event" -> {
+                    path = fixture.xlsInput;
+                    options = options.withEngine(ReaderEngine.EVENT);
+                }
+                case "xlsx" -> path = fixture.generator.generate(fixture.directory.resolve("input.xlsx"));
+                default -> throw new IllegalArgumentException("Unknown reader: " + reader);
+            }
+            workBookReader = new WorkBookReader(fixture.brands, options);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            if (zipFileSystem != null) {
+                zipFileSystem.close();
+                Files.delete(zip);
+                Files.delete(zip.getParent());
+            }
+        }
+    }
+
+    @Benchmark
+    public WorkBookData read(PipelineFixture fixture, Input input, RowCounter counter) throws IOException {
+        WorkBookData workBook = input.workBookReader.read(input.path);
+        counter.rows += fixture.rowCount;
+        return workBook;
+    }
+}
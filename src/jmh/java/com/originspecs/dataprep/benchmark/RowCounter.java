@@ -0,0 +1,23 @@
+package com.originspecs.dataprep.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Rows handled by a benchmark, reported by JMH as a secondary {@code rows} result in
+ * rows per second alongside the operations per second of the benchmark itself.
+ */
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+@State(Scope.Thread)
+public class RowCounter {
+
+    public long rows;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        rows = 0;
+    }
+}
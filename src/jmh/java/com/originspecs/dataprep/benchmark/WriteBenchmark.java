@@ -0,0 +1,51 @@
+package com.originspecs.dataprep.benchmark;
+
+import com.originspecs.dataprep.writer.WorkBookWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WorkBookWriter#write} of the {@link PipelineFixture} processed model, per output
+ * format. Every operation overwrites the same file in the trial directory.
+ *
+ * <p>Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.args="WriteBenchmark -prof gc"};
+ * {@code rows} is the write throughput in rows/s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-DLOG_LEVEL=WARN")
+public class WriteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Output {
+
+        @Param({"xls", "xlsx", "ndjson"})
+        public String format;
+
+        Path path;
+        final WorkBookWriter writer = new WorkBookWriter();
+
+        @Setup(Level.Trial)
+        public void setUp(PipelineFixture fixture) {
+            path = fixture.directory.resolve("output." + format);
+        }
+    }
+
+    @Benchmark
+    public void write(PipelineFixture fixture, Output output, RowCounter counter) throws IOException {
+        output.writer.write(fixture.processed, output.path);
+        counter.rows += fixture.rowCount;
+    }
+}
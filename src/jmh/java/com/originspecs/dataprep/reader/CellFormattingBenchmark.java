@@ -0,0 +1,101 @@
+package com.originspecs.dataprep.reader;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CellTextFormatter} with {@link DataFormatter} for formatting every cell
+ * of an in-memory MLIT-shaped sheet: text name columns followed by numeric spec columns
+ * in General, {@code 0.0} and {@code #,##0} formats.
+ *
+ * <p>Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.args="CellFormatting -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class CellFormattingBenchmark {
+
+    @Param({"5000"})
+    int rows;
+
+    @Param({"40"})
+    int columns;
+
+    private Workbook workbook;
+    private FormulaEvaluator evaluator;
+    private List<Cell> cells;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workbook = new HSSFWorkbook();
+        evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        Sheet sheet = workbook.createSheet("Spec");
+        CellStyle[] styles = {style("General"), style("0.0"), style("#,##0")};
+
+        cells = new ArrayList<>(rows * columns);
+        for (int r = 0; r < rows; r++) {
+            Row row = sheet.createRow(r);
+            for (int c = 0; c < columns; c++) {
+                Cell cell = row.createCell(c);
+                if (c < 4) {
+                    cell.setCellValue("車種" + r + "-" + c);
+                } else {
+                    cell.setCellValue(r * 1.25 + c);
+                    cell.setCellStyle(styles[c % styles.length]);
+                }
+                cells.add(cell);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public void dataFormatter(Blackhole blackhole) {
+        DataFormatter formatter = new DataFormatter();
+        for (Cell cell : cells) {
+            blackhole.consume(formatter.formatCellValue(cell, evaluator));
+        }
+    }
+
+    @Benchmark
+    public void cellTextFormatter(Blackhole blackhole) {
+        CellTextFormatter formatter = new CellTextFormatter();
+        for (Cell cell : cells) {
+            blackhole.consume(formatter.format(cell, evaluator));
+        }
+    }
+
+    private CellStyle style(String format) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(workbook.createDataFormat().getFormat(format));
+        return style;
+    }
+}
@@ -0,0 +1,134 @@
+package com.originspecs.dataprep.reader;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link MergedRegionIndex} with the string-keyed {@code "row:col"} map the readers
+ * used before it, for building the structure and for a full-sheet scan of lookups.
+ *
+ * <p>The synthetic sheet mimics the MLIT layout: Car Name and Common Name (columns 0 and 1)
+ * merged vertically over {@code mergeHeight} rows, plus horizontal group headers in the
+ * first rows. Every cell is looked up, as the readers do for blank cells.
+ *
+ * <p>Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.args="MergedRegionLookup -prof gc"}
+ * to include allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class MergedRegionLookupBenchmark {
+
+    @Param({"1000", "20000"})
+    int rows;
+
+    @Param({"10", "200"})
+    int mergeHeight;
+
+    @Param({"40"})
+    int columns;
+
+    private List<CellRangeAddress> regions;
+    // Decoded rows holding region origins, as a reader would feed them to the index
+    private SortedMap<Integer, List<String>> originRows;
+    private Map<String, String> stringKeyedMap;
+    private MergedRegionIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        regions = new ArrayList<>();
+        // Group headers: three rows of 4-column horizontal merges
+        for (int r = 0; r < 3; r++) {
+            for (int c = 2; c + 3 < columns; c += 4) {
+                regions.add(new CellRangeAddress(r, r, c, c + 3));
+            }
+        }
+        // Car Name / Common Name groups merged vertically down the data rows
+        for (int r = 3; r < rows; r += mergeHeight) {
+            int last = Math.min(r + mergeHeight - 1, rows - 1);
+            regions.add(new CellRangeAddress(r, last, 0, 0));
+            regions.add(new CellRangeAddress(r, last, 1, 1));
+        }
+        originRows = new TreeMap<>();
+        for (CellRangeAddress region : regions) {
+            List<String> row = originRows.computeIfAbsent(region.getFirstRow(),
+                    r -> new ArrayList<>(Collections.nCopies(columns, "")));
+            row.set(region.getFirstColumn(), valueOf(region));
+        }
+        stringKeyedMap = buildStringKeyedMap();
+        index = buildIndex();
+    }
+
+    @Benchmark
+    public Map<String, String> buildStringKeyed() {
+        return buildStringKeyedMap();
+    }
+
+    @Benchmark
+    public MergedRegionIndex buildRegionIndex() {
+        return buildIndex();
+    }
+
+    @Benchmark
+    public void lookupStringKeyed(Blackhole blackhole) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                blackhole.consume(stringKeyedMap.getOrDefault(r + ":" + c, ""));
+            }
+        }
+    }
+
+    @Benchmark
+    public void lookupRegionIndex(Blackhole blackhole) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                blackhole.consume(index.valueAt(r, c));
+            }
+        }
+    }
+
+    // Baseline: the cell-by-cell expansion the readers used before MergedRegionIndex
+    private Map<String, String> buildStringKeyedMap() {
+        Map<String, String> mergedValues = new HashMap<>();
+        for (CellRangeAddress region : regions) {
+            String value = valueOf(region);
+            for (int r = region.getFirstRow(); r <= region.getLastRow(); r++) {
+                for (int c = region.getFirstColumn(); c <= region.getLastColumn(); c++) {
+                    if (r == region.getFirstRow() && c == region.getFirstColumn()) continue;
+                    mergedValues.put(r + ":" + c, value);
+                }
+            }
+        }
+        return mergedValues;
+    }
+
+    private MergedRegionIndex buildIndex() {
+        MergedRegionIndex index = MergedRegionIndex.of(regions);
+        originRows.forEach(index::recordOrigins);
+        return index;
+    }
+
+    private static String valueOf(CellRangeAddress region) {
+        return "R" + region.getFirstRow() + "C" + region.getFirstColumn();
+    }
+}
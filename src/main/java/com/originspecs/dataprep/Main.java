@@ -2,9 +2,13 @@ package com.originspecs.dataprep;
 
 import com.originspecs.dataprep.config.Config;
 import com.originspecs.dataprep.config.CliParser;
+import com.originspecs.dataprep.orchestration.BatchOrchestrator;
 import com.originspecs.dataprep.orchestration.DataPrepOrchestrator;
+import com.originspecs.dataprep.orchestration.WatchFolderDaemon;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+
 @Slf4j
 public class Main {
 
@@ -12,10 +16,33 @@ public class Main {
         Config config = CliParser.parseOrExit(args);
 
         try {
-            DataPrepOrchestrator orchestrator = new DataPrepOrchestrator();
-            orchestrator.execute(config);
+            DataPrepOrchestrator orchestrator = new DataPrepOrchestrator(config);
+            if (config.watch()) {
+                runWatchDaemon(orchestrator, config);
+            } else if (config.isBatch()) {
+                new BatchOrchestrator(orchestrator, config.maxConcurrentFiles()).execute(config);
+            } else {
+                orchestrator.execute(config);
+            }
         } catch (Exception e) {
             log.error("Data preparation failed", e);
         }
     }
+
+    /**
+     * Runs until the JVM is asked to stop (e.g. Ctrl+C), then lets in-flight files finish.
+     */
+    private static void runWatchDaemon(DataPrepOrchestrator orchestrator, Config config) throws IOException {
+        WatchFolderDaemon daemon = new WatchFolderDaemon(orchestrator, config);
+        Thread watchThread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                daemon.close();
+                watchThread.join();
+            } catch (IOException | InterruptedException e) {
+                log.warn("Watch daemon did not shut down cleanly: {}", e.getMessage());
+            }
+        }));
+        daemon.run();
+    }
 }
\ No newline at end of file
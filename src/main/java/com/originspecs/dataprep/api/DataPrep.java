@@ -0,0 +1,90 @@
+package com.originspecs.dataprep.api;
+
+import com.originspecs.dataprep.config.CarListBuilder;
+import com.originspecs.dataprep.config.PermittedHeadersBuilder;
+import com.originspecs.dataprep.model.CarBrand;
+import com.originspecs.dataprep.model.WorkSheetData;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.ReaderOptions;
+import com.originspecs.dataprep.reader.WorkBookSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point for embedding DataPrep in another JVM application: processed rows are consumed
+ * directly, without materializing a {@link com.originspecs.dataprep.model.WorkBookData} or
+ * writing an intermediate workbook.
+ *
+ * <pre>{@code
+ * try (PreparedWorkbook workbook = DataPrep.open(path, DataPrepOptions.of(0.05))) {
+ *     for (PreparedSheet sheet : workbook.sheets()) {
+ *         try (Stream<SpecRow> rows = sheet.rows()) {
+ *             rows.forEach(row -> load(sheet.name(), row.asMap()));
+ *         }
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Column decisions need the fill statistics of a whole sheet, so each sheet is scanned
+ * once when the workbook is opened — keeping only its header rows and statistics — and its
+ * rows are decoded again, lazily, on each pass. The workbook itself stays loaded as a POI
+ * user-model workbook until the {@link PreparedWorkbook} is closed, so heap use grows with the
+ * workbook file as it does for the CLI's {@code usermodel} reader; only the processed rows are
+ * never materialized.
+ */
+public final class DataPrep {
+
+    private DataPrep() {
+    }
+
+    /**
+     * Opens an .xls or .xlsx workbook and resolves the headers of every sheet, using the
+     * bundled permitted-header mapping and brand list.
+     */
+    public static PreparedWorkbook open(Path inputPath, DataPrepOptions options) throws IOException {
+        return open(inputPath, options, ReferenceData.PERMITTED_HEADERS, ReferenceData.BRAND_NAMES);
+    }
+
+    /**
+     * Opens an .xls or .xlsx workbook and resolves the headers of every sheet against the
+     * given reference data, for callers that keep their own copies of the CSV files.
+     *
+     * @param permittedHeaders   Japanese → English header mapping, as loaded from permittedHeaders.csv
+     * @param japaneseBrandNames Japanese brand names marking the first data row of a sheet
+     */
+    public static PreparedWorkbook open(Path inputPath, DataPrepOptions options,
+                                        Map<String, String> permittedHeaders, Set<String> japaneseBrandNames)
+            throws IOException {
+        ReaderOptions readerOptions = ReaderOptions.defaults()
+                .withFormulaStrategy(options.formulaStrategy())
+                .withHeaderLookahead(options.headerLookahead());
+        WorkBookSource source = WorkBookSource.open(inputPath, japaneseBrandNames, readerOptions);
+        try {
+            WorkBookProcessor processor = new WorkBookProcessor(permittedHeaders);
+            List<PreparedSheet> sheets = new ArrayList<>(source.sheetCount());
+            for (int i = 0; i < source.sheetCount(); i++) {
+                WorkSheetData outline = source.outline(i);
+                sheets.add(new PreparedSheet(source, outline,
+                        processor.plan(outline, outline.getColumnStatistics(), options.columnThreshold())));
+            }
+            return new PreparedWorkbook(source, sheets);
+        } catch (RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /** Loaded on first use and shared by every workbook opened afterwards. */
+    private static final class ReferenceData {
+        static final Map<String, String> PERMITTED_HEADERS = PermittedHeadersBuilder.load();
+        static final Set<String> BRAND_NAMES = CarListBuilder.populateBrandList("autoList.csv").stream()
+                .map(CarBrand::japanese)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,38 @@
+package com.originspecs.dataprep.api;
+
+import com.originspecs.dataprep.config.Config;
+import com.originspecs.dataprep.config.FormulaStrategy;
+
+/**
+ * Options for {@link DataPrep#open}.
+ *
+ * @param columnThreshold Minimum data fill ratio (0.0–1.0) required to keep a column
+ * @param formulaStrategy How formula cells are turned into text
+ * @param headerLookahead Maximum number of rows scanned per sheet while looking for the header range
+ */
+public record DataPrepOptions(double columnThreshold, FormulaStrategy formulaStrategy, int headerLookahead) {
+
+    public DataPrepOptions {
+        if (Double.isNaN(columnThreshold) || columnThreshold < 0 || columnThreshold > 1) {
+            throw new IllegalArgumentException("columnThreshold must be between 0.0 and 1.0, got: " + columnThreshold);
+        }
+        if (headerLookahead < 1) {
+            throw new IllegalArgumentException("headerLookahead must be at least 1, got: " + headerLookahead);
+        }
+    }
+
+    /**
+     * The CLI defaults for everything but the column threshold, which has none.
+     */
+    public static DataPrepOptions of(double columnThreshold) {
+        return new DataPrepOptions(columnThreshold, FormulaStrategy.EVALUATE, Config.DEFAULT_HEADER_LOOKAHEAD);
+    }
+
+    public DataPrepOptions withFormulaStrategy(FormulaStrategy formulaStrategy) {
+        return new DataPrepOptions(columnThreshold, formulaStrategy, headerLookahead);
+    }
+
+    public DataPrepOptions withHeaderLookahead(int headerLookahead) {
+        return new DataPrepOptions(columnThreshold, formulaStrategy, headerLookahead);
+    }
+}
@@ -0,0 +1,118 @@
+package com.originspecs.dataprep.api;
+
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import com.originspecs.dataprep.processor.SheetPlan;
+import com.originspecs.dataprep.processor.SheetProjection;
+import com.originspecs.dataprep.processor.SheetProjectionProcessor;
+import com.originspecs.dataprep.reader.SheetRowPublisher;
+import com.originspecs.dataprep.reader.WorkBookSource;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sheet of a {@link PreparedWorkbook}: headers resolved up front, rows produced lazily.
+ *
+ * <p>Every call to {@link #iterator()} or {@link #rows()}, and every subscription to a
+ * {@link #publisher} or {@link #rawPublisher}, starts a new pass over the sheet, decoding,
+ * projecting and filling down each row only when it is reached. Rows are the same as those
+ * {@link com.originspecs.dataprep.processor.WorkBookProcessor} produces for the sheet.
+ */
+public final class PreparedSheet implements Iterable<SpecRow> {
+
+    private final WorkBookSource source;
+    private final WorkSheetData outline;
+    private final SheetPlan plan;
+
+    PreparedSheet(WorkBookSource source, WorkSheetData outline, SheetPlan plan) {
+        this.source = source;
+        this.outline = outline;
+        this.plan = plan;
+    }
+
+    public String name() {
+        return outline.getName();
+    }
+
+    public int index() {
+        return outline.getIndex();
+    }
+
+    /**
+     * Resolved English headers, one per column of every row.
+     */
+    public List<String> headers() {
+        return plan.headers();
+    }
+
+    /**
+     * Number of rows a full pass yields.
+     */
+    public int rowCount() {
+        return outline.getColumnStatistics().rowCount();
+    }
+
+    /**
+     * The column decisions behind this sheet, e.g. for composing a custom projection.
+     */
+    public SheetPlan plan() {
+        return plan;
+    }
+
+    @Override
+    public Iterator<SpecRow> iterator() {
+        Iterator<RowData> rows = source.dataRows(outline);
+        SheetProjection projection = plan.projection();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public SpecRow next() {
+                return new SpecRow(plan.headers(), projection.apply(rows.next()).getCellValues());
+            }
+        };
+    }
+
+    /**
+     * A sequential, ordered stream over a new pass of the sheet's rows.
+     */
+    public Stream<SpecRow> rows() {
+        Spliterator<SpecRow> spliterator = Spliterators.spliterator(iterator(), rowCount(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Publishes the sheet's processed rows, one value per {@link #headers()} entry. Rows are
+     * decoded on {@code executor} only as the subscriber requests them — the raw rows of
+     * {@link #rawPublisher} piped through a {@link SheetProjectionProcessor}.
+     *
+     * <p>Sheets of one workbook share its decoder: subscribe to one sheet at a time, or give
+     * every sheet's publisher the same single-threaded executor.
+     */
+    public Flow.Publisher<RowData> publisher(Executor executor) {
+        return subscriber -> {
+            SheetProjectionProcessor processor = new SheetProjectionProcessor(plan.projection());
+            processor.subscribe(subscriber);
+            rawPublisher(executor).subscribe(processor);
+        };
+    }
+
+    /**
+     * Publishes the sheet's data rows as read, with merged cells expanded but all source
+     * columns kept, for composing with a custom stage in place of {@link SheetProjectionProcessor}.
+     */
+    public Flow.Publisher<RowData> rawPublisher(Executor executor) {
+        return new SheetRowPublisher(() -> source.dataRows(outline), executor);
+    }
+}
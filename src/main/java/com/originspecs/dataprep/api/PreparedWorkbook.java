@@ -0,0 +1,52 @@
+package com.originspecs.dataprep.api;
+
+import com.originspecs.dataprep.model.FormulaStatistics;
+import com.originspecs.dataprep.reader.WorkBookSource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A workbook opened by {@link DataPrep#open}, with the headers of every sheet resolved.
+ * Close it to release the workbook; sheets must not be iterated afterwards.
+ *
+ * <p>Not thread-safe: iterate one sheet at a time, on one thread.
+ */
+public final class PreparedWorkbook implements AutoCloseable {
+
+    private final WorkBookSource source;
+    private final List<PreparedSheet> sheets;
+
+    PreparedWorkbook(WorkBookSource source, List<PreparedSheet> sheets) {
+        this.source = source;
+        this.sheets = List.copyOf(sheets);
+    }
+
+    public String fileName() {
+        return source.fileName();
+    }
+
+    /**
+     * Sheets in workbook order.
+     */
+    public List<PreparedSheet> sheets() {
+        return sheets;
+    }
+
+    public Optional<PreparedSheet> sheet(String name) {
+        return sheets.stream().filter(sheet -> sheet.name().equals(name)).findFirst();
+    }
+
+    /**
+     * How formula cells have been resolved so far, over all passes.
+     */
+    public FormulaStatistics formulaStatistics() {
+        return source.formulaStatistics();
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
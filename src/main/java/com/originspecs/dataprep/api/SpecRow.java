@@ -0,0 +1,37 @@
+package com.originspecs.dataprep.api;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One processed data row of a sheet: its values under the sheet's resolved English headers.
+ *
+ * @param headers The sheet's headers, shared by all its rows
+ * @param values  One value per header, with Car Name and Common Name filled down
+ */
+public record SpecRow(List<String> headers, List<String> values) {
+
+    /**
+     * Returns the value under {@code header}, or {@code null} if the sheet has no such column.
+     */
+    public String get(String header) {
+        int index = headers.indexOf(header);
+        return index < 0 ? null : values.get(index);
+    }
+
+    public String get(int columnIndex) {
+        return values.get(columnIndex);
+    }
+
+    /**
+     * Header → value, in column order.
+     */
+    public Map<String, String> asMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            map.put(headers.get(i), values.get(i));
+        }
+        return map;
+    }
+}
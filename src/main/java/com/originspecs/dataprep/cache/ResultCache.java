@@ -0,0 +1,243 @@
+package com.originspecs.dataprep.cache;
+
+import com.originspecs.dataprep.config.Config;
+import com.originspecs.dataprep.writer.WorkBookWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local on-disk cache of pipeline outputs, addressed by a SHA-256 hash of everything that
+ * determines the output:
+ * <ul>
+ *   <li>the input file bytes</li>
+ *   <li>the output-affecting {@link Config} parameters (column threshold, reader engine,
+ *       header look-ahead, formula strategy) and the output format the writer resolves from
+ *       the output path, see {@link WorkBookWriter#formatOf}</li>
+ *   <li>a fingerprint of the loaded reference data (permitted headers and brand names)</li>
+ * </ul>
+ *
+ * <p>Each entry is the output workbook plus a small properties file with its sheet and
+ * row counts. Entries are evicted least-recently-used first (by file modification time,
+ * refreshed on every hit) once the cache exceeds its size budget. Other files in the
+ * directory, such as the orchestrator's header labels, are not counted or evicted.
+ *
+ * <p>Safe to share between concurrent pipelines: lookups copy out of the cache, and
+ * stores and evictions are serialised on the cache instance.
+ */
+@Slf4j
+public final class ResultCache {
+
+    /** Bumped whenever the output format or processing changes in a way the key cannot see. */
+    private static final String KEY_VERSION = "dataprep-result-cache-v2";
+    private static final String META_SUFFIX = ".properties";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String referenceFingerprint;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * A cached output copied to the requested output path.
+     */
+    public record CachedOutput(int sheetCount, long rowCount) {
+    }
+
+    /**
+     * @param directory            Cache directory (created on first store)
+     * @param maxBytes             Size budget for all entries; older entries are evicted beyond it
+     * @param referenceFingerprint Fingerprint of the reference data, see {@link #fingerprint(Map, Set)}
+     */
+    public ResultCache(Path directory, long maxBytes, String referenceFingerprint) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.referenceFingerprint = referenceFingerprint;
+    }
+
+    /**
+     * Fingerprints the loaded reference data, so edits to permittedHeaders.csv or autoList.csv
+     * invalidate every cached output. Hashes the parsed content in a canonical order, so
+     * cosmetic file changes (line order, blank lines) do not.
+     */
+    public static String fingerprint(Map<String, String> permittedHeaders, Set<String> japaneseBrandNames) {
+        MessageDigest digest = sha256();
+        new TreeMap<>(permittedHeaders).forEach((japanese, english) -> update(digest, "header", japanese, english));
+        new TreeSet<>(japaneseBrandNames).forEach(brand -> update(digest, "brand", brand));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Computes the cache key for running {@code config}. Reads the whole input file.
+     */
+    public String key(Config config) throws IOException {
+        MessageDigest digest = sha256();
+        update(digest, KEY_VERSION, referenceFingerprint,
+                Double.toString(config.columnThreshold()),
+                config.readerEngine().name(),
+                Integer.toString(config.headerLookahead()),
+                config.formulaStrategy().name(),
+                WorkBookWriter.formatOf(config.outputFile()));
+
+        try (InputStream in = new DigestInputStream(Files.newInputStream(config.inputFile()), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Copies the cached output for {@code key} to {@code outputFile}, if present.
+     * Counts a hit or a miss.
+     */
+    public Optional<CachedOutput> restore(String key, Path outputFile) throws IOException {
+        Path entry = entryPath(key, outputFile);
+        try {
+            Properties meta = readMeta(key);
+            Files.copy(entry, outputFile, StandardCopyOption.REPLACE_EXISTING);
+            // Refresh recency for LRU eviction
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+            hits.incrementAndGet();
+            log.info("Result cache hit for {} ({})", outputFile.getFileName(), abbreviate(key));
+            return Optional.of(new CachedOutput(
+                    Integer.parseInt(meta.getProperty("sheetCount", "0")),
+                    Long.parseLong(meta.getProperty("rowCount", "0"))));
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            log.debug("Result cache miss for {} ({})", outputFile.getFileName(), abbreviate(key));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a freshly written output under {@code key}, then evicts old entries if the cache
+     * is over budget. The entry is written to a temp file and moved into place, so a
+     * concurrent lookup never sees a partial file.
+     */
+    public synchronized void store(String key, Path outputFile, int sheetCount, long rowCount) throws IOException {
+        Files.createDirectories(directory);
+        Properties meta = new Properties();
+        meta.setProperty("sheetCount", String.valueOf(sheetCount));
+        meta.setProperty("rowCount", String.valueOf(rowCount));
+        Path metaTemp = Files.createTempFile(directory, key, ".tmp");
+        try (Writer writer = Files.newBufferedWriter(metaTemp, StandardCharsets.UTF_8)) {
+            meta.store(writer, null);
+        }
+        Files.move(metaTemp, directory.resolve(key + META_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Path entryTemp = Files.createTempFile(directory, key, ".tmp");
+        Files.copy(outputFile, entryTemp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(entryTemp, entryPath(key, outputFile),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        evictIfOverBudget();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Deletes least-recently-used entries until the cache fits in {@code maxBytes}.
+     */
+    private void evictIfOverBudget() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                // An entry is an output with a metadata file; temp files and other files have none
+                if (name.endsWith(META_SUFFIX) || !Files.exists(directory.resolve(keyOf(file) + META_SUFFIX))) continue;
+                entries.add(file);
+                total += Files.size(file);
+            }
+        }
+        if (total <= maxBytes) return;
+
+        entries.sort(Comparator.comparing(ResultCache::lastModified));
+        for (Path entry : entries) {
+            if (total <= maxBytes) break;
+            total -= Files.size(entry);
+            Files.deleteIfExists(entry);
+            Files.deleteIfExists(directory.resolve(keyOf(entry) + META_SUFFIX));
+            log.debug("Result cache: evicted {}", entry.getFileName());
+        }
+        log.info("Result cache: evicted down to {} KB (budget {} KB)", total / 1024, maxBytes / 1024);
+    }
+
+    private Properties readMeta(String key) throws IOException {
+        Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(directory.resolve(key + META_SUFFIX), StandardCharsets.UTF_8)) {
+            meta.load(reader);
+        }
+        return meta;
+    }
+
+    private Path entryPath(String key, Path outputFile) {
+        return directory.resolve(key + "." + WorkBookWriter.formatOf(outputFile));
+    }
+
+    private static String abbreviate(String key) {
+        return key.length() <= 12 ? key : key.substring(0, 12);
+    }
+
+    private static String keyOf(Path entry) {
+        String name = entry.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void update(MessageDigest digest, String... parts) {
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            // Separator so that ("ab", "c") and ("a", "bc") hash differently
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -6,8 +6,29 @@ import lombok.extern.slf4j.Slf4j;
 public class CliParser {
 
     private static final String USAGE = """
-            Usage: java -jar DataPrep.jar <inputFile.xls> <outputFile.xls> <columnThreshold>
+            Usage: java -jar DataPrep.jar <inputFile.xls> <outputFile.xls> <columnThreshold> [options]
             columnThreshold: Value between 0.0 and 1.0 (e.g. 0.1 = 10%% minimum fill to keep column)
+            Output format follows the extension: .xls, .xlsx, or .ndjson/.jsonl (append .gz to compress)
+            Batch mode: pass an input directory or glob (quoted, e.g. 'data/*.xls') and an output directory
+            Options:
+              --reader=usermodel|event   XLS reader engine (default: usermodel; event streams one sheet at a time)
+              --row-window=N             Rows held in memory per sheet when writing .xlsx output (default: 100)
+              --storage=list|columnar|spill|off-heap  Row storage (default: list; columnar dictionary-encodes each
+                                         column; spill moves rows beyond --heap-budget-mb to segment files on disk;
+                                         off-heap keeps cell bytes in direct buffers outside the Java heap; with
+                                         spill/off-heap, .xlsx and --reader=event input is read in two passes so
+                                         no sheet is buffered whole, but --reader=usermodel still loads the .xls)
+              --heap-budget-mb=N         Heap held by spill storage across all sheets before spilling (default: 256)
+              --spill-dir=DIR            Directory for spill segment files (default: java.io.tmpdir)
+              --header-lookahead=N       Rows scanned per sheet for the 車名 header and first brand row (default: 200)
+              --formulas=cached|evaluate|auto  Formula cells: stored results, recalculation, or recalculation only when
+                                         the workbook flags stored results as stale (default: evaluate)
+              --parallelism=N            Worksheets processed concurrently (default: 1)
+              --max-concurrent-files=N   Batch/watch mode: workbooks processed at the same time (default: 4)
+              --watch                    Keep running and process workbooks as they land in the input directory
+              --cache-dir=DIR            Reuse outputs of unchanged inputs from this result cache (default: off)
+              --cache-max-mb=N           Result cache size budget, least recently used evicted first (default: 1024)
+              --report                   Write per-stage metrics as JSON to <outputFile>.report.json
             Example: java -jar target/DataPrep.jar nissan.xls output.xls 0.1
             """;
 
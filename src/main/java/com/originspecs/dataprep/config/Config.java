@@ -1,25 +1,133 @@
 package com.originspecs.dataprep.config;
 
+import com.originspecs.dataprep.model.RowStorage;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public record Config(
         Path inputFile,
         Path outputFile,
-        double columnThreshold
+        double columnThreshold,
+        ReaderEngine readerEngine,
+        int rowWindow,
+        RowStorage rowStorage,
+        long heapBudgetBytes,
+        Path spillDir,
+        int headerLookahead,
+        FormulaStrategy formulaStrategy,
+        int parallelism,
+        int maxConcurrentFiles,
+        boolean watch,
+        Path cacheDir,
+        long cacheMaxBytes,
+        boolean report
 ) {
+    private static final String OPTION_PREFIX = "--";
+
+    /** Rows kept in memory per sheet by the streaming .xlsx writer (same as POI's SXSSF default). */
+    public static final int DEFAULT_ROW_WINDOW = 100;
+
+    /** Heap that {@code --storage=spill} row lists may hold in total before spilling to disk. */
+    public static final int DEFAULT_HEAP_BUDGET_MB = 256;
+
+    /** Rows buffered per sheet while looking for the "車名" header row and the first brand row. */
+    public static final int DEFAULT_HEADER_LOOKAHEAD = 200;
+
+    /** Workbooks run through the pipeline at the same time in batch mode. */
+    public static final int DEFAULT_MAX_CONCURRENT_FILES = 4;
+
+    /** Size budget of the result cache when {@code --cache-dir} is set. */
+    public static final int DEFAULT_CACHE_MAX_MB = 1024;
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    /**
+     * Creates a config with default engine options.
+     */
+    public Config(Path inputFile, Path outputFile, double columnThreshold) {
+        this(inputFile, outputFile, columnThreshold, ReaderEngine.USER_MODEL, DEFAULT_ROW_WINDOW, RowStorage.LIST,
+                DEFAULT_HEAP_BUDGET_MB * 1024L * 1024L, null, DEFAULT_HEADER_LOOKAHEAD, FormulaStrategy.EVALUATE,
+                1, DEFAULT_MAX_CONCURRENT_FILES, false, null, DEFAULT_CACHE_MAX_MB * 1024L * 1024L, false);
+    }
+
+    /**
+     * Parses the three positional arguments followed by any optional {@code --name=value} flags.
+     *
+     * <p>If {@code inputFile} is a directory or a file-name glob such as {@code data/*.xls},
+     * the config describes a batch run and {@code outputFile} is the output directory. With
+     * {@code --watch}, {@code inputFile} is an inbox directory that is watched for new workbooks.
+     */
     public static Config fromArgs(String[] args) {
-        if (args.length != 3) {
-            throw new IllegalArgumentException("Exactly 3 arguments required: <inputFile> <outputFile> <columnThreshold>");
+        List<String> positional = new ArrayList<>();
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith(OPTION_PREFIX)) {
+                parseOption(arg, options);
+            } else {
+                positional.add(arg);
+            }
         }
 
-        var inputFile = Path.of(args[0]);
-        var outputFile = Path.of(args[1]);
-        var columnThreshold = parseColumnThreshold(args[2]);
+        if (positional.size() != 3) {
+            throw new IllegalArgumentException(
+                    "Exactly 3 arguments required: <inputFile|inputDir|glob> <outputFile|outputDir> <columnThreshold>");
+        }
+
+        var inputFile = Path.of(positional.get(0));
+        var outputFile = Path.of(positional.get(1));
+        var columnThreshold = parseColumnThreshold(positional.get(2));
+        var readerEngine = ReaderEngine.parse(takeOption(options, "reader", "usermodel"));
+        var rowWindow = parsePositiveInt("row-window", takeOption(options, "row-window", String.valueOf(DEFAULT_ROW_WINDOW)));
+        var rowStorage = RowStorage.parse(takeOption(options, "storage", "list"));
+        var heapBudgetBytes = parsePositiveInt("heap-budget-mb",
+                takeOption(options, "heap-budget-mb", String.valueOf(DEFAULT_HEAP_BUDGET_MB))) * 1024L * 1024L;
+        var spillDirOption = takeOption(options, "spill-dir", null);
+        var spillDir = spillDirOption == null ? null : Path.of(spillDirOption);
+        var headerLookahead = parsePositiveInt("header-lookahead",
+                takeOption(options, "header-lookahead", String.valueOf(DEFAULT_HEADER_LOOKAHEAD)));
+        var formulaStrategy = FormulaStrategy.parse(takeOption(options, "formulas", "evaluate"));
+        var parallelism = parsePositiveInt("parallelism", takeOption(options, "parallelism", "1"));
+        var maxConcurrentFiles = parsePositiveInt("max-concurrent-files",
+                takeOption(options, "max-concurrent-files", String.valueOf(DEFAULT_MAX_CONCURRENT_FILES)));
+        var watch = Boolean.parseBoolean(takeOption(options, "watch", "false"));
+        var cacheDirOption = takeOption(options, "cache-dir", null);
+        var cacheDir = cacheDirOption == null ? null : Path.of(cacheDirOption);
+        var cacheMaxBytes = parsePositiveInt("cache-max-mb",
+                takeOption(options, "cache-max-mb", String.valueOf(DEFAULT_CACHE_MAX_MB))) * 1024L * 1024L;
+        var report = Boolean.parseBoolean(takeOption(options, "report", "false"));
+
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + String.join(", ", options.keySet()));
+        }
+
+        return new Config(inputFile, outputFile, columnThreshold, readerEngine, rowWindow, rowStorage,
+                heapBudgetBytes, spillDir, headerLookahead, formulaStrategy, parallelism, maxConcurrentFiles,
+                watch, cacheDir, cacheMaxBytes, report);
+    }
+
+    private static void parseOption(String arg, Map<String, String> options) {
+        String body = arg.substring(OPTION_PREFIX.length());
+        int eq = body.indexOf('=');
+        String name = eq < 0 ? body : body.substring(0, eq);
+        String value = eq < 0 ? "true" : body.substring(eq + 1);
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("Malformed option: " + arg);
+        }
+        options.put(name, value);
+    }
 
-        return new Config(inputFile, outputFile, columnThreshold);
+    /**
+     * Removes and returns the named option so that anything left over can be reported as unknown.
+     */
+    private static String takeOption(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
     }
 
     private static double parseColumnThreshold(String arg) {
@@ -34,7 +142,60 @@ public record Config(
         }
     }
 
+    private static int parsePositiveInt(String name, String arg) {
+        try {
+            int value = Integer.parseInt(arg);
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be at least 1, got: " + value);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a positive integer: " + arg);
+        }
+    }
+
+    /**
+     * Returns a copy of this config for a single file of a batch run.
+     */
+    public Config withFiles(Path inputFile, Path outputFile) {
+        return new Config(inputFile, outputFile, columnThreshold, readerEngine, rowWindow, rowStorage,
+                heapBudgetBytes, spillDir, headerLookahead, formulaStrategy, parallelism, maxConcurrentFiles,
+                watch, cacheDir, cacheMaxBytes, report);
+    }
+
+    /**
+     * True if outputs should be looked up in and stored to the result cache at {@link #cacheDir()}.
+     */
+    public boolean cacheEnabled() {
+        return cacheDir != null;
+    }
+
+    /**
+     * True if {@code inputFile} names a directory or a file-name glob rather than a single workbook.
+     */
+    public boolean isBatch() {
+        return inputFile.toFile().isDirectory() || isGlob(inputFile);
+    }
+
+    /**
+     * True if the file-name part of {@code path} contains glob metacharacters.
+     */
+    public static boolean isGlob(Path path) {
+        Path fileName = path.getFileName();
+        return fileName != null && fileName.toString().chars().anyMatch(ch -> GLOB_CHARACTERS.indexOf(ch) >= 0);
+    }
+
     public void validate() {
+        if (watch && !inputFile.toFile().isDirectory()) {
+            throw new IllegalArgumentException("--watch requires an inbox directory: " + inputFile.toAbsolutePath());
+        }
+        if (isGlob(inputFile)) {
+            Path inputDir = inputFile.getParent() == null ? Path.of(".") : inputFile.getParent();
+            if (!inputDir.toFile().isDirectory()) {
+                throw new IllegalArgumentException("Input directory does not exist: " + inputDir.toAbsolutePath());
+            }
+            return;
+        }
         if (!inputFile.toFile().exists()) {
             throw new IllegalArgumentException("Input file does not exist: " + inputFile.toAbsolutePath());
         }
@@ -44,4 +205,4 @@ public record Config(
             log.info("Output directory will be created: {}", parentDir.toAbsolutePath());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.originspecs.dataprep.config;
+
+import java.util.Locale;
+
+/**
+ * Selects how the user-model reader turns formula cells into text.
+ *
+ * <ul>
+ *   <li>{@link #CACHED} — uses the result Excel stored with each formula; no formula evaluator is created.</li>
+ *   <li>{@link #EVALUATE} — recalculates every formula with one evaluator per workbook, which memoizes
+ *       results across cells and sheets; falls back to the cached result if evaluation fails (default).</li>
+ *   <li>{@link #AUTO} — uses cached results unless the workbook is flagged for full recalculation on
+ *       load, i.e. the writer did not calculate its stored results, and evaluates only then.</li>
+ * </ul>
+ *
+ * <p>The streaming readers (event engine and .xlsx input) always use cached results.
+ */
+public enum FormulaStrategy {
+
+    CACHED,
+    EVALUATE,
+    AUTO;
+
+    /**
+     * Parses a CLI value such as {@code cached}, {@code evaluate} or {@code auto}.
+     *
+     * @throws IllegalArgumentException if the value does not name a known strategy
+     */
+    public static FormulaStrategy parse(String value) {
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("formulas must be one of 'cached', 'evaluate' or 'auto', got: " + value);
+        }
+    }
+}
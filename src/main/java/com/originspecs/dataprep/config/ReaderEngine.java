@@ -0,0 +1,35 @@
+package com.originspecs.dataprep.config;
+
+import java.util.Locale;
+
+/**
+ * Selects how {@link com.originspecs.dataprep.reader.WorkBookReader} decodes .xls input.
+ *
+ * <ul>
+ *   <li>{@link #USER_MODEL} — loads the whole workbook into a POI {@code HSSFWorkbook} DOM (default).</li>
+ *   <li>{@link #EVENT} — streams BIFF records through the HSSF event API and buffers one sheet
+ *       at a time, so peak memory is bounded by the largest sheet rather than the whole workbook.</li>
+ * </ul>
+ */
+public enum ReaderEngine {
+
+    USER_MODEL,
+    EVENT;
+
+    /**
+     * Parses a CLI value such as {@code usermodel}, {@code user-model} or {@code event}.
+     *
+     * @throws IllegalArgumentException if the value does not name a known engine
+     */
+    public static ReaderEngine parse(String value) {
+        String normalized = value.strip().toUpperCase(Locale.ROOT).replace('-', '_');
+        if ("USERMODEL".equals(normalized)) {
+            return USER_MODEL;
+        }
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("reader must be one of 'usermodel' or 'event', got: " + value);
+        }
+    }
+}
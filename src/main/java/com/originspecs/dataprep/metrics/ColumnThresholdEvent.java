@@ -0,0 +1,35 @@
+package com.originspecs.dataprep.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the fill-ratio check of every column of one worksheet.
+ */
+@Name("com.originspecs.dataprep.ColumnThreshold")
+@Label("Column Threshold")
+@Category({"DataPrep", "Processor"})
+@Description("Choosing the columns whose fill ratio meets the column threshold")
+@StackTrace(false)
+public final class ColumnThresholdEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Data Rows")
+    public long dataRows;
+
+    @Label("Columns In")
+    public int columnsIn;
+
+    @Label("Columns Kept")
+    public int columnsKept;
+
+    @Label("Threshold")
+    @Description("Minimum fill ratio")
+    public double threshold;
+}
@@ -0,0 +1,28 @@
+package com.originspecs.dataprep.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering duplicate-label resolution for one worksheet.
+ */
+@Name("com.originspecs.dataprep.Dedup")
+@Label("Duplicate Header Resolution")
+@Category({"DataPrep", "Processor"})
+@Description("Dropping low-fill duplicate-label columns and numbering the remaining duplicates")
+@StackTrace(false)
+public final class DedupEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Columns In")
+    public int columnsIn;
+
+    @Label("Columns Out")
+    public int columnsOut;
+}
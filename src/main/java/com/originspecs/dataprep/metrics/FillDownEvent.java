@@ -0,0 +1,29 @@
+package com.originspecs.dataprep.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the projection and fill-down pass over one worksheet's data rows.
+ */
+@Name("com.originspecs.dataprep.FillDown")
+@Label("Fill-Down")
+@Category({"DataPrep", "Processor"})
+@Description("Projecting data rows onto the kept columns and filling down Car Name and Common Name")
+@StackTrace(false)
+public final class FillDownEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Columns")
+    @Description("Columns per output row")
+    public int columns;
+}
@@ -0,0 +1,40 @@
+package com.originspecs.dataprep.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering header-range detection in one worksheet: from the sheet's first row
+ * until the range is fixed and the buffered rows are flushed. Includes decoding the rows
+ * scanned, which happens as they are fed in.
+ */
+@Name("com.originspecs.dataprep.HeaderDetection")
+@Label("Header Detection")
+@Category({"DataPrep", "Reader"})
+@Description("Locating the 車名 header block and the first brand row of a sheet")
+@StackTrace(false)
+public final class HeaderDetectionEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Rows Scanned")
+    @Description("Rows buffered before the range was fixed")
+    public int rowsScanned;
+
+    @Label("Header Start Row")
+    @Description("0-based")
+    public int headerStartRow;
+
+    @Label("Header End Row")
+    @Description("0-based, inclusive")
+    public int headerEndRow;
+
+    @Label("Detected")
+    @Description("False if detection fell back to row 0")
+    public boolean detected;
+}
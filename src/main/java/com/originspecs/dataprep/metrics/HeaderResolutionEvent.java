@@ -0,0 +1,33 @@
+package com.originspecs.dataprep.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering {@code HeaderResolver.resolve} for one worksheet.
+ */
+@Name("com.originspecs.dataprep.HeaderResolution")
+@Label("Header Resolution")
+@Category({"DataPrep", "Processor"})
+@Description("Resolving a sheet's multi-row headers into one English label per kept column")
+@StackTrace(false)
+public final class HeaderResolutionEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Header Rows")
+    public int headerRows;
+
+    @Label("Columns")
+    @Description("Columns whose header was resolved")
+    public int columns;
+
+    @Label("Labels Resolved")
+    @Description("Columns that got a non-empty label")
+    public int labelsResolved;
+}
@@ -0,0 +1,39 @@
+package com.originspecs.dataprep.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named, monotonically increasing counters shared by every pipeline run of a process, e.g.
+ * {@code read.rowsOut} or {@code write.wallNanos}.
+ *
+ * <p>Counters are {@link LongAdder}s, so concurrent batch pipelines update them without
+ * locking or contending on a single cache line.
+ */
+public final class MetricsRegistry {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void add(String name, long delta) {
+        counters.computeIfAbsent(name, n -> new LongAdder()).add(delta);
+    }
+
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    /** Current value of a counter; 0 if it was never updated. */
+    public long get(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /** Every counter's current value, sorted by name. */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+}
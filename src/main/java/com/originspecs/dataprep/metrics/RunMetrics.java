@@ -0,0 +1,71 @@
+package com.originspecs.dataprep.metrics;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The {@link StageSample}s of one pipeline run, per stage and sheet. Thread-safe: sheets
+ * processed in parallel record into the same instance.
+ *
+ * <p>Workbook-level samples (no sheet) are also added to the {@link MetricsRegistry} totals
+ * as {@code <stage>.<field>} counters, plus a {@code <stage>.sheets} count from the per-sheet
+ * samples; per-sheet figures stay in the run.
+ */
+public final class RunMetrics {
+
+    /** Records nothing, and its timers read no clocks. */
+    public static final RunMetrics NONE = new RunMetrics(null);
+
+    private final MetricsRegistry registry;
+    private final ConcurrentLinkedQueue<StageSample> samples = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param registry Registry that accumulates the run's totals
+     */
+    public RunMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Starts measuring {@code stage} on the current thread.
+     *
+     * @param sheet Sheet name, or null for the whole workbook
+     */
+    public StageTimer start(Stage stage, String sheet) {
+        return registry == null ? StageTimer.INERT : new StageTimer(this, stage, sheet);
+    }
+
+    void record(StageSample sample) {
+        samples.add(sample);
+        String prefix = sample.stage().key() + ".";
+        if (sample.sheet() != null) {
+            registry.increment(prefix + "sheets");
+            return;
+        }
+        registry.add(prefix + "wallNanos", sample.wallNanos());
+        if (sample.cpuNanos() >= 0) {
+            registry.add(prefix + "cpuNanos", sample.cpuNanos());
+        }
+        if (sample.allocatedBytes() >= 0) {
+            registry.add(prefix + "allocatedBytes", sample.allocatedBytes());
+        }
+        registry.add(prefix + "rowsIn", sample.rowsIn());
+        registry.add(prefix + "rowsOut", sample.rowsOut());
+        registry.add(prefix + "cellsFormatted", sample.cellsFormatted());
+    }
+
+    /** Samples in the order they were recorded. */
+    public List<StageSample> samples() {
+        return List.copyOf(samples);
+    }
+
+    /** The workbook-level sample of {@code stage}, or null if the stage did not run. */
+    public StageSample total(Stage stage) {
+        return samples.stream().filter(s -> s.stage() == stage && s.sheet() == null).findFirst().orElse(null);
+    }
+
+    /** Per-sheet samples of {@code stage}, in the order they were recorded. */
+    public List<StageSample> sheets(Stage stage) {
+        return samples.stream().filter(s -> s.stage() == stage && s.sheet() != null).toList();
+    }
+}
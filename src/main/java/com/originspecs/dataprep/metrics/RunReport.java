@@ -0,0 +1,73 @@
+package com.originspecs.dataprep.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable summary of one pipeline run, written as JSON next to the output by
+ * {@code --report}. Stages are keyed by {@link Stage#key()}; a run answered from the result
+ * cache has no stages.
+ *
+ * @param input       Workbook that was read
+ * @param output      File that was written
+ * @param startedAt   ISO-8601 start time
+ * @param cacheHit    True if the output was copied from the result cache
+ * @param elapsedNanos Wall-clock time of the whole run
+ * @param sheetCount  Worksheets written
+ * @param rowCount    Data rows written
+ * @param stages      Workbook total and per-sheet samples of each stage that ran
+ */
+public record RunReport(
+        String input,
+        String output,
+        String startedAt,
+        boolean cacheHit,
+        long elapsedNanos,
+        int sheetCount,
+        long rowCount,
+        Map<String, StageReport> stages
+) {
+
+    /** Appended to the output file name to name the report. */
+    public static final String SUFFIX = ".report.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * @param total  Workbook-level sample
+     * @param sheets Per-sheet samples, in the order the sheets finished
+     */
+    public record StageReport(StageSample total, List<StageSample> sheets) {
+    }
+
+    public static RunReport of(Path input, Path output, Instant startedAt, Duration elapsed, boolean cacheHit,
+                               int sheetCount, long rowCount, RunMetrics metrics) {
+        Map<String, StageReport> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            StageSample total = metrics.total(stage);
+            if (total != null) {
+                stages.put(stage.key(), new StageReport(total, metrics.sheets(stage)));
+            }
+        }
+        return new RunReport(input.toString(), output.toString(), startedAt.toString(), cacheHit,
+                elapsed.toNanos(), sheetCount, rowCount, stages);
+    }
+
+    /** Where the report for {@code outputFile} is written: {@code <output file name>.report.json}. */
+    public static Path pathFor(Path outputFile) {
+        return outputFile.resolveSibling(outputFile.getFileName() + SUFFIX);
+    }
+
+    /** Writes this report as pretty-printed JSON, replacing any existing file. */
+    public void write(Path path) throws IOException {
+        MAPPER.writeValue(path.toFile(), this);
+    }
+}
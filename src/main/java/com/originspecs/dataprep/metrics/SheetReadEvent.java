@@ -0,0 +1,53 @@
+package com.originspecs.dataprep.metrics;
+
+import com.originspecs.dataprep.model.WorkSheetData;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the read of one worksheet, from its first row to the finished sheet
+ * model. Header detection for the sheet is a nested {@link HeaderDetectionEvent}.
+ */
+@Name("com.originspecs.dataprep.SheetRead")
+@Label("Sheet Read")
+@Category({"DataPrep", "Reader"})
+@Description("Decoding one worksheet and classifying its rows into header and data rows")
+@StackTrace(false)
+public final class SheetReadEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Rows Read")
+    @Description("Rows present in the sheet, header rows included")
+    public long rowsRead;
+
+    @Label("Data Rows")
+    public long dataRows;
+
+    @Label("Columns")
+    public int columns;
+
+    @Label("Cells Formatted")
+    @Description("Cells turned into text")
+    public long cellsFormatted;
+
+    /**
+     * Fills in the counts of a finished sheet and commits {@code event}, if it is enabled and
+     * over its threshold.
+     */
+    public static void commit(SheetReadEvent event, WorkSheetData sheet, long cellsFormatted) {
+        if (event.shouldCommit()) {
+            event.sheet = sheet.getName();
+            event.rowsRead = sheet.getOriginalRowCount();
+            event.dataRows = sheet.getRows().size();
+            event.columns = sheet.getOriginalColumnCount();
+            event.cellsFormatted = cellsFormatted;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.originspecs.dataprep.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the write of one worksheet. For .xls and .xlsx it covers building the
+ * sheet; the workbook file is serialized once, after the last sheet.
+ */
+@Name("com.originspecs.dataprep.SheetWrite")
+@Label("Sheet Write")
+@Category({"DataPrep", "Writer"})
+@Description("Writing one worksheet's header and data rows to the output")
+@StackTrace(false)
+public final class SheetWriteEvent extends Event {
+
+    @Label("Sheet")
+    public String sheet;
+
+    @Label("Format")
+    @Description("xls, xlsx or ndjson")
+    public String format;
+
+    @Label("Rows")
+    @Description("Data rows written")
+    public long rows;
+
+    @Label("Columns")
+    public int columns;
+}
@@ -0,0 +1,17 @@
+package com.originspecs.dataprep.metrics;
+
+import java.util.Locale;
+
+/**
+ * Pipeline stages that record {@link StageSample}s.
+ */
+public enum Stage {
+    READ,
+    PROCESS,
+    WRITE;
+
+    /** Lower-case name used in counter names and the run report, e.g. {@code "read"}. */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
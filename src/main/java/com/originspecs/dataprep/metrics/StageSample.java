@@ -0,0 +1,37 @@
+package com.originspecs.dataprep.metrics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * What one stage did for one sheet, or for the whole workbook when {@code sheet} is null.
+ *
+ * <p>CPU time and allocated bytes are those of the thread that ran the stage, and are -1 when
+ * the JVM cannot measure them. A workbook-level sample covers the calling thread only: with
+ * {@code --parallelism} above 1, the per-sheet process samples carry the worker threads' share.
+ *
+ * @param stage          Stage that produced the sample
+ * @param sheet          Sheet name, or null for the whole workbook
+ * @param wallNanos      Elapsed wall-clock time
+ * @param cpuNanos       CPU time of the measuring thread, or -1
+ * @param allocatedBytes Bytes allocated by the measuring thread, or -1
+ * @param rowsIn         Rows the stage consumed: sheet rows for read, data rows for process and write
+ * @param rowsOut        Rows the stage produced: data rows for read and process, rows written for write
+ * @param columnsIn      Columns the stage consumed
+ * @param columnsOut     Columns the stage produced
+ * @param cellsFormatted Cells turned into text by the reader; 0 for the other stages
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StageSample(
+        @JsonIgnore Stage stage,
+        String sheet,
+        long wallNanos,
+        long cpuNanos,
+        long allocatedBytes,
+        long rowsIn,
+        long rowsOut,
+        long columnsIn,
+        long columnsOut,
+        long cellsFormatted
+) {
+}
@@ -0,0 +1,52 @@
+package com.originspecs.dataprep.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures one stage on the current thread: wall time, thread CPU time and thread allocation
+ * between {@link RunMetrics#start} and {@link #stop}. Both calls must be made on the same thread.
+ */
+public final class StageTimer {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    // Allocation counters are a HotSpot extension of ThreadMXBean
+    private static final com.sun.management.ThreadMXBean ALLOCATION =
+            THREADS instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemorySupported()
+                    && hotspot.isThreadAllocatedMemoryEnabled() ? hotspot : null;
+
+    /** Returned by {@link RunMetrics#NONE}: reads no clocks and records nothing. */
+    static final StageTimer INERT = new StageTimer(null, null, null);
+
+    private final RunMetrics metrics;
+    private final Stage stage;
+    private final String sheet;
+    private final long startWall;
+    private final long startCpu;
+    private final long startAllocated;
+
+    StageTimer(RunMetrics metrics, Stage stage, String sheet) {
+        this.metrics = metrics;
+        this.stage = stage;
+        this.sheet = sheet;
+        boolean active = metrics != null;
+        this.startWall = active ? System.nanoTime() : 0;
+        this.startCpu = active && CPU_TIME ? THREADS.getCurrentThreadCpuTime() : -1;
+        this.startAllocated = active && ALLOCATION != null ? ALLOCATION.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Ends the measurement and records it with the stage's row, column and cell counts.
+     */
+    public void stop(long rowsIn, long rowsOut, long columnsIn, long columnsOut, long cellsFormatted) {
+        if (metrics == null) {
+            return;
+        }
+        long wall = System.nanoTime() - startWall;
+        long cpu = startCpu < 0 ? -1 : THREADS.getCurrentThreadCpuTime() - startCpu;
+        long allocated = startAllocated < 0 ? -1 : ALLOCATION.getCurrentThreadAllocatedBytes() - startAllocated;
+        metrics.record(new StageSample(stage, sheet, wall, cpu, allocated,
+                rowsIn, rowsOut, columnsIn, columnsOut, cellsFormatted));
+    }
+}
@@ -0,0 +1,204 @@
+package com.originspecs.dataprep.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Per-sheet column fill statistics, accumulated one data row at a time while a sheet is read.
+ *
+ * <p>Collects everything {@link com.originspecs.dataprep.processor.WorkBookProcessor} needs for
+ * its threshold and duplicate-header decisions, so those decisions are O(columns) lookups
+ * instead of repeated scans over every row:
+ * <ul>
+ *   <li>non-empty cell count per column, over all data-section rows</li>
+ *   <li>which rows are "data rows" (at least {@value #DATA_ROW_MIN_CELLS} non-empty cells)</li>
+ *   <li>the index of the last data row</li>
+ *   <li>non-empty cell count per column, over data rows only</li>
+ * </ul>
+ *
+ * <p>A cell is empty when it is blank after {@link String#trim()}.
+ */
+public final class ColumnStatistics {
+
+    /**
+     * Minimum number of non-empty cells a row must have to be considered a
+     * "data row" for fill-rate comparison purposes. Rows below this threshold
+     * are treated as footnote, blank, or annotation rows.
+     *
+     * <p>Car-specification rows typically contain 7–10+ fields (model type,
+     * engine, weight, fuel economy…). Footnote rows contain 1–3 cells of free
+     * text. A threshold of 4 reliably separates the two.
+     */
+    public static final int DATA_ROW_MIN_CELLS = 4;
+
+    private int[] nonEmpty = new int[16];
+    private int[] nonEmptyInDataRows = new int[16];
+    private final BitSet dataRows = new BitSet();
+    private int columnCount;
+    private int rowCount;
+    private int dataRowCount;
+    private int lastDataRow = -1;
+
+    /**
+     * Computes statistics for rows that were not counted while reading
+     * (e.g. sheets assembled by hand). Columnar rows are scanned column by column.
+     */
+    public static ColumnStatistics of(List<RowData> rows) {
+        ColumnStatistics statistics = new ColumnStatistics();
+        if (rows instanceof ColumnarRows columnar) {
+            statistics.addColumns(columnar);
+        } else {
+            for (RowData row : rows) {
+                statistics.addRow(row.getCellValues());
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Counts the next data-section row. Rows must be added in sheet order.
+     */
+    public void addRow(List<String> cells) {
+        ensureWidth(cells.size());
+        int rowIndex = rowCount++;
+
+        int filled = 0;
+        for (int c = 0; c < cells.size(); c++) {
+            if (!isBlank(cells.get(c))) {
+                nonEmpty[c]++;
+                filled++;
+            }
+        }
+        if (filled < DATA_ROW_MIN_CELLS) {
+            return;
+        }
+
+        markDataRow(rowIndex);
+        for (int c = 0; c < cells.size(); c++) {
+            if (!isBlank(cells.get(c))) {
+                nonEmptyInDataRows[c]++;
+            }
+        }
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Width of the widest row counted.
+     */
+    public int columnCount() {
+        return columnCount;
+    }
+
+    public int dataRowCount() {
+        return dataRowCount;
+    }
+
+    public boolean isDataRow(int rowIndex) {
+        return dataRows.get(rowIndex);
+    }
+
+    /**
+     * Index of the last row with at least {@value #DATA_ROW_MIN_CELLS} non-empty cells,
+     * or -1 if there is none.
+     */
+    public int lastDataRowIndex() {
+        return lastDataRow;
+    }
+
+    public int nonEmptyCount(int columnIndex) {
+        return columnIndex < columnCount ? nonEmpty[columnIndex] : 0;
+    }
+
+    /**
+     * Fraction of all rows with a non-empty value in {@code columnIndex}.
+     */
+    public double fillRate(int columnIndex) {
+        return rowCount == 0 ? 0 : (double) nonEmptyCount(columnIndex) / rowCount;
+    }
+
+    /**
+     * Fraction of data rows with a non-empty value in {@code columnIndex}. Trailing
+     * footnote / annotation rows are left out so they cannot inflate the fill rate of
+     * the columns they happen to sit in. Falls back to {@link #fillRate(int)} if the
+     * sheet has no data rows.
+     */
+    public double dataRowFillRate(int columnIndex) {
+        if (dataRowCount == 0) {
+            return fillRate(columnIndex);
+        }
+        int count = columnIndex < columnCount ? nonEmptyInDataRows[columnIndex] : 0;
+        return (double) count / dataRowCount;
+    }
+
+    /**
+     * Column-major variant of {@link #addRow(List)} for columnar storage: each column's
+     * code array is scanned sequentially and each distinct value is checked once.
+     */
+    private void addColumns(ColumnarRows rows) {
+        int size = rows.size();
+        int width = rows.columnCount();
+        ensureWidth(width);
+        rowCount = size;
+
+        int[] filledPerRow = new int[size];
+        boolean[][] blankCodesByColumn = new boolean[width][];
+        for (int c = 0; c < width; c++) {
+            DictionaryColumn column = rows.column(c);
+            boolean[] blankCodes = column.blankCodes();
+            blankCodesByColumn[c] = blankCodes;
+            for (int r = 0; r < size; r++) {
+                if (!blankCodes[column.code(r)]) {
+                    filledPerRow[r]++;
+                    nonEmpty[c]++;
+                }
+            }
+        }
+
+        for (int r = 0; r < size; r++) {
+            if (filledPerRow[r] >= DATA_ROW_MIN_CELLS) {
+                markDataRow(r);
+            }
+        }
+
+        for (int c = 0; c < width; c++) {
+            DictionaryColumn column = rows.column(c);
+            boolean[] blankCodes = blankCodesByColumn[c];
+            for (int r = dataRows.nextSetBit(0); r >= 0; r = dataRows.nextSetBit(r + 1)) {
+                if (!blankCodes[column.code(r)]) {
+                    nonEmptyInDataRows[c]++;
+                }
+            }
+        }
+    }
+
+    private void markDataRow(int rowIndex) {
+        dataRows.set(rowIndex);
+        dataRowCount++;
+        lastDataRow = rowIndex;
+    }
+
+    private void ensureWidth(int width) {
+        if (width > nonEmpty.length) {
+            int capacity = Math.max(width, nonEmpty.length * 2);
+            nonEmpty = Arrays.copyOf(nonEmpty, capacity);
+            nonEmptyInDataRows = Arrays.copyOf(nonEmptyInDataRows, capacity);
+        }
+        columnCount = Math.max(columnCount, width);
+    }
+
+    /**
+     * Same result as {@code value.trim().isEmpty()} without allocating a trimmed copy.
+     */
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,120 @@
+package com.originspecs.dataprep.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Column-oriented, dictionary-encoded storage for a sheet's data rows.
+ *
+ * <p>Each column is a {@link DictionaryColumn}; MLIT columns such as brand, fuel type,
+ * drive type and the filled-down Car Name / Common Name repeat a handful of values over
+ * thousands of rows, so a row costs one {@code int} per column instead of a {@code String}
+ * reference plus its own {@code ArrayList}.
+ *
+ * <p>This class is a {@code List<RowData>} so it can sit behind
+ * {@link WorkSheetData#getRows()} unchanged: {@link #add(RowData)} encodes a row and
+ * discards it, and {@link #get(int)} returns a lightweight read-only row view backed by
+ * the columns. Rows keep their original width, so a view has the same
+ * {@link RowData#size()} as the row that was added.
+ */
+public final class ColumnarRows extends AbstractList<RowData> implements RandomAccess {
+
+    private final List<DictionaryColumn> columns = new ArrayList<>();
+    private int[] widths = new int[64];
+    private int size;
+
+    @Override
+    public RowData get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new RowData(new RowView(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a row; only appending at the end is supported.
+     */
+    @Override
+    public void add(int index, RowData row) {
+        if (index != size) {
+            throw new UnsupportedOperationException("ColumnarRows only supports appending rows");
+        }
+        List<String> values = row.getCellValues();
+        while (columns.size() < values.size()) {
+            columns.add(new DictionaryColumn(widths.length));
+        }
+        for (int c = 0; c < values.size(); c++) {
+            columns.get(c).set(size, values.get(c));
+        }
+        if (size == widths.length) {
+            widths = Arrays.copyOf(widths, widths.length * 2);
+        }
+        widths[size++] = values.size();
+        modCount++;
+    }
+
+    /**
+     * Number of physical columns: the width of the widest row added so far.
+     */
+    public int columnCount() {
+        return columns.size();
+    }
+
+    /**
+     * Direct access to a column, for scans that do not need row views.
+     */
+    public DictionaryColumn column(int columnIndex) {
+        return columns.get(columnIndex);
+    }
+
+    /**
+     * Counts rows whose value in {@code columnIndex} is not blank, scanning that column's codes only.
+     */
+    public int nonEmptyCount(int columnIndex) {
+        return columnIndex < columns.size() ? columns.get(columnIndex).nonEmptyCount(size) : 0;
+    }
+
+    /**
+     * Approximate bytes retained by all columns and the row-width index.
+     */
+    public long retainedBytes() {
+        long bytes = (long) widths.length * Integer.BYTES;
+        for (DictionaryColumn column : columns) {
+            bytes += column.retainedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Read-only view of one row, decoding each cell from its column on access.
+     */
+    private final class RowView extends AbstractList<String> implements RandomAccess {
+
+        private final int rowIndex;
+
+        private RowView(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public String get(int columnIndex) {
+            if (columnIndex < 0 || columnIndex >= widths[rowIndex]) {
+                throw new IndexOutOfBoundsException("Index: " + columnIndex + ", Size: " + widths[rowIndex]);
+            }
+            return columns.get(columnIndex).get(rowIndex);
+        }
+
+        @Override
+        public int size() {
+            return widths[rowIndex];
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.originspecs.dataprep.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single dictionary-encoded column: each distinct cell value is stored once and rows
+ * hold an {@code int} code into the dictionary.
+ *
+ * <p>Code {@value #EMPTY_CODE} is reserved for the empty string, so rows that were never
+ * written (or sit beyond a short row's width) read back as {@code ""} without any extra
+ * bookkeeping, and emptiness checks are a plain integer comparison.
+ */
+public final class DictionaryColumn {
+
+    public static final int EMPTY_CODE = 0;
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> codesByValue = new HashMap<>();
+    private int[] codes;
+
+    DictionaryColumn(int initialCapacity) {
+        this.codes = new int[Math.max(initialCapacity, 16)];
+        dictionary.add("");
+        codesByValue.put("", EMPTY_CODE);
+    }
+
+    /**
+     * Stores {@code value} for {@code rowIndex}, growing the code array as needed.
+     */
+    void set(int rowIndex, String value) {
+        if (rowIndex >= codes.length) {
+            codes = Arrays.copyOf(codes, Math.max(codes.length * 2, rowIndex + 1));
+        }
+        codes[rowIndex] = encode(value);
+    }
+
+    /**
+     * Returns the value stored for {@code rowIndex}, or {@code ""} if none was stored.
+     */
+    public String get(int rowIndex) {
+        return rowIndex < codes.length ? dictionary.get(codes[rowIndex]) : "";
+    }
+
+    /**
+     * Returns the dictionary code stored for {@code rowIndex}.
+     */
+    public int code(int rowIndex) {
+        return rowIndex < codes.length ? codes[rowIndex] : EMPTY_CODE;
+    }
+
+    /**
+     * Number of distinct values in this column, including the empty string.
+     */
+    public int cardinality() {
+        return dictionary.size();
+    }
+
+    /**
+     * Counts rows in {@code [0, rowCount)} whose value is not blank after trimming.
+     * Scans the code array only; each distinct value is trimmed once.
+     */
+    public int nonEmptyCount(int rowCount) {
+        boolean[] blankCodes = blankCodes();
+        int limit = Math.min(rowCount, codes.length);
+        int count = 0;
+        for (int i = 0; i < limit; i++) {
+            if (!blankCodes[codes[i]]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Approximate bytes retained by this column: the code array plus dictionary strings.
+     */
+    long retainedBytes() {
+        long bytes = (long) codes.length * Integer.BYTES;
+        for (String value : dictionary) {
+            // String header + backing array header + one byte per Latin-1 / two per UTF-16 char
+            bytes += 40L + (long) value.length() * 2;
+        }
+        return bytes;
+    }
+
+    /**
+     * Flags, indexed by code, for dictionary values that are blank after trimming.
+     */
+    boolean[] blankCodes() {
+        boolean[] blank = new boolean[dictionary.size()];
+        for (int code = 0; code < blank.length; code++) {
+            blank[code] = dictionary.get(code).trim().isEmpty();
+        }
+        return blank;
+    }
+
+    private int encode(String value) {
+        if (value == null || value.isEmpty()) {
+            return EMPTY_CODE;
+        }
+        Integer code = codesByValue.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            codesByValue.put(value, code);
+        }
+        return code;
+    }
+}
@@ -0,0 +1,64 @@
+package com.originspecs.dataprep.model;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recycles the direct buffers behind {@link OffHeapRows}.
+ *
+ * <p>A direct buffer's native memory is normally freed only after the buffer is garbage
+ * collected. Released chunks are kept here instead and handed to the next sheet. Native
+ * memory is therefore reused as soon as a sheet is released, without waiting for a GC cycle.
+ * Chunks beyond {@code maxIdleChunks} are left to the garbage collector.
+ *
+ * <p>Thread-safe.
+ */
+final class DirectChunkPool {
+
+    /** Size of a pooled chunk; a row larger than this gets a dedicated, unpooled buffer. */
+    static final int CHUNK_BYTES = 1024 * 1024;
+
+    private static final int DEFAULT_MAX_IDLE_CHUNKS = 64;
+
+    static final DirectChunkPool SHARED = new DirectChunkPool(DEFAULT_MAX_IDLE_CHUNKS);
+
+    private final int maxIdleChunks;
+    private final ConcurrentLinkedDeque<ByteBuffer> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    DirectChunkPool(int maxIdleChunks) {
+        this.maxIdleChunks = maxIdleChunks;
+    }
+
+    /**
+     * A chunk of at least {@code minBytes}: a pooled {@value #CHUNK_BYTES}-byte chunk, or a
+     * dedicated buffer for larger requests.
+     */
+    ByteBuffer acquire(int minBytes) {
+        if (minBytes > CHUNK_BYTES) {
+            return ByteBuffer.allocateDirect(minBytes);
+        }
+        ByteBuffer chunk = idle.pollFirst();
+        if (chunk == null) {
+            return ByteBuffer.allocateDirect(CHUNK_BYTES);
+        }
+        idleCount.decrementAndGet();
+        return chunk.clear();
+    }
+
+    void release(ByteBuffer chunk) {
+        if (chunk.capacity() != CHUNK_BYTES) {
+            return;
+        }
+        if (idleCount.incrementAndGet() <= maxIdleChunks) {
+            idle.addFirst(chunk);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    int idleChunks() {
+        return idleCount.get();
+    }
+}
@@ -0,0 +1,18 @@
+package com.originspecs.dataprep.model;
+
+/**
+ * How the formula cells of a workbook were turned into text while it was read.
+ *
+ * @param cached    Formula cells that used the result stored in the file
+ * @param evaluated Formula cells recalculated by a formula evaluator
+ * @param failed    Formula cells whose evaluation failed and that fell back to the stored result
+ */
+public record FormulaStatistics(long cached, long evaluated, long failed) {
+
+    /** No formula cells seen, or a reader that does not track them. */
+    public static final FormulaStatistics NONE = new FormulaStatistics(0, 0, 0);
+
+    public long total() {
+        return cached + evaluated + failed;
+    }
+}
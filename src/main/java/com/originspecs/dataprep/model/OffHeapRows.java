@@ -0,0 +1,191 @@
+package com.originspecs.dataprep.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A sheet's data rows stored as UTF-8 bytes in direct buffers, outside the Java heap.
+ *
+ * <p>Rows are packed into 1 MiB chunks from a shared {@link DirectChunkPool}. A row is laid
+ * out as its cell count, the end offset of each cell and then the cells' UTF-8 bytes, so any
+ * cell can be located without scanning. The only heap cost per row is one {@code long} in
+ * the row index, which holds the row's chunk and position. A sheet of millions of cells
+ * therefore leaves no {@code String} or {@code ArrayList} objects for the collector to trace.
+ *
+ * <p>Like {@link ColumnarRows}, this is a {@code List<RowData>}: {@link #add(RowData)} encodes
+ * a row and discards it, and {@link #get(int)} returns a read-only row view. The view decodes
+ * a cell only when the cell is read, e.g. by {@link RowData#getCell(int)}.
+ *
+ * <p>The streaming readers fill the list row by row as the sheet is read (see
+ * {@link RowStorage#boundsHeap()}), so no copy of the sheet builds up on the heap first.
+ * The user-model .xls reader still holds the whole workbook on the heap while reading.
+ *
+ * <p>{@link #close()} returns the chunks to the pool right away. Rows obtained earlier must
+ * not be read afterwards. Appending is single-threaded; reads may run concurrently once all
+ * rows are appended.
+ */
+public final class OffHeapRows extends AbstractList<RowData> implements RandomAccess, AutoCloseable {
+
+    private static final int CHUNK_SHIFT = 32;
+    private static final long POSITION_MASK = 0xFFFF_FFFFL;
+
+    private final DirectChunkPool pool;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    // Per row: chunk index in the high 32 bits, byte position of the row in the low 32 bits
+    private long[] rowIndex = new long[1024];
+    private int size;
+    private long storedBytes;
+    private volatile boolean closed;
+
+    public OffHeapRows() {
+        this(DirectChunkPool.SHARED);
+    }
+
+    OffHeapRows(DirectChunkPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a row; only appending at the end is supported.
+     */
+    @Override
+    public void add(int index, RowData row) {
+        checkOpen();
+        if (index != size) {
+            throw new UnsupportedOperationException("OffHeapRows only supports appending rows");
+        }
+        List<String> values = row.getCellValues();
+        int cellCount = values.size();
+        byte[][] cells = new byte[cellCount][];
+        int rowBytes = Integer.BYTES * (1 + cellCount);
+        for (int c = 0; c < cellCount; c++) {
+            cells[c] = values.get(c).getBytes(StandardCharsets.UTF_8);
+            rowBytes += cells[c].length;
+        }
+
+        ByteBuffer chunk = chunkWithRoom(rowBytes);
+        int position = chunk.position();
+        chunk.putInt(cellCount);
+        int end = 0;
+        for (byte[] cell : cells) {
+            end += cell.length;
+            chunk.putInt(end);
+        }
+        for (byte[] cell : cells) {
+            chunk.put(cell);
+        }
+
+        if (size == rowIndex.length) {
+            rowIndex = Arrays.copyOf(rowIndex, rowIndex.length * 2);
+        }
+        rowIndex[size++] = ((long) (chunks.size() - 1) << CHUNK_SHIFT) | position;
+        storedBytes += rowBytes;
+        modCount++;
+    }
+
+    @Override
+    public RowData get(int index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        long location = rowIndex[index];
+        ByteBuffer chunk = chunks.get((int) (location >>> CHUNK_SHIFT));
+        return new RowData(new RowView(chunk, (int) (location & POSITION_MASK)));
+    }
+
+    /** Bytes of row data written to direct buffers, excluding unused chunk space. */
+    public long storedBytes() {
+        return storedBytes;
+    }
+
+    /** Direct memory held, in whole chunks. */
+    public long reservedBytes() {
+        long bytes = 0;
+        for (ByteBuffer chunk : chunks) {
+            bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns every chunk to the pool. The list and its row views cannot be read afterwards.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer chunk : chunks) {
+            pool.release(chunk);
+        }
+        chunks.clear();
+        rowIndex = new long[0];
+        size = 0;
+    }
+
+    private ByteBuffer chunkWithRoom(int bytes) {
+        ByteBuffer current = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (current == null || current.remaining() < bytes) {
+            current = pool.acquire(bytes);
+            chunks.add(current);
+        }
+        return current;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("OffHeapRows has been closed");
+        }
+    }
+
+    /**
+     * Read-only view of one encoded row. Cells are decoded on access with absolute reads, so
+     * views never move a chunk's position.
+     */
+    private final class RowView extends AbstractList<String> implements RandomAccess {
+
+        private final ByteBuffer chunk;
+        private final int position;
+        private final int cellCount;
+
+        private RowView(ByteBuffer chunk, int position) {
+            this.chunk = chunk;
+            this.position = position;
+            this.cellCount = chunk.getInt(position);
+        }
+
+        @Override
+        public String get(int columnIndex) {
+            if (columnIndex < 0 || columnIndex >= cellCount) {
+                throw new IndexOutOfBoundsException("Index: " + columnIndex + ", Size: " + cellCount);
+            }
+            checkOpen();
+            int ends = position + Integer.BYTES;
+            int start = columnIndex == 0 ? 0 : chunk.getInt(ends + (columnIndex - 1) * Integer.BYTES);
+            int end = chunk.getInt(ends + columnIndex * Integer.BYTES);
+            if (start == end) {
+                return "";
+            }
+            byte[] bytes = new byte[end - start];
+            chunk.get(ends + cellCount * Integer.BYTES + start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int size() {
+            return cellCount;
+        }
+    }
+}
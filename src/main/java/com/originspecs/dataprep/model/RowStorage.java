@@ -0,0 +1,112 @@
+package com.originspecs.dataprep.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Selects the in-memory representation used for {@link WorkSheetData#getRows()}.
+ *
+ * <ul>
+ *   <li>{@link #LIST} — one {@link RowData} holding a {@code List<String>} per row (default).</li>
+ *   <li>{@link #COLUMNAR} — {@link ColumnarRows}: one dictionary-encoded column per sheet column,
+ *       read back through row views.</li>
+ *   <li>{@link #SPILL} — {@link SpillingRows}: rows on the heap within a {@link SpillBudget},
+ *       spilled to a binary segment file on disk beyond it and read back sequentially.</li>
+ *   <li>{@link #OFF_HEAP} — {@link OffHeapRows}: UTF-8 cell bytes in pooled direct buffers,
+ *       decoded cell by cell through row views.</li>
+ * </ul>
+ */
+public enum RowStorage {
+
+    LIST,
+    COLUMNAR,
+    SPILL,
+    OFF_HEAP;
+
+    /**
+     * Creates an empty, appendable row list of this storage kind; {@link #SPILL} lists share
+     * {@link SpillBudget#defaults()}.
+     */
+    public List<RowData> newRowList() {
+        return newRowList(SpillBudget.defaults());
+    }
+
+    /**
+     * Creates an empty, appendable row list of this storage kind.
+     *
+     * @param budget Heap budget and spill directory of {@link #SPILL} lists; ignored by the other kinds
+     */
+    public List<RowData> newRowList(SpillBudget budget) {
+        return switch (this) {
+            case LIST -> new ArrayList<>();
+            case COLUMNAR -> new ColumnarRows();
+            case SPILL -> new SpillingRows(budget);
+            case OFF_HEAP -> new OffHeapRows();
+        };
+    }
+
+    /**
+     * Whether rows of this kind leave the Java heap once a bound is reached ({@link #SPILL} and
+     * {@link #OFF_HEAP}). The streaming readers then hand rows on as they are read instead of
+     * buffering a whole sheet first.
+     */
+    public boolean boundsHeap() {
+        return this == SPILL || this == OFF_HEAP;
+    }
+
+    /**
+     * Returns the storage kind backing {@code rows}.
+     */
+    public static RowStorage of(List<RowData> rows) {
+        if (rows instanceof ColumnarRows) return COLUMNAR;
+        if (rows instanceof SpillingRows) return SPILL;
+        if (rows instanceof OffHeapRows) return OFF_HEAP;
+        return LIST;
+    }
+
+    /**
+     * Creates an empty row list of the same kind as {@code rows}, so derived row lists (e.g.
+     * after column filtering) keep the representation chosen when the sheet was read. A
+     * derived {@link SpillingRows} list shares the source's {@link SpillBudget}.
+     */
+    public static List<RowData> newRowListLike(List<RowData> rows) {
+        if (rows instanceof SpillingRows spilling) {
+            return new SpillingRows(spilling.budget());
+        }
+        return of(rows).newRowList();
+    }
+
+    /**
+     * Frees what {@code rows} holds outside the heap once they are no longer needed: a
+     * {@link SpillingRows} list deletes its segment file, an {@link OffHeapRows} list returns
+     * its direct buffers to the pool. Does nothing for other kinds.
+     */
+    public static void release(List<RowData> rows) {
+        if (rows instanceof SpillingRows spilling) {
+            spilling.close();
+        } else if (rows instanceof OffHeapRows offHeap) {
+            offHeap.close();
+        }
+    }
+
+    /**
+     * Releases the rows of every sheet of {@code workBook}, as {@link #release(List)} does.
+     */
+    public static void release(WorkBookData workBook) {
+        workBook.getWorksheets().forEach(sheet -> release(sheet.getRows()));
+    }
+
+    /**
+     * Parses a CLI value such as {@code list} or {@code columnar}.
+     *
+     * @throws IllegalArgumentException if the value does not name a known storage kind
+     */
+    public static RowStorage parse(String value) {
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("storage must be one of 'list', 'columnar', 'spill' or 'off-heap', got: " + value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.originspecs.dataprep.model;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap shared by every {@link SpillingRows} list created against it, and the directory
+ * their rows spill to once it is used up.
+ *
+ * <p>Each list reserves an estimate of a row's heap size before keeping the row in memory.
+ * When a reservation would exceed the budget, the list writes the rows it holds to a segment
+ * file and releases their reservation. The heap held by spilling lists therefore stays below
+ * {@code maxBytes} in total, however many sheets and workbooks are in flight.
+ *
+ * <p>Thread-safe.
+ */
+public final class SpillBudget {
+
+    /** Heap budget used when none is configured. */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static final SpillBudget DEFAULT = new SpillBudget(DEFAULT_MAX_BYTES, null);
+
+    private final long maxBytes;
+    private final Path directory;
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    /**
+     * @param maxBytes  Heap that spilling lists may hold in total
+     * @param directory Directory for segment files; null uses {@code java.io.tmpdir}
+     */
+    public SpillBudget(long maxBytes, Path directory) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be at least 1, got: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+    }
+
+    /**
+     * The process-wide budget of {@value #DEFAULT_MAX_BYTES} bytes spilling to {@code java.io.tmpdir}.
+     */
+    public static SpillBudget defaults() {
+        return DEFAULT;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /** Segment directory: the configured one, or {@code java.io.tmpdir}. */
+    public Path directory() {
+        return directory != null ? directory : Path.of(System.getProperty("java.io.tmpdir"));
+    }
+
+    /** Heap currently reserved by all lists. */
+    public long reservedBytes() {
+        return reservedBytes.get();
+    }
+
+    /**
+     * Reserves {@code bytes} if that keeps the total within the budget.
+     *
+     * @return false if the budget has no room; nothing is reserved then
+     */
+    boolean tryReserve(long bytes) {
+        long current;
+        do {
+            current = reservedBytes.get();
+            if (current + bytes > maxBytes) {
+                return false;
+            }
+        } while (!reservedBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    void release(long bytes) {
+        reservedBytes.addAndGet(-bytes);
+    }
+}
@@ -0,0 +1,370 @@
+package com.originspecs.dataprep.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A sheet's data rows kept on the heap within a {@link SpillBudget}, spilling to a binary
+ * segment file on disk once the budget is used up.
+ *
+ * <p>Rows are appended in order. While the budget has room, each row is kept on the heap and
+ * its estimated size reserved. When a reservation fails, every row held on the heap is
+ * appended to the segment file and its reservation released, so the file always holds a
+ * prefix of the list and the heap the rest. A row that still does not fit goes straight to
+ * the file.
+ *
+ * <p>The segment stores each row as a varint cell count followed by each cell as a varint
+ * byte length and its UTF-8 bytes. It is meant to be read sequentially: {@link #iterator()}
+ * streams it from the start, and {@link #get(int)} keeps a cursor, so reading indexes in
+ * ascending order is as cheap as iterating. This list is therefore not {@code RandomAccess}.
+ * Rows read from the file are new {@link RowData} instances on every read.
+ *
+ * <p>{@link #close()} deletes the file and releases the reservation. An unreachable list is
+ * cleaned up the same way when it is garbage collected. Not thread-safe; append all rows
+ * before reading.
+ */
+public final class SpillingRows extends AbstractList<RowData> implements AutoCloseable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    // Heap estimate: RowData and its ArrayList with their headers, then per cell a reference
+    // and, unless it is the shared empty string, a String with its UTF-16 worst-case array
+    private static final long ROW_OVERHEAD_BYTES = 64;
+    private static final long REFERENCE_BYTES = 8;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final SpillBudget budget;
+    private final Segment segment;
+    private final Cleaner.Cleanable cleanable;
+    private final List<RowData> heapRows = new ArrayList<>();
+    private int spilledRows;
+    private Cursor cursor;
+    private boolean closed;
+
+    public SpillingRows(SpillBudget budget) {
+        this.budget = budget;
+        this.segment = new Segment(budget);
+        this.cleanable = CLEANER.register(this, segment);
+    }
+
+    public SpillBudget budget() {
+        return budget;
+    }
+
+    /** Rows written to the segment file. */
+    public int spilledRows() {
+        return spilledRows;
+    }
+
+    /** Bytes written to the segment file so far. */
+    public long spilledBytes() {
+        return segment.bytesWritten;
+    }
+
+    @Override
+    public int size() {
+        return spilledRows + heapRows.size();
+    }
+
+    /**
+     * Appends a row; only appending at the end is supported.
+     */
+    @Override
+    public void add(int index, RowData row) {
+        checkOpen();
+        if (index != size()) {
+            throw new UnsupportedOperationException("SpillingRows only supports appending rows");
+        }
+        long bytes = estimateBytes(row);
+        if (!budget.tryReserve(bytes)) {
+            spillHeapRows();
+            if (!budget.tryReserve(bytes)) {
+                segment.append(row);
+                spilledRows++;
+                modCount++;
+                return;
+            }
+        }
+        segment.reservedBytes += bytes;
+        heapRows.add(row);
+        modCount++;
+    }
+
+    @Override
+    public RowData get(int index) {
+        checkOpen();
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index >= spilledRows) {
+            return heapRows.get(index - spilledRows);
+        }
+        if (cursor == null || cursor.nextIndex > index) {
+            closeCursor();
+            cursor = new Cursor(segment.open(), spilledRows);
+        }
+        while (cursor.nextIndex < index) {
+            cursor.skip();
+        }
+        RowData row = cursor.next();
+        if (!cursor.hasNext()) {
+            closeCursor();
+        }
+        return row;
+    }
+
+    /**
+     * Streams the segment file from the start, then the rows held on the heap.
+     */
+    @Override
+    public Iterator<RowData> iterator() {
+        checkOpen();
+        if (spilledRows == 0) {
+            return heapRows.iterator();
+        }
+        Cursor spilled = new Cursor(segment.open(), spilledRows);
+        Iterator<RowData> onHeap = heapRows.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return spilled.hasNext() || onHeap.hasNext();
+            }
+
+            @Override
+            public RowData next() {
+                if (!spilled.hasNext()) {
+                    return onHeap.next();
+                }
+                RowData row = spilled.next();
+                if (!spilled.hasNext()) {
+                    spilled.close();
+                }
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Deletes the segment file and releases the heap reservation. The list cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        closeCursor();
+        closed = true;
+        heapRows.clear();
+        spilledRows = 0;
+        cleanable.clean();
+    }
+
+    private void spillHeapRows() {
+        for (RowData row : heapRows) {
+            segment.append(row);
+        }
+        spilledRows += heapRows.size();
+        heapRows.clear();
+        budget.release(segment.reservedBytes);
+        segment.reservedBytes = 0;
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            cursor.close();
+            cursor = null;
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("SpillingRows has been closed");
+        }
+    }
+
+    static long estimateBytes(RowData row) {
+        long bytes = ROW_OVERHEAD_BYTES;
+        for (String cell : row.getCellValues()) {
+            bytes += REFERENCE_BYTES;
+            if (!cell.isEmpty()) {
+                bytes += STRING_OVERHEAD_BYTES + 2L * cell.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The segment file and the reservation of one list. Holds no reference to the list, so it
+     * can double as the cleaning action run once the list is unreachable.
+     */
+    private static final class Segment implements Runnable {
+
+        private final SpillBudget budget;
+        private Path file;
+        private DataOutputStream out;
+        private long bytesWritten;
+        private long reservedBytes;
+
+        Segment(SpillBudget budget) {
+            this.budget = budget;
+        }
+
+        void append(RowData row) {
+            try {
+                if (out == null) {
+                    if (file == null) {
+                        Files.createDirectories(budget.directory());
+                        file = Files.createTempFile(budget.directory(), "dataprep-rows-", ".seg");
+                    }
+                    out = new DataOutputStream(new BufferedOutputStream(
+                            Files.newOutputStream(file, StandardOpenOption.APPEND), IO_BUFFER_SIZE));
+                }
+                List<String> cells = row.getCellValues();
+                writeVarInt(cells.size());
+                for (String cell : cells) {
+                    byte[] bytes = cell.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(bytes.length);
+                    out.write(bytes);
+                    bytesWritten += bytes.length;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to spill rows to " + file, e);
+            }
+        }
+
+        /** Opens the file for reading, first closing the writer so every spilled row is on disk. */
+        DataInputStream open() {
+            try {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+                return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read spilled rows from " + file, e);
+            }
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+                bytesWritten++;
+            }
+            out.write(value);
+            bytesWritten++;
+        }
+
+        @Override
+        public void run() {
+            budget.release(reservedBytes);
+            reservedBytes = 0;
+            try {
+                if (out != null) {
+                    out.close();
+                }
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                // Best effort: the file is in a temp directory
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over the first {@code rowCount} rows of a segment file.
+     */
+    private static final class Cursor implements Iterator<RowData> {
+
+        private final DataInputStream in;
+        private final int rowCount;
+        private int nextIndex;
+        private byte[] buffer = new byte[256];
+
+        Cursor(DataInputStream in, int rowCount) {
+            this.in = in;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < rowCount;
+        }
+
+        @Override
+        public RowData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                int cellCount = readVarInt();
+                List<String> cells = new ArrayList<>(cellCount);
+                for (int i = 0; i < cellCount; i++) {
+                    int length = readVarInt();
+                    if (length == 0) {
+                        cells.add("");
+                        continue;
+                    }
+                    if (length > buffer.length) {
+                        buffer = new byte[Math.max(length, buffer.length * 2)];
+                    }
+                    in.readFully(buffer, 0, length);
+                    cells.add(new String(buffer, 0, length, StandardCharsets.UTF_8));
+                }
+                nextIndex++;
+                return new RowData(cells);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read spilled row " + nextIndex, e);
+            }
+        }
+
+        void skip() {
+            try {
+                int cellCount = readVarInt();
+                for (int i = 0; i < cellCount; i++) {
+                    in.skipNBytes(readVarInt());
+                }
+                nextIndex++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to skip spilled row " + nextIndex, e);
+            }
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Read-only stream: nothing was lost
+            }
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Segment file ends inside a row");
+                }
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in segment file");
+        }
+    }
+}
@@ -10,5 +10,6 @@ public class WorkBookData {
     private String fileName;
     private List<WorkSheetData> worksheets = new ArrayList<>();
     private int worksheetCount;
+    private FormulaStatistics formulaStatistics = FormulaStatistics.NONE;
 
 }
@@ -21,6 +21,10 @@ public class WorkSheetData {
 
     private List<RowData> rows = new ArrayList<>();
 
+    // Fill statistics for the data rows, collected by the reader as rows are emitted.
+    // Null when not collected (sheets built by hand, or after processing).
+    private ColumnStatistics columnStatistics;
+
     // Original sheet dimensions before any processing
     private int originalRowCount;
     private int originalColumnCount;
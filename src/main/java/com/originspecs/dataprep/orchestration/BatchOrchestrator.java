@@ -0,0 +1,204 @@
+package com.originspecs.dataprep.orchestration;
+
+import com.originspecs.dataprep.config.Config;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the data preparation pipeline over every workbook in a directory or matching a
+ * file-name glob, in a single JVM.
+ *
+ * <p>Each file gets its own virtual thread running {@link DataPrepOrchestrator#execute(Config)};
+ * a semaphore caps how many pipelines hold workbooks in memory at once. Reference data
+ * (permitted headers, brand list) is loaded once by the shared orchestrator. Output files
+ * keep their input file name and are written to the output directory.
+ *
+ * <p>A failing file is logged and reported in the summary; it does not stop the other files.
+ */
+@Slf4j
+public class BatchOrchestrator {
+
+    private final DataPrepOrchestrator orchestrator;
+    private final int maxConcurrentFiles;
+
+    /**
+     * @param orchestrator       Shared single-file pipeline
+     * @param maxConcurrentFiles Maximum number of files processed at the same time
+     */
+    public BatchOrchestrator(DataPrepOrchestrator orchestrator, int maxConcurrentFiles) {
+        this.orchestrator = orchestrator;
+        this.maxConcurrentFiles = maxConcurrentFiles;
+    }
+
+    /**
+     * Summary of a batch run.
+     *
+     * @param results  One result per successfully processed file, in input file order
+     * @param failures Input files that failed, with the failure message, in input file order
+     * @param elapsed  Wall-clock time for the whole batch
+     */
+    public record BatchResult(List<PipelineResult> results, Map<Path, String> failures, Duration elapsed) {
+    }
+
+    /**
+     * Processes every workbook matched by {@code config.inputFile()} and writes the results
+     * into the directory {@code config.outputFile()}.
+     *
+     * @throws IOException if the input cannot be listed or the output directory cannot be created
+     */
+    public BatchResult execute(Config config) throws IOException {
+        Path outputDir = config.outputFile();
+        List<Path> inputs = resolveInputs(config.inputFile());
+        checkOutputDirectory(inputs, outputDir);
+        Files.createDirectories(outputDir);
+
+        log.info("Batch: {} workbook(s) → {} (max {} concurrent)", inputs.size(), outputDir, maxConcurrentFiles);
+        long start = System.nanoTime();
+
+        Semaphore permits = new Semaphore(maxConcurrentFiles);
+        List<Future<PipelineResult>> futures = new ArrayList<>(inputs.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path input : inputs) {
+                Config fileConfig = config.withFiles(input, outputFileFor(input, outputDir));
+                futures.add(executor.submit(() -> runWithPermit(permits, fileConfig)));
+            }
+        }
+
+        List<PipelineResult> results = new ArrayList<>();
+        Map<Path, String> failures = new TreeMap<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                log.error("Batch: '{}' failed", inputs.get(i).getFileName(), e.getCause());
+                failures.put(inputs.get(i), String.valueOf(e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for batch results", e);
+            }
+        }
+
+        BatchResult batch = new BatchResult(results, failures, Duration.ofNanos(System.nanoTime() - start));
+        logSummary(batch, config.cacheEnabled());
+        return batch;
+    }
+
+    /**
+     * Lists the workbooks to process, sorted by file name. A directory yields every
+     * .xls / .xlsx / .xlsm file directly inside it; a glob is matched against file names
+     * in its parent directory.
+     */
+    static List<Path> resolveInputs(Path input) throws IOException {
+        Path dir;
+        String glob;
+        if (Files.isDirectory(input)) {
+            dir = input;
+            glob = "*.{xls,xlsx,xlsm}";
+        } else {
+            dir = input.getParent() == null ? Path.of(".") : input.getParent();
+            glob = input.getFileName().toString();
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && isWorkbook(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No .xls/.xlsx workbooks found for input: " + input);
+        }
+        return files;
+    }
+
+    private PipelineResult runWithPermit(Semaphore permits, Config fileConfig) throws Exception {
+        permits.acquire();
+        try {
+            return orchestrator.execute(fileConfig);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * The output file for {@code input} in {@code outputDir}: the input file name, except that
+     * {@code .xlsm} becomes {@code .xlsx}. The writer picks the format from the extension and
+     * writes no macros, so a {@code .xlsm} name would get .xls bytes that Excel rejects.
+     */
+    static Path outputFileFor(Path input, Path outputDir) {
+        String name = input.getFileName().toString();
+        if (name.toLowerCase(Locale.ROOT).endsWith(".xlsm")) {
+            name = name.substring(0, name.length() - ".xlsm".length()) + ".xlsx";
+        }
+        return outputDir.resolve(name);
+    }
+
+    static boolean isWorkbook(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".xls") || name.endsWith(".xlsx") || name.endsWith(".xlsm");
+    }
+
+    /**
+     * Output files reuse the input file names (see {@link #outputFileFor}), so writing into an
+     * input directory would overwrite the source workbooks.
+     */
+    private static void checkOutputDirectory(List<Path> inputs, Path outputDir) throws IOException {
+        if (Files.exists(outputDir) && !Files.isDirectory(outputDir)) {
+            throw new IllegalArgumentException("Batch output must be a directory: " + outputDir.toAbsolutePath());
+        }
+        Path target = outputDir.toAbsolutePath().normalize();
+        for (Path input : inputs) {
+            if (input.toAbsolutePath().normalize().getParent().equals(target)) {
+                throw new IllegalArgumentException(
+                        "Batch output directory must differ from the input directory: " + target);
+            }
+        }
+    }
+
+    private void logSummary(BatchResult batch, boolean cacheEnabled) {
+        long totalRows = 0;
+        long totalBytes = 0;
+        int cacheHits = 0;
+        for (PipelineResult result : batch.results()) {
+            totalRows += result.rowCount();
+            totalBytes += result.inputBytes();
+            cacheHits += result.cacheHit() ? 1 : 0;
+            log.info("Batch: {} — {} sheet(s), {} row(s) in {} ms ({} rows/s, {} MB/s){}",
+                    result.inputFile().getFileName(), result.sheetCount(), result.rowCount(),
+                    result.elapsed().toMillis(),
+                    String.format("%.0f", result.rowsPerSecond()),
+                    String.format("%.2f", result.megabytesPerSecond()),
+                    result.cacheHit() ? " [cached]" : "");
+        }
+
+        double seconds = Math.max(batch.elapsed().toNanos(), 1) / 1_000_000_000d;
+        log.info("Batch complete: {} succeeded, {} failed, {} row(s) in {} ms ({} rows/s, {} MB/s overall)",
+                batch.results().size(), batch.failures().size(), totalRows, batch.elapsed().toMillis(),
+                String.format("%.0f", totalRows / seconds),
+                String.format("%.2f", totalBytes / seconds / (1024 * 1024)));
+        if (cacheEnabled) {
+            log.info("Batch result cache: {} hit(s), {} miss(es)", cacheHits, batch.results().size() - cacheHits);
+        }
+        batch.failures().forEach((input, message) ->
+                log.warn("Batch: failed — {}: {}", input.getFileName(), message));
+    }
+}
@@ -1,89 +1,287 @@
 package com.originspecs.dataprep.orchestration;
 
+import com.originspecs.dataprep.cache.ResultCache;
 import com.originspecs.dataprep.config.CarListBuilder;
 import com.originspecs.dataprep.config.Config;
 import com.originspecs.dataprep.config.PermittedHeadersBuilder;
+import com.originspecs.dataprep.metrics.MetricsRegistry;
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.metrics.RunReport;
+import com.originspecs.dataprep.metrics.Stage;
+import com.originspecs.dataprep.metrics.StageSample;
+import com.originspecs.dataprep.metrics.StageTimer;
 import com.originspecs.dataprep.model.CarBrand;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.SpillBudget;
 import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import com.originspecs.dataprep.processor.HeaderLabelCache;
+import com.originspecs.dataprep.processor.HeaderResolver;
 import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.ReaderOptions;
 import com.originspecs.dataprep.reader.WorkBookReader;
 import com.originspecs.dataprep.writer.WorkBookWriter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 /**
  * Orchestrates the complete data preparation pipeline: read → process → write.
  * Loads permitted headers and car brand lists on startup and wires all components.
  * Contains no business logic.
+ *
+ * <p>With a cache directory, resolved header labels are saved there after every run as
+ * {@value #HEADER_LABELS_FILE} and loaded on startup, so a new process starts warm.
+ *
+ * <p>Every run records per-stage, per-sheet {@link StageSample}s; their workbook totals
+ * accumulate in {@link #metrics()} across runs, and {@code --report} writes a run's samples
+ * as JSON next to its output.
  */
 @Slf4j
 public class DataPrepOrchestrator {
 
+    /** Name of the header label file kept in the cache directory. */
+    public static final String HEADER_LABELS_FILE = "header-labels.json";
+
     private final WorkBookReader reader;
     private final WorkBookProcessor processor;
     private final WorkBookWriter writer;
+    // Null when result caching is disabled
+    private final ResultCache cache;
+    // Null unless header labels are persisted in the cache directory
+    private final HeaderLabelCache headerLabels;
+    private final Path headerLabelsFile;
+    private final String referenceFingerprint;
+    private final MetricsRegistry metrics = new MetricsRegistry();
 
     /**
      * Default constructor: loads permitted headers and car brands from their
-     * respective CSV files and wires all components.
+     * respective CSV files and wires all components with default engine options.
      */
     public DataPrepOrchestrator() {
+        this(ReaderOptions.defaults(), Config.DEFAULT_ROW_WINDOW, 1, null, 0);
+    }
+
+    /**
+     * Loads permitted headers and car brands and wires all components using the
+     * engine and cache options carried by {@code config}.
+     */
+    public DataPrepOrchestrator(Config config) {
+        this(new ReaderOptions(config.readerEngine(), config.rowStorage(), config.headerLookahead(), config.formulaStrategy(),
+                        new SpillBudget(config.heapBudgetBytes(), config.spillDir())),
+                config.rowWindow(), config.parallelism(),
+                config.cacheDir(), config.cacheMaxBytes());
+    }
+
+    private DataPrepOrchestrator(ReaderOptions readerOptions, int rowWindow, int parallelism,
+                                 Path cacheDir, long cacheMaxBytes) {
         Map<String, String> permittedHeaders = PermittedHeadersBuilder.load();
         List<CarBrand> carBrands = CarListBuilder.populateBrandList("autoList.csv");
         Set<String> japaneseBrandNames = carBrands.stream()
                 .map(CarBrand::japanese)
                 .collect(Collectors.toSet());
 
-        this.reader = new WorkBookReader(japaneseBrandNames);
-        this.processor = new WorkBookProcessor(permittedHeaders);
-        this.writer = new WorkBookWriter();
+        this.reader = new WorkBookReader(japaneseBrandNames, readerOptions);
+        // One label cache for every sheet, file and batch worker, counting into metrics()
+        HeaderLabelCache labelCache = new HeaderLabelCache(HeaderLabelCache.DEFAULT_MAX_ENTRIES, metrics);
+        this.processor = new WorkBookProcessor(new HeaderResolver(permittedHeaders, labelCache), parallelism);
+        this.writer = new WorkBookWriter(rowWindow);
+        this.referenceFingerprint = ResultCache.fingerprint(permittedHeaders, japaneseBrandNames);
+        this.cache = cacheDir == null ? null : new ResultCache(cacheDir, cacheMaxBytes, referenceFingerprint);
+        this.headerLabels = cacheDir == null ? null : labelCache;
+        this.headerLabelsFile = cacheDir == null ? null : cacheDir.resolve(HEADER_LABELS_FILE);
+        loadHeaderLabels();
     }
 
     /**
      * Full constructor for testing — inject any implementation of each component.
      */
     public DataPrepOrchestrator(WorkBookReader reader, WorkBookProcessor processor, WorkBookWriter writer) {
+        this(reader, processor, writer, null);
+    }
+
+    /**
+     * Full constructor for testing with a result cache ({@code null} disables caching).
+     */
+    public DataPrepOrchestrator(WorkBookReader reader, WorkBookProcessor processor, WorkBookWriter writer,
+                                ResultCache cache) {
         this.reader = reader;
         this.processor = processor;
         this.writer = writer;
+        this.cache = cache;
+        this.headerLabels = null;
+        this.headerLabelsFile = null;
+        this.referenceFingerprint = null;
     }
 
     /**
      * Executes the complete data preparation pipeline.
      *
+     * <p>Safe to call concurrently for different files: the reader, processor and writer
+     * hold only immutable reference data between calls.
+     *
+     * <p>With a result cache, an input whose bytes, output-affecting parameters and reference
+     * data match an earlier run is not read at all — the cached output is copied instead.
+     *
      * @param config Configuration containing input/output paths and processing parameters
+     * @return Sheet / row counts and timing for the run
      * @throws IOException if reading or writing fails
      */
-    public void execute(Config config) throws IOException {
+    public PipelineResult execute(Config config) throws IOException {
         log.info("Starting data preparation pipeline");
-        log.info("Input: {} | Output: {} | Column threshold: {}",
-                config.inputFile(), config.outputFile(), config.columnThreshold());
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        RunMetrics run = new RunMetrics(metrics);
+        metrics.increment("pipeline.runs");
+        log.info("Input: {} | Output: {} | Column threshold: {} | Reader: {} | Storage: {} | Parallelism: {}",
+                config.inputFile(), config.outputFile(), config.columnThreshold(),
+                config.readerEngine(), config.rowStorage(), config.parallelism());
+
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = cache.key(config);
+            Optional<ResultCache.CachedOutput> cached = restoreFromCache(cacheKey, config.outputFile());
+            if (cached.isPresent()) {
+                PipelineResult result = result(config, cached.get().sheetCount(), cached.get().rowCount(), start, true);
+                metrics.increment("pipeline.cacheHits");
+                report(config, result, startedAt, run);
+                log.info("Pipeline completed from result cache in {} ms (cache: {} hit(s), {} miss(es))",
+                        result.elapsed().toMillis(), cache.hits(), cache.misses());
+                return result;
+            }
+        }
 
-        WorkBookData workBook = read(config.inputFile());
-        WorkBookData processed = process(workBook, config.columnThreshold());
-        write(processed, config.outputFile());
+        WorkBookData workBook = read(config.inputFile(), run);
+        WorkBookData processed;
+        try {
+            processed = process(workBook, config.columnThreshold(), run);
+        } finally {
+            RowStorage.release(workBook);
+        }
 
-        log.info("Pipeline completed successfully");
+        int sheetCount;
+        long rowCount;
+        try {
+            write(processed, config.outputFile(), run);
+            sheetCount = processed.getWorksheets().size();
+            rowCount = processed.getWorksheets().stream().mapToLong(sheet -> sheet.getRows().size()).sum();
+        } finally {
+            RowStorage.release(processed);
+        }
+        if (cacheKey != null) {
+            cache.store(cacheKey, config.outputFile(), sheetCount, rowCount);
+        }
+        saveHeaderLabels();
+
+        PipelineResult result = result(config, sheetCount, rowCount, start, false);
+        report(config, result, startedAt, run);
+        log.info("Pipeline completed successfully in {} ms", result.elapsed().toMillis());
+        return result;
     }
 
-    private WorkBookData read(Path inputFile) throws IOException {
+    /**
+     * Stage totals of every run of this orchestrator, plus {@code pipeline.runs} and
+     * {@code pipeline.cacheHits} counts.
+     */
+    public MetricsRegistry metrics() {
+        return metrics;
+    }
+
+    private void loadHeaderLabels() {
+        if (headerLabels == null) {
+            return;
+        }
+        try {
+            int loaded = headerLabels.load(headerLabelsFile, referenceFingerprint);
+            log.info("Header label cache: loaded {} label(s) from {}", loaded, headerLabelsFile);
+        } catch (IOException e) {
+            log.warn("Header label cache: could not load {}, starting empty", headerLabelsFile, e);
+        }
+    }
+
+    /** Saves new header labels; a failure is logged only, since the output is already written. */
+    private void saveHeaderLabels() {
+        if (headerLabels == null) {
+            return;
+        }
+        try {
+            headerLabels.save(headerLabelsFile, referenceFingerprint);
+        } catch (IOException e) {
+            log.warn("Header label cache: could not save {}", headerLabelsFile, e);
+        }
+    }
+
+    private static void report(Config config, PipelineResult result, Instant startedAt, RunMetrics run)
+            throws IOException {
+        if (!config.report()) {
+            return;
+        }
+        Path reportFile = RunReport.pathFor(config.outputFile());
+        RunReport.of(config.inputFile(), config.outputFile(), startedAt, result.elapsed(), result.cacheHit(),
+                result.sheetCount(), result.rowCount(), run).write(reportFile);
+        log.info("Run report written to {}", reportFile.toAbsolutePath());
+    }
+
+    private Optional<ResultCache.CachedOutput> restoreFromCache(String cacheKey, Path outputFile) throws IOException {
+        Path parentDir = outputFile.toAbsolutePath().getParent();
+        if (parentDir != null) {
+            Files.createDirectories(parentDir);
+        }
+        return cache.restore(cacheKey, outputFile);
+    }
+
+    private static PipelineResult result(Config config, int sheetCount, long rowCount, long startNanos, boolean cacheHit)
+            throws IOException {
+        return new PipelineResult(
+                config.inputFile(),
+                config.outputFile(),
+                sheetCount,
+                rowCount,
+                Files.size(config.inputFile()),
+                Duration.ofNanos(System.nanoTime() - startNanos),
+                cacheHit);
+    }
+
+    private WorkBookData read(Path inputFile, RunMetrics run) throws IOException {
         log.debug("Reading workbook");
-        return reader.read(inputFile);
+        StageTimer timer = run.start(Stage.READ, null);
+        WorkBookData workBook = reader.read(inputFile, run);
+        long cellsFormatted = run.sheets(Stage.READ).stream().mapToLong(StageSample::cellsFormatted).sum();
+        long columns = sum(workBook, WorkSheetData::getOriginalColumnCount);
+        timer.stop(sum(workBook, WorkSheetData::getOriginalRowCount), sum(workBook, sheet -> sheet.getRows().size()),
+                columns, columns, cellsFormatted);
+        return workBook;
     }
 
-    private WorkBookData process(WorkBookData workBook, double columnThreshold) {
+    private WorkBookData process(WorkBookData workBook, double columnThreshold, RunMetrics run) {
         log.debug("Processing workbook");
-        return processor.process(workBook, columnThreshold);
+        StageTimer timer = run.start(Stage.PROCESS, null);
+        WorkBookData processed = processor.process(workBook, columnThreshold, run);
+        timer.stop(sum(workBook, sheet -> sheet.getRows().size()), sum(processed, sheet -> sheet.getRows().size()),
+                sum(workBook, WorkSheetData::getOriginalColumnCount), sum(processed, sheet -> sheet.getHeaders().size()), 0);
+        return processed;
     }
 
-    private void write(WorkBookData workBook, Path outputFile) throws IOException {
+    private void write(WorkBookData workBook, Path outputFile, RunMetrics run) throws IOException {
         log.debug("Writing workbook");
-        writer.write(workBook, outputFile);
+        StageTimer timer = run.start(Stage.WRITE, null);
+        writer.write(workBook, outputFile, run);
+        long rows = sum(workBook, sheet -> sheet.getRows().size());
+        long columns = sum(workBook, sheet -> sheet.getHeaders().size());
+        timer.stop(rows, rows, columns, columns, 0);
+    }
+
+    private static long sum(WorkBookData workBook, ToLongFunction<WorkSheetData> count) {
+        return workBook.getWorksheets().stream().mapToLong(count).sum();
     }
 }
@@ -0,0 +1,38 @@
+package com.originspecs.dataprep.orchestration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outcome of one read → process → write run for a single workbook.
+ *
+ * @param inputFile  Workbook that was read
+ * @param outputFile Workbook that was written
+ * @param sheetCount Number of worksheets written
+ * @param rowCount   Total data rows written across all worksheets
+ * @param inputBytes Size of the input file
+ * @param elapsed    Wall-clock time for the whole pipeline
+ * @param cacheHit   True if the output was copied from the result cache instead of being computed
+ */
+public record PipelineResult(
+        Path inputFile,
+        Path outputFile,
+        int sheetCount,
+        long rowCount,
+        long inputBytes,
+        Duration elapsed,
+        boolean cacheHit
+) {
+    public double rowsPerSecond() {
+        return perSecond(rowCount);
+    }
+
+    public double megabytesPerSecond() {
+        return perSecond(inputBytes) / (1024 * 1024);
+    }
+
+    private double perSecond(double amount) {
+        long nanos = Math.max(elapsed.toNanos(), 1);
+        return amount * 1_000_000_000d / nanos;
+    }
+}
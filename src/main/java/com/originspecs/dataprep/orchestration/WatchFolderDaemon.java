@@ -0,0 +1,261 @@
+package com.originspecs.dataprep.orchestration;
+
+import com.originspecs.dataprep.config.Config;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Long-running mode: watches an inbox directory and pushes every workbook that lands in it
+ * through a single, already-initialised {@link DataPrepOrchestrator}, so reference data, POI
+ * classes and the JIT stay warm between files.
+ *
+ * <p>Lifecycle of an inbox file:
+ * <ol>
+ *   <li>A create / modify event (or its presence at startup) puts it on the pending list.</li>
+ *   <li>Once its size and modification time have not changed for the settle time, it is
+ *       considered fully copied and handed to a virtual thread; at most
+ *       {@link Config#maxConcurrentFiles()} files are processed at once.</li>
+ *   <li>Output is written to the output directory under the input file name, and the input
+ *       is moved to {@code <inbox>/done} or, if the pipeline failed, {@code <inbox>/failed}.</li>
+ * </ol>
+ *
+ * <p>{@link #run()} blocks until {@link #close()} is called from another thread.
+ */
+@Slf4j
+public class WatchFolderDaemon implements Closeable {
+
+    /** How long a file's size and modification time must stay unchanged before it is processed. */
+    public static final Duration DEFAULT_SETTLE_TIME = Duration.ofSeconds(1);
+
+    static final String DONE_DIR = "done";
+    static final String FAILED_DIR = "failed";
+
+    private final DataPrepOrchestrator orchestrator;
+    private final Config config;
+    private final Duration settleTime;
+    private final Path inbox;
+    private final Path doneDir;
+    private final Path failedDir;
+    private final WatchService watchService;
+
+    private final Map<Path, Observation> pending = new LinkedHashMap<>();
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    private record Observation(long size, FileTime modified, long observedAtNanos) {
+    }
+
+    public WatchFolderDaemon(DataPrepOrchestrator orchestrator, Config config) throws IOException {
+        this(orchestrator, config, DEFAULT_SETTLE_TIME);
+    }
+
+    /**
+     * @param orchestrator Shared single-file pipeline
+     * @param config       {@code inputFile} is the inbox directory, {@code outputFile} the output directory
+     * @param settleTime   Quiet period a file must have before it is picked up
+     */
+    public WatchFolderDaemon(DataPrepOrchestrator orchestrator, Config config, Duration settleTime) throws IOException {
+        if (!Files.isDirectory(config.inputFile())) {
+            throw new IllegalArgumentException("Watch inbox must be a directory: " + config.inputFile().toAbsolutePath());
+        }
+        this.orchestrator = orchestrator;
+        this.config = config;
+        this.settleTime = settleTime;
+        this.inbox = config.inputFile();
+        this.doneDir = inbox.resolve(DONE_DIR);
+        this.failedDir = inbox.resolve(FAILED_DIR);
+        checkOutputDirectory(config.outputFile());
+
+        Files.createDirectories(config.outputFile());
+        Files.createDirectories(doneDir);
+        Files.createDirectories(failedDir);
+
+        this.watchService = inbox.getFileSystem().newWatchService();
+        inbox.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+    }
+
+    /**
+     * Rejects an output directory that is the inbox or one of its {@code done} / {@code failed}
+     * directories: outputs keep the input file name, so they would overwrite their own input
+     * or be overwritten when it is moved there.
+     */
+    private void checkOutputDirectory(Path outputDir) {
+        Path target = outputDir.toAbsolutePath().normalize();
+        for (Path dir : new Path[]{inbox, doneDir, failedDir}) {
+            if (dir.toAbsolutePath().normalize().equals(target)) {
+                throw new IllegalArgumentException(
+                        "Watch output directory must differ from the inbox and its done/failed directories: " + target);
+            }
+        }
+    }
+
+    /**
+     * Processes files already in the inbox, then keeps watching until {@link #close()} is called.
+     * Files still being processed when the daemon is closed are allowed to finish.
+     */
+    public void run() throws IOException {
+        log.info("Watching inbox {} → {} (done: {}, failed: {})",
+                inbox.toAbsolutePath(), config.outputFile().toAbsolutePath(), doneDir, failedDir);
+
+        Semaphore permits = new Semaphore(config.maxConcurrentFiles());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            scanInbox();
+            while (running) {
+                WatchKey key;
+                try {
+                    key = watchService.poll(settleTime.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (ClosedWatchServiceException e) {
+                    break;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (key != null) {
+                    collectEvents(key);
+                }
+                submitSettledFiles(executor, permits);
+            }
+        }
+        log.info("Stopped watching {}", inbox.toAbsolutePath());
+    }
+
+    /**
+     * Stops the watch loop; {@link #run()} returns once in-flight files are done.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        watchService.close();
+    }
+
+    private void scanInbox() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(inbox)) {
+            for (Path file : stream) {
+                observe(file);
+            }
+        }
+    }
+
+    private void collectEvents(WatchKey key) throws IOException {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                log.warn("Watch events overflowed for {} — rescanning inbox", inbox);
+                scanInbox();
+                continue;
+            }
+            observe(inbox.resolve((Path) event.context()));
+        }
+        key.reset();
+    }
+
+    private void observe(Path file) throws IOException {
+        if (!BatchOrchestrator.isWorkbook(file) || inFlight.contains(file) || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            pending.put(file, new Observation(Files.size(file), Files.getLastModifiedTime(file), System.nanoTime()));
+        } catch (NoSuchFileException e) {
+            // Removed again before we could look at it
+        }
+    }
+
+    /**
+     * Hands over every pending file whose size and modification time have not changed since
+     * it was last observed at least {@code settleTime} ago; re-observes the others.
+     */
+    private void submitSettledFiles(ExecutorService executor, Semaphore permits) throws IOException {
+        var iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            Path file = entry.getKey();
+            Observation seen = entry.getValue();
+            if (!Files.isRegularFile(file)) {
+                iterator.remove();
+                continue;
+            }
+            if (System.nanoTime() - seen.observedAtNanos() < settleTime.toNanos()) {
+                continue;
+            }
+
+            long size;
+            FileTime modified;
+            try {
+                size = Files.size(file);
+                modified = Files.getLastModifiedTime(file);
+            } catch (NoSuchFileException e) {
+                iterator.remove();
+                continue;
+            }
+            if (size != seen.size() || !modified.equals(seen.modified())) {
+                entry.setValue(new Observation(size, modified, System.nanoTime()));
+                continue;
+            }
+
+            iterator.remove();
+            inFlight.add(file);
+            executor.submit(() -> processWithPermit(file, permits));
+        }
+    }
+
+    private void processWithPermit(Path file, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.remove(file);
+            return;
+        }
+        try {
+            process(file);
+        } finally {
+            permits.release();
+            inFlight.remove(file);
+        }
+    }
+
+    private void process(Path file) {
+        Path output = BatchOrchestrator.outputFileFor(file, config.outputFile());
+        try {
+            PipelineResult result = orchestrator.execute(config.withFiles(file, output));
+            moveTo(file, doneDir);
+            log.info("Inbox: {} processed — {} sheet(s), {} row(s) in {} ms",
+                    file.getFileName(), result.sheetCount(), result.rowCount(), result.elapsed().toMillis());
+        } catch (Exception e) {
+            log.error("Inbox: {} failed — moving to {}", file.getFileName(), failedDir, e);
+            try {
+                moveTo(file, failedDir);
+            } catch (IOException moveFailure) {
+                log.error("Inbox: could not move {} to {}", file.getFileName(), failedDir, moveFailure);
+            }
+        }
+    }
+
+    private static void moveTo(Path file, Path dir) throws IOException {
+        Files.move(file, dir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,185 @@
+package com.originspecs.dataprep.processor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.originspecs.dataprep.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolved header labels keyed by a column's header stack: its raw header cells from top to
+ * bottom, with {@code ""} for a missing cell.
+ *
+ * <p>MLIT workbooks repeat the same header block on every sheet and in every file of a
+ * release, so after the first sheet nearly every column is a hit. One cache is shared by all
+ * sheets, files and batch workers that use the same {@link HeaderResolver}; it must only be
+ * shared between resolvers with the same permitted headers.
+ *
+ * <p>Bounded by {@code maxEntries}: a miss that finds the cache full clears it before adding
+ * its entry. Hits and misses are counted in a {@link MetricsRegistry} as
+ * {@value #HITS} and {@value #MISSES}.
+ *
+ * <p>{@link #save} and {@link #load} persist the labels as JSON, tagged with a fingerprint of
+ * the reference data they were resolved with, so a later run starts warm.
+ *
+ * <p>Thread-safe. Two threads missing on the same stack may both resolve it; the results are
+ * equal.
+ */
+@Slf4j
+public final class HeaderLabelCache {
+
+    /** Entries kept when no bound is given; far more than the distinct stacks of a release. */
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    public static final String HITS = "headers.labelCacheHits";
+    public static final String MISSES = "headers.labelCacheMisses";
+
+    /** Bumped whenever header resolution changes in a way the reference fingerprint cannot see. */
+    static final String FILE_VERSION = "dataprep-header-labels-v1";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int maxEntries;
+    private final MetricsRegistry metrics;
+    private final Map<List<String>, String> labels = new ConcurrentHashMap<>();
+    // Set when a label is added, cleared by save()
+    private volatile boolean changed;
+
+    /** On-disk form of the cache. */
+    private record Snapshot(String version, String referenceFingerprint, List<Entry> labels) {
+    }
+
+    private record Entry(List<String> stack, String label) {
+    }
+
+    /** Creates a cache of {@value #DEFAULT_MAX_ENTRIES} entries counting into its own registry. */
+    public HeaderLabelCache() {
+        this(DEFAULT_MAX_ENTRIES, new MetricsRegistry());
+    }
+
+    /**
+     * @param maxEntries Header stacks kept before the cache is cleared
+     * @param metrics    Registry that counts hits and misses
+     */
+    public HeaderLabelCache(int maxEntries, MetricsRegistry metrics) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1, got: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the cached label of {@code stack}, resolving and caching it on a miss.
+     *
+     * @param stack   The column's raw header cells, top to bottom; must not be modified afterwards
+     * @param resolve Computes the label on a miss
+     */
+    String get(List<String> stack, Function<List<String>, String> resolve) {
+        String label = labels.get(stack);
+        if (label != null) {
+            metrics.increment(HITS);
+            return label;
+        }
+        metrics.increment(MISSES);
+        label = resolve.apply(stack);
+        if (labels.size() >= maxEntries) {
+            labels.clear();
+        }
+        labels.put(stack, label);
+        changed = true;
+        return label;
+    }
+
+    /**
+     * Adds the labels that {@link #save} wrote to {@code file}, up to {@code maxEntries}.
+     * A missing file, or one saved by another file version or for other reference data, adds
+     * nothing.
+     *
+     * @param referenceFingerprint Fingerprint of the reference data this cache resolves with
+     * @return Labels added
+     * @throws IOException if the file exists but cannot be read or parsed
+     */
+    public int load(Path file, String referenceFingerprint) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        Snapshot snapshot;
+        try {
+            snapshot = MAPPER.readValue(file.toFile(), Snapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IOException("Malformed header label file " + file + ": " + e.getOriginalMessage(), e);
+        }
+        if (!FILE_VERSION.equals(snapshot.version())
+                || !referenceFingerprint.equals(snapshot.referenceFingerprint())
+                || snapshot.labels() == null) {
+            log.info("Header label cache: {} was saved by another version or for other reference data, ignoring it", file);
+            return 0;
+        }
+        int added = 0;
+        for (Entry entry : snapshot.labels()) {
+            if (labels.size() >= maxEntries) {
+                break;
+            }
+            if (entry.stack() != null && entry.label() != null
+                    && labels.putIfAbsent(List.copyOf(entry.stack()), entry.label()) == null) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Writes every cached label to {@code file}, tagged with {@code referenceFingerprint}, if a
+     * label was added since the last save. The file is written under a temporary name and moved
+     * into place, so {@link #load} never sees a partial file.
+     */
+    public synchronized void save(Path file, String referenceFingerprint) throws IOException {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+        List<Entry> entries = labels.entrySet().stream()
+                .map(entry -> new Entry(entry.getKey(), entry.getValue()))
+                .toList();
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            MAPPER.writeValue(temp.toFile(), new Snapshot(FILE_VERSION, referenceFingerprint, entries));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            changed = true;
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    public long hits() {
+        return metrics.get(HITS);
+    }
+
+    public long misses() {
+        return metrics.get(MISSES);
+    }
+
+    /** Share of lookups answered from the cache; 0 before the first lookup. */
+    public double hitRate() {
+        long hits = hits();
+        long lookups = hits + misses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /** Header stacks currently cached. */
+    public int size() {
+        return labels.size();
+    }
+}
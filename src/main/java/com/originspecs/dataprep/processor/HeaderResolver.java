@@ -20,11 +20,18 @@ import java.util.Map;
  *
  * <p>If no permitted headers map is provided (empty map), behaviour falls back to
  * the bottom-most non-empty value for every column.
+ *
+ * <p>A column's label depends only on its stack of raw header cells, so labels are memoised
+ * in a {@link HeaderLabelCache} keyed by that stack. Warnings are therefore logged only the
+ * first time a stack is seen.
+ *
+ * <p>Instances are thread-safe and may be shared between concurrently processed sheets.
  */
 @Slf4j
 public class HeaderResolver {
 
     private final Map<String, String> permittedHeaders;
+    private final HeaderLabelCache cache;
 
     /**
      * Creates a resolver that matches and translates using the given permitted headers map.
@@ -32,10 +39,25 @@ public class HeaderResolver {
      * @param permittedHeaders Map of Japanese label → English label loaded from permittedHeaders.csv
      */
     public HeaderResolver(Map<String, String> permittedHeaders) {
-        this.permittedHeaders = permittedHeaders;
+        this(permittedHeaders, new HeaderLabelCache());
+    }
+
+    /**
+     * Creates a resolver that memoises labels in {@code cache}.
+     *
+     * @param permittedHeaders Map of Japanese label → English label loaded from permittedHeaders.csv
+     * @param cache            Label cache, only shared with resolvers of the same permitted headers
+     */
+    public HeaderResolver(Map<String, String> permittedHeaders, HeaderLabelCache cache) {
+        this.permittedHeaders = Map.copyOf(permittedHeaders);
+        this.cache = cache;
         log.debug("HeaderResolver initialised with {} permitted header entries", permittedHeaders.size());
     }
 
+    public HeaderLabelCache cache() {
+        return cache;
+    }
+
     /**
      * Resolves a single header label for each column in {@code columnsToKeep}.
      *
@@ -47,22 +69,32 @@ public class HeaderResolver {
         List<String> resolved = new ArrayList<>(columnsToKeep.size());
 
         for (int colIndex : columnsToKeep) {
-            resolved.add(resolveColumn(rawHeaderRows, colIndex));
+            resolved.add(cache.get(headerStack(rawHeaderRows, colIndex), stack -> resolveColumn(stack, colIndex)));
         }
 
         log.debug("Resolved {} header labels from {} header row(s)", resolved.size(), rawHeaderRows.size());
         return resolved;
     }
 
-    private String resolveColumn(List<List<String>> rawHeaderRows, int colIndex) {
+    /** The column's raw header cells, top to bottom; {@code ""} where a header row is too short. */
+    private static List<String> headerStack(List<List<String>> rawHeaderRows, int colIndex) {
+        String[] stack = new String[rawHeaderRows.size()];
+        for (int rowIdx = 0; rowIdx < stack.length; rowIdx++) {
+            List<String> headerRow = rawHeaderRows.get(rowIdx);
+            stack[rowIdx] = colIndex < headerRow.size() ? headerRow.get(colIndex) : "";
+        }
+        return List.of(stack);
+    }
+
+    /**
+     * Resolves one column from its header stack. {@code colIndex} is only used in warnings.
+     */
+    private String resolveColumn(List<String> stack, int colIndex) {
         String fallback = "";
 
         // Scan bottom-to-top (most specific label first)
-        for (int rowIdx = rawHeaderRows.size() - 1; rowIdx >= 0; rowIdx--) {
-            List<String> headerRow = rawHeaderRows.get(rowIdx);
-            if (colIndex >= headerRow.size()) continue;
-
-            String raw = headerRow.get(colIndex).trim();
+        for (int rowIdx = stack.size() - 1; rowIdx >= 0; rowIdx--) {
+            String raw = stack.get(rowIdx).trim();
             if (raw.isEmpty()) continue;
 
             // Normalise embedded newlines/whitespace so multi-line XLS cells match clean CSV keys
@@ -79,7 +111,7 @@ public class HeaderResolver {
         }
 
         if (fallback.isEmpty()) {
-            log.warn("Column {}: no header label found in {} header row(s)", colIndex, rawHeaderRows.size());
+            log.warn("Column {}: no header label found in {} header row(s)", colIndex, stack.size());
         } else if (!permittedHeaders.isEmpty()) {
             log.warn("Column {}: no permitted match found for '{}' — using as-is (add to permittedHeaders.csv if needed)",
                     colIndex, fallback);
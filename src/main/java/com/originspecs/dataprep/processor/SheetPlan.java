@@ -0,0 +1,30 @@
+package com.originspecs.dataprep.processor;
+
+import java.util.List;
+
+/**
+ * What {@link WorkBookProcessor} decided for one sheet: which source columns survive, in
+ * which order, under which resolved headers, and how far group columns are filled down.
+ *
+ * <p>Computed from a sheet's header rows and column statistics alone, so it can be fixed
+ * before any data row is projected — see {@link WorkBookProcessor#plan}.
+ *
+ * @param sheetName        Sheet name, used in log messages
+ * @param headers          Final, de-duplicated English headers, one per output column
+ * @param sourceColumns    Source column index of each output column (parallel to {@code headers})
+ * @param lastDataRowIndex Index of the last data row; group columns are not filled below it
+ */
+public record SheetPlan(String sheetName, List<String> headers, List<Integer> sourceColumns, int lastDataRowIndex) {
+
+    public SheetPlan {
+        headers = List.copyOf(headers);
+        sourceColumns = List.copyOf(sourceColumns);
+    }
+
+    /**
+     * Starts projecting this sheet's data rows, from the first one.
+     */
+    public SheetProjection projection() {
+        return new SheetProjection(this);
+    }
+}
@@ -0,0 +1,80 @@
+package com.originspecs.dataprep.processor;
+
+import com.originspecs.dataprep.config.Constants;
+import com.originspecs.dataprep.model.RowData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies a {@link SheetPlan} to a sheet's data rows one at a time, in sheet order: each
+ * row is projected onto the kept columns, then Car Name and Common Name are filled down.
+ *
+ * <p><b>Car Name</b> — the brand value (e.g. スバル) is propagated to every valid data row
+ * in the sheet. There is typically only one brand per sheet.
+ *
+ * <p><b>Common Name</b> — the model name (e.g. フォレスター) is propagated downward row by
+ * row, resetting whenever a new non-empty model name is encountered. This ensures every
+ * variant row within a model group is labelled.
+ *
+ * <p>Fill stops at {@link SheetPlan#lastDataRowIndex()}, so trailing footnote / annotation
+ * rows are not touched.
+ *
+ * <p>Carries fill-down state from row to row: use one instance per pass over a sheet.
+ */
+public final class SheetProjection {
+
+    private final List<Integer> sourceColumns;
+    private final int carNameIndex;
+    private final int commonNameIndex;
+    private final int lastDataRowIndex;
+
+    private int rowIndex;
+    private String lastCarName = "";
+    private String lastCommonName = "";
+
+    SheetProjection(SheetPlan plan) {
+        this.sourceColumns = plan.sourceColumns();
+        this.carNameIndex = plan.headers().indexOf(Constants.CAR_NAME_EN);
+        this.commonNameIndex = plan.headers().indexOf(Constants.COMMON_NAME_EN);
+        this.lastDataRowIndex = plan.lastDataRowIndex();
+    }
+
+    /**
+     * Projects and fills down the next data row of the sheet.
+     *
+     * @param row The raw data row, with cells at their source column indices
+     * @return A new row with one cell per planned output column
+     */
+    public RowData apply(RowData row) {
+        List<String> values = row.getCellValues();
+        List<String> cells = new ArrayList<>(sourceColumns.size());
+        for (Integer index : sourceColumns) {
+            cells.add(index < values.size() ? values.get(index) : "");
+        }
+
+        boolean isDataRow = rowIndex++ <= lastDataRowIndex;
+        if (carNameIndex >= 0) {
+            lastCarName = fillDown(cells, carNameIndex, lastCarName, isDataRow);
+        }
+        if (commonNameIndex >= 0) {
+            lastCommonName = fillDown(cells, commonNameIndex, lastCommonName, isDataRow);
+        }
+        return new RowData(cells);
+    }
+
+    /**
+     * Fills {@code cells[index]} from {@code last} if it is blank, and returns the value to
+     * carry to the next row.
+     */
+    private static String fillDown(List<String> cells, int index, String last, boolean isDataRow) {
+        String value = cells.get(index).trim();
+        if (!value.isEmpty()) {
+            return value;
+        }
+        if (isDataRow && !last.isEmpty()) {
+            cells.set(index, last);
+        }
+        return last;
+    }
+}
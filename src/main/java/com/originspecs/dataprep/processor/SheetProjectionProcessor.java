@@ -0,0 +1,113 @@
+package com.originspecs.dataprep.processor;
+
+import com.originspecs.dataprep.model.RowData;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link SheetProjection} as a reactive stage: raw data rows of one sheet in, projected
+ * and filled-down rows out.
+ *
+ * <p>Each input row yields exactly one output row, so demand is passed upstream unchanged
+ * and the processor holds no rows of its own. It serves a single pass over a single sheet:
+ * it accepts one upstream subscription and one subscriber, and a second subscriber is
+ * rejected with {@link IllegalStateException}.
+ */
+public final class SheetProjectionProcessor implements Flow.Processor<RowData, RowData> {
+
+    private final SheetProjection projection;
+    private final CompletableFuture<Flow.Subscription> upstream = new CompletableFuture<>();
+
+    private Flow.Subscriber<? super RowData> downstream;
+    // Completion or failure that arrived before the subscriber did
+    private boolean completed;
+    private Throwable failure;
+
+    /**
+     * @param projection Projection for a new pass over the sheet, e.g. {@link SheetPlan#projection()}
+     */
+    public SheetProjectionProcessor(SheetProjection projection) {
+        this.projection = projection;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super RowData> subscriber) {
+        synchronized (this) {
+            if (downstream != null) {
+                subscriber.onSubscribe(new CancelledSubscription());
+                subscriber.onError(new IllegalStateException("SheetProjectionProcessor accepts only one subscriber"));
+                return;
+            }
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                upstream.thenAccept(subscription -> subscription.request(n));
+            }
+
+            @Override
+            public void cancel() {
+                upstream.thenAccept(Flow.Subscription::cancel);
+            }
+        });
+
+        synchronized (this) {
+            if (failure != null) {
+                subscriber.onError(failure);
+            } else if (completed) {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (!upstream.complete(subscription)) {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(RowData row) {
+        // Rows only arrive on demand, which only the subscriber can signal
+        RowData projected;
+        try {
+            projected = projection.apply(row);
+        } catch (RuntimeException e) {
+            upstream.thenAccept(Flow.Subscription::cancel);
+            onError(e);
+            return;
+        }
+        downstream.onNext(projected);
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable) {
+        if (downstream != null) {
+            downstream.onError(throwable);
+        } else {
+            failure = throwable;
+        }
+    }
+
+    @Override
+    public synchronized void onComplete() {
+        if (downstream != null) {
+            downstream.onComplete();
+        } else {
+            completed = true;
+        }
+    }
+
+    private static final class CancelledSubscription implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
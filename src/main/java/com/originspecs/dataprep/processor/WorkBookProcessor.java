@@ -1,7 +1,16 @@
 package com.originspecs.dataprep.processor;
 
 import com.originspecs.dataprep.config.Constants;
+import com.originspecs.dataprep.metrics.ColumnThresholdEvent;
+import com.originspecs.dataprep.metrics.DedupEvent;
+import com.originspecs.dataprep.metrics.FillDownEvent;
+import com.originspecs.dataprep.metrics.HeaderResolutionEvent;
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.metrics.Stage;
+import com.originspecs.dataprep.metrics.StageTimer;
+import com.originspecs.dataprep.model.ColumnStatistics;
 import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.RowStorage;
 import com.originspecs.dataprep.model.WorkBookData;
 import com.originspecs.dataprep.model.WorkSheetData;
 import lombok.extern.slf4j.Slf4j;
@@ -12,25 +21,54 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 @Slf4j
 public class WorkBookProcessor {
 
     private final HeaderResolver headerResolver;
+    private final int parallelism;
 
     /**
      * Creates a processor with the given permitted headers map.
      * Use {@link com.originspecs.dataprep.config.PermittedHeadersBuilder} to load the map.
      */
     public WorkBookProcessor(Map<String, String> permittedHeaders) {
-        this.headerResolver = new HeaderResolver(permittedHeaders);
+        this(permittedHeaders, 1);
+    }
+
+    /**
+     * Creates a processor that processes up to {@code parallelism} worksheets concurrently.
+     *
+     * @param permittedHeaders Map of Japanese label → English label
+     * @param parallelism      Number of sheets processed at once; 1 processes them sequentially
+     */
+    public WorkBookProcessor(Map<String, String> permittedHeaders, int parallelism) {
+        this(new HeaderResolver(permittedHeaders), parallelism);
     }
 
     /**
      * Creates a processor with an injected {@link HeaderResolver} (for testing).
      */
     public WorkBookProcessor(HeaderResolver headerResolver) {
+        this(headerResolver, 1);
+    }
+
+    /**
+     * Creates a processor that resolves headers with {@code headerResolver}, e.g. one whose
+     * {@link HeaderLabelCache} is shared, and processes up to {@code parallelism} worksheets
+     * concurrently.
+     */
+    public WorkBookProcessor(HeaderResolver headerResolver, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, got: " + parallelism);
+        }
         this.headerResolver = headerResolver;
+        this.parallelism = parallelism;
     }
 
     /**
@@ -41,34 +79,174 @@ public class WorkBookProcessor {
      * </ol>
      * Returns a new WorkBookData — the input is never mutated.
      *
+     * <p>Sheets are independent, so with a parallelism above 1 each sheet is processed as
+     * its own task on a fork-join pool. Output sheets are always in input order.
+     *
      * @param workBook        The workbook to process
      * @param columnThreshold Minimum fill ratio (0.0–1.0) required to keep a column
      * @return New WorkBookData with sparse columns removed and headers resolved
      */
     public WorkBookData process(WorkBookData workBook, double columnThreshold) {
+        return process(workBook, columnThreshold, RunMetrics.NONE);
+    }
+
+    /**
+     * Processes a workbook as {@link #process(WorkBookData, double)} does, recording a
+     * {@link Stage#PROCESS} sample per sheet into {@code metrics}. Each sample is measured on
+     * the thread that processed the sheet.
+     *
+     * @param workBook        The workbook to process
+     * @param columnThreshold Minimum fill ratio (0.0–1.0) required to keep a column
+     * @param metrics         Run to record per-sheet samples into
+     * @return New WorkBookData with sparse columns removed and headers resolved
+     */
+    public WorkBookData process(WorkBookData workBook, double columnThreshold, RunMetrics metrics) {
         log.info("Processing workbook '{}' with column threshold: {}",
                 workBook.getFileName(), columnThreshold);
 
         WorkBookData processed = new WorkBookData();
         processed.setFileName(workBook.getFileName());
         processed.setWorksheetCount(workBook.getWorksheetCount());
+        processed.setFormulaStatistics(workBook.getFormulaStatistics());
+
+        List<WorkSheetData> sheets = workBook.getWorksheets();
+        if (parallelism == 1 || sheets.size() < 2) {
+            try {
+                for (WorkSheetData sheet : sheets) {
+                    processed.getWorksheets().add(applyColumnThreshold(sheet, columnThreshold, metrics));
+                }
+            } catch (RuntimeException e) {
+                // Spilled and off-heap rows of the sheets processed so far are not reachable by the caller
+                RowStorage.release(processed);
+                throw e;
+            }
+        } else {
+            processed.getWorksheets().addAll(processInParallel(sheets, columnThreshold, metrics));
+        }
+
+        return processed;
+    }
+
+    /**
+     * Runs {@link #applyColumnThreshold} for every sheet on a pool of {@code parallelism}
+     * workers and collects the results in input order. A failure in any sheet is rethrown
+     * unchanged once all tasks have finished, after releasing the rows of the sheets that
+     * succeeded.
+     */
+    private List<WorkSheetData> processInParallel(List<WorkSheetData> sheets, double columnThreshold,
+                                                   RunMetrics metrics) {
+        int workers = Math.min(parallelism, sheets.size());
+        log.debug("Processing {} sheet(s) on {} worker(s)", sheets.size(), workers);
+
+        List<Callable<WorkSheetData>> tasks = new ArrayList<>(sheets.size());
+        for (WorkSheetData sheet : sheets) {
+            tasks.add(() -> applyColumnThreshold(sheet, columnThreshold, metrics));
+        }
+
+        List<WorkSheetData> results = new ArrayList<>(sheets.size());
+        try (ExecutorService pool = new ForkJoinPool(workers)) {
+            ExecutionException failure = null;
+            for (Future<WorkSheetData> future : pool.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    failure = failure != null ? failure : e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            results.forEach(sheet -> RowStorage.release(sheet.getRows()));
+            throw new IllegalStateException("Interrupted while processing worksheets", e);
+        } catch (ExecutionException e) {
+            // Rows of the sheets that succeeded are not reachable by the caller
+            results.forEach(sheet -> RowStorage.release(sheet.getRows()));
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException("Worksheet processing failed", e.getCause());
+        }
+    }
 
-        for (WorkSheetData sheet : workBook.getWorksheets()) {
-            processed.getWorksheets().add(applyColumnThreshold(sheet, columnThreshold));
+    private WorkSheetData applyColumnThreshold(WorkSheetData sheet, double threshold, RunMetrics metrics) {
+        StageTimer timer = metrics.start(Stage.PROCESS, sheet.getName());
+
+        // Steps 1–5: decide columns and headers from the fill statistics collected by the reader
+        //            (computed here only if the sheet has none)
+        ColumnStatistics statistics = statisticsFor(sheet);
+        SheetPlan plan = plan(sheet, statistics, threshold);
+
+        // Step 6: project every row onto the kept columns and fill down Car Name and Common Name
+        FillDownEvent fillDown = new FillDownEvent();
+        fillDown.begin();
+        SheetProjection projection = plan.projection();
+        List<RowData> rows = RowStorage.newRowListLike(sheet.getRows());
+        try {
+            for (RowData row : sheet.getRows()) {
+                rows.add(projection.apply(row));
+            }
+        } catch (RuntimeException e) {
+            RowStorage.release(rows);
+            throw e;
+        }
+        if (fillDown.shouldCommit()) {
+            fillDown.sheet = sheet.getName();
+            fillDown.rows = rows.size();
+            fillDown.columns = plan.headers().size();
+            fillDown.commit();
         }
 
+        WorkSheetData processed = new WorkSheetData();
+        processed.setName(sheet.getName());
+        processed.setIndex(sheet.getIndex());
+        processed.setOriginalRowCount(sheet.getOriginalRowCount());
+        processed.setOriginalColumnCount(sheet.getOriginalColumnCount());
+        processed.setHeaders(new ArrayList<>(plan.headers()));
+        processed.setRows(rows);
+        timer.stop(sheet.getRows().size(), rows.size(), sheet.getOriginalColumnCount(), plan.headers().size(), 0);
         return processed;
     }
 
-    private WorkSheetData applyColumnThreshold(WorkSheetData sheet, double threshold) {
+    /**
+     * Decides the output columns and headers of a sheet without touching its data rows, so
+     * callers can resolve headers up front and project rows as they arrive (see
+     * {@link SheetPlan#projection()}). Uses the sheet's name, raw header rows and original
+     * column count.
+     *
+     * @param sheet           The sheet outline; its rows are not read
+     * @param statistics      Fill statistics of all the sheet's data-section rows
+     * @param columnThreshold Minimum fill ratio (0.0–1.0) required to keep a column
+     */
+    public SheetPlan plan(WorkSheetData sheet, ColumnStatistics statistics, double columnThreshold) {
         // Step 1: locate the Car Name column — it is always kept regardless of fill ratio
         int carNameColIndex = findCarNameColumnIndex(sheet);
 
         // Step 2: determine which columns have enough data to keep
-        List<Integer> columnsToKeep = determineColumnsToKeep(sheet, threshold, carNameColIndex);
+        ColumnThresholdEvent thresholdEvent = new ColumnThresholdEvent();
+        thresholdEvent.begin();
+        List<Integer> columnsToKeep = determineColumnsToKeep(sheet, statistics, columnThreshold, carNameColIndex);
+        if (thresholdEvent.shouldCommit()) {
+            thresholdEvent.sheet = sheet.getName();
+            thresholdEvent.dataRows = statistics.rowCount();
+            thresholdEvent.columnsIn = sheet.getOriginalColumnCount();
+            thresholdEvent.columnsKept = columnsToKeep.size();
+            thresholdEvent.threshold = columnThreshold;
+            thresholdEvent.commit();
+        }
 
         // Step 3: resolve multi-row headers into a single label per remaining column
+        HeaderResolutionEvent resolutionEvent = new HeaderResolutionEvent();
+        resolutionEvent.begin();
         List<String> resolvedHeaders = headerResolver.resolve(sheet.getRawHeaderRows(), columnsToKeep);
+        if (resolutionEvent.shouldCommit()) {
+            resolutionEvent.sheet = sheet.getName();
+            resolutionEvent.headerRows = sheet.getRawHeaderRows().size();
+            resolutionEvent.columns = columnsToKeep.size();
+            resolutionEvent.labelsResolved = (int) resolvedHeaders.stream().filter(label -> !label.isEmpty()).count();
+            resolutionEvent.commit();
+        }
 
         // Step 4: drop columns whose resolved header is empty (e.g. spacer/footnote columns)
         List<Integer> namedColumns = new ArrayList<>();
@@ -85,27 +263,26 @@ public class WorkBookProcessor {
 
         // Step 5: resolve duplicates — for columns sharing the same label, keep the
         //         highest-fill column; if fills are similar, keep all with (2)/(3) suffix
+        DedupEvent dedupEvent = new DedupEvent();
+        dedupEvent.begin();
         List<Integer> finalColumns = new ArrayList<>();
         List<String> finalHeaders = new ArrayList<>();
-        resolveDuplicates(namedHeaders, namedColumns, sheet.getRows(), sheet.getName(),
+        resolveDuplicates(namedHeaders, namedColumns, statistics, sheet.getName(),
                 finalHeaders, finalColumns);
+        if (dedupEvent.shouldCommit()) {
+            dedupEvent.sheet = sheet.getName();
+            dedupEvent.columnsIn = namedColumns.size();
+            dedupEvent.columnsOut = finalColumns.size();
+            dedupEvent.commit();
+        }
 
-        // Step 6: fill down Car Name and Common Name so every data row is fully labelled.
-        //         Car Name fills to all data rows; Common Name fills until the next distinct value.
-        List<RowData> filteredRows = filterRows(sheet.getRows(), finalColumns);
-        List<RowData> filledRows = fillDownGroupColumns(finalHeaders, filteredRows, sheet.getName());
-
-        WorkSheetData processed = new WorkSheetData();
-        processed.setName(sheet.getName());
-        processed.setIndex(sheet.getIndex());
-        processed.setOriginalRowCount(sheet.getOriginalRowCount());
-        processed.setOriginalColumnCount(sheet.getOriginalColumnCount());
-        processed.setHeaders(finalHeaders);
-        processed.setRows(filledRows);
+        // Car Name fills to all data rows; Common Name fills until the next distinct value.
+        // Without data rows, every row is filled.
+        int lastDataRow = statistics.lastDataRowIndex() >= 0 ? statistics.lastDataRowIndex() : Integer.MAX_VALUE;
 
         log.info("Sheet '{}': {} columns → headers: {}",
                 sheet.getName(), finalHeaders.size(), finalHeaders);
-        return processed;
+        return new SheetPlan(sheet.getName(), finalHeaders, finalColumns, lastDataRow);
     }
 
     /**
@@ -135,16 +312,14 @@ public class WorkBookProcessor {
      *
      * @param headers     resolved header labels (parallel to colIndices)
      * @param colIndices  original column indices (before any row filtering)
-     * @param rows        raw data rows used to compute fill rates
+     * @param statistics  fill statistics of the raw data rows
      * @param sheetName   used in log messages
      * @param outHeaders  populated with the final de-duplicated labels
      * @param outCols     populated with the surviving column indices
      */
     private void resolveDuplicates(List<String> headers, List<Integer> colIndices,
-                                   List<RowData> rows, String sheetName,
+                                   ColumnStatistics statistics, String sheetName,
                                    List<String> outHeaders, List<Integer> outCols) {
-        int totalRows = rows.size();
-
         // Group positions by label (preserving insertion order)
         Map<String, List<Integer>> byLabel = new LinkedHashMap<>();
         for (int i = 0; i < headers.size(); i++) {
@@ -157,12 +332,13 @@ public class WorkBookProcessor {
             List<Integer> positions = entry.getValue();
             if (positions.size() <= 1) continue;
 
+            // Data-row fill rates keep trailing footnote rows from picking the "winner"
             double maxFill = positions.stream()
-                    .mapToDouble(i -> fillRate(rows, colIndices.get(i), totalRows))
+                    .mapToDouble(i -> statistics.dataRowFillRate(colIndices.get(i)))
                     .max().orElse(0);
 
             for (int pos : positions) {
-                double fill = fillRate(rows, colIndices.get(pos), totalRows);
+                double fill = statistics.dataRowFillRate(colIndices.get(pos));
                 if (maxFill > 0 && fill < maxFill * DEDUP_FILL_RATIO_THRESHOLD) {
                     toDrop.add(pos);
                     log.info("Sheet '{}': dropping duplicate column {} ('{}') — {}% fill vs {}% best fill",
@@ -189,136 +365,16 @@ public class WorkBookProcessor {
         }
     }
 
-    /**
-     * Minimum number of non-empty cells a row must have to be considered a
-     * "data row" for fill-rate comparison purposes. Rows below this threshold
-     * are treated as footnote, blank, or annotation rows and excluded from the
-     * fill-rate calculation used during duplicate header resolution.
-     *
-     * <p>Car-specification rows typically contain 7–10+ fields (model type,
-     * engine, weight, fuel economy…). Footnote rows contain 1–3 cells of free
-     * text. A threshold of 4 reliably separates the two.
-     */
-    private static final int DATA_ROW_MIN_CELLS = 4;
-
-    /**
-     * Calculates the fill rate for {@code colIndex} considering only rows
-     * that look like real data rows (have at least {@value DATA_ROW_MIN_CELLS}
-     * non-empty cells). This prevents trailing footnote/annotation rows from
-     * inflating the fill rate of certain columns and causing the wrong column
-     * to be selected as the "winner" during duplicate header resolution.
-     *
-     * <p>Falls back to the overall fill rate if no data rows are found.
-     */
-    private double fillRate(List<RowData> rows, int colIndex, int totalRows) {
-        if (totalRows == 0) return 0;
-
-        List<RowData> dataRows = rows.stream()
-                .filter(row -> nonEmptyCellCount(row) >= DATA_ROW_MIN_CELLS)
-                .toList();
-
-        if (dataRows.isEmpty()) {
-            return (double) countNonEmptyCells(rows, colIndex) / totalRows;
-        }
-
-        long nonEmptyInDataRows = dataRows.stream()
-                .filter(row -> !row.getCell(colIndex).trim().isEmpty())
-                .count();
-
-        return (double) nonEmptyInDataRows / dataRows.size();
-    }
-
-    private int nonEmptyCellCount(RowData row) {
-        int count = 0;
-        for (String cell : row.getCellValues()) {
-            if (!cell.trim().isEmpty()) count++;
-        }
-        return count;
-    }
-
-    /**
-     * Fills down the Car Name and Common Name columns so every data row carries
-     * an explicit value rather than relying on the "same as above" blank convention
-     * used in the source files.
-     *
-     * <p><b>Car Name</b> — the brand value (e.g. スバル) is propagated to every
-     * valid data row in the sheet. There is typically only one brand per sheet.
-     *
-     * <p><b>Common Name</b> — the model name (e.g. フォレスター) is propagated
-     * downward row by row, resetting whenever a new non-empty model name is
-     * encountered. This ensures every variant row within a model group is labelled.
-     *
-     * <p>Fill stops at the last valid data row (determined by
-     * {@link #DATA_ROW_MIN_CELLS}), so trailing footnote / annotation rows are
-     * not touched.
-     */
-    private List<RowData> fillDownGroupColumns(List<String> headers, List<RowData> rows, String sheetName) {
-        int carNameIdx   = headers.indexOf(Constants.CAR_NAME_EN);
-        int commonNameIdx = headers.indexOf(Constants.COMMON_NAME_EN);
-
-        if (carNameIdx < 0 && commonNameIdx < 0) return rows;
-
-        int lastDataRow = findLastDataRowIndex(rows);
-
-        String lastCarName    = "";
-        String lastCommonName = "";
-        List<RowData> result  = new ArrayList<>(rows.size());
-
-        for (int i = 0; i < rows.size(); i++) {
-            RowData row = rows.get(i);
-            boolean isDataRow = i <= lastDataRow;
-            List<String> cells = new ArrayList<>(row.getCellValues());
-
-            if (carNameIdx >= 0 && carNameIdx < cells.size()) {
-                String val = cells.get(carNameIdx).trim();
-                if (!val.isEmpty()) {
-                    lastCarName = val;
-                } else if (isDataRow && !lastCarName.isEmpty()) {
-                    cells.set(carNameIdx, lastCarName);
-                }
-            }
-
-            if (commonNameIdx >= 0 && commonNameIdx < cells.size()) {
-                String val = cells.get(commonNameIdx).trim();
-                if (!val.isEmpty()) {
-                    lastCommonName = val;
-                } else if (isDataRow && !lastCommonName.isEmpty()) {
-                    cells.set(commonNameIdx, lastCommonName);
-                }
-            }
-
-            result.add(new RowData(cells));
-        }
-
-        log.debug("Sheet '{}': fill-down applied to Car Name (col {}) and Common Name (col {}) through row {}",
-                sheetName, carNameIdx, commonNameIdx, lastDataRow);
-        return result;
-    }
-
-    /**
-     * Returns the index of the last row that has at least {@value DATA_ROW_MIN_CELLS}
-     * non-empty cells. Rows beyond this index are treated as footnote / annotation
-     * content and are excluded from fill-down propagation.
-     */
-    private int findLastDataRowIndex(List<RowData> rows) {
-        for (int i = rows.size() - 1; i >= 0; i--) {
-            if (nonEmptyCellCount(rows.get(i)) >= DATA_ROW_MIN_CELLS) {
-                return i;
-            }
-        }
-        return rows.size() - 1;
-    }
-
-    private List<Integer> determineColumnsToKeep(WorkSheetData sheet, double threshold, int protectedColIndex) {
-        int totalRows = sheet.getRows().size();
-        if (totalRows == 0) {
+    private List<Integer> determineColumnsToKeep(WorkSheetData sheet, ColumnStatistics statistics,
+                                                 double threshold, int protectedColIndex) {
+        if (statistics.rowCount() == 0) {
             log.warn("Sheet '{}' has no data rows, skipping column analysis", sheet.getName());
             return new ArrayList<>();
         }
 
         List<Integer> columnsToKeep = new ArrayList<>();
         for (int colIndex = 0; colIndex < sheet.getOriginalColumnCount(); colIndex++) {
-            double fillPercentage = (double) countNonEmptyCells(sheet.getRows(), colIndex) / totalRows;
+            double fillPercentage = statistics.fillRate(colIndex);
 
             if (colIndex == protectedColIndex) {
                 columnsToKeep.add(colIndex);
@@ -360,29 +416,13 @@ public class WorkBookProcessor {
         return -1;
     }
 
-    private int countNonEmptyCells(List<RowData> rows, int columnIndex) {
-        int count = 0;
-        for (RowData row : rows) {
-            if (!row.getCell(columnIndex).trim().isEmpty()) {
-                count++;
-            }
-        }
-        return count;
-    }
-
-    private List<String> filterByIndices(List<String> values, List<Integer> indicesToKeep) {
-        List<String> filtered = new ArrayList<>(indicesToKeep.size());
-        for (Integer index : indicesToKeep) {
-            filtered.add(index < values.size() ? values.get(index) : "");
-        }
-        return filtered;
-    }
-
-    private List<RowData> filterRows(List<RowData> rows, List<Integer> columnsToKeep) {
-        List<RowData> filtered = new ArrayList<>(rows.size());
-        for (RowData row : rows) {
-            filtered.add(new RowData(filterByIndices(row.getCellValues(), columnsToKeep)));
+    private ColumnStatistics statisticsFor(WorkSheetData sheet) {
+        ColumnStatistics statistics = sheet.getColumnStatistics();
+        if (statistics != null && statistics.rowCount() == sheet.getRows().size()) {
+            return statistics;
         }
-        return filtered;
+        log.debug("Sheet '{}': no column statistics from the reader, computing from {} rows",
+                sheet.getName(), sheet.getRows().size());
+        return ColumnStatistics.of(sheet.getRows());
     }
 }
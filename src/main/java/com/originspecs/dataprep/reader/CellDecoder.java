@@ -0,0 +1,116 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.config.FormulaStrategy;
+import com.originspecs.dataprep.model.FormulaStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hssf.record.RecalcIdRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes user-model cells to text for one workbook read, resolving formula cells according
+ * to a {@link FormulaStrategy} and counting which path each formula cell took.
+ *
+ * <p>Non-formula cells never touch the evaluator. The evaluator is created on first use and
+ * kept for the whole workbook, so results it computes for referenced cells are memoized
+ * across cells and sheets; with {@link FormulaStrategy#CACHED} it is never created.
+ *
+ * <p>Holds per-read state: use one instance per workbook read, on one thread.
+ */
+@Slf4j
+final class CellDecoder {
+
+    private final Workbook workbook;
+    private final CellTextFormatter formatter;
+    private final boolean evaluate;
+    private FormulaEvaluator evaluator;
+
+    private long cached;
+    private long evaluated;
+    private long failed;
+
+    CellDecoder(Workbook workbook, FormulaStrategy strategy) {
+        this.workbook = workbook;
+        this.formatter = new CellTextFormatter();
+        this.evaluate = switch (strategy) {
+            case CACHED -> false;
+            case EVALUATE -> true;
+            case AUTO -> storedResultsStale(workbook);
+        };
+    }
+
+    /**
+     * True if the workbook asks to be fully recalculated when opened, which writers set when
+     * they did not calculate the stored formula results.
+     *
+     * <p>For .xls the RECALCID record carries the flag as a zero calculation engine id.
+     * {@code HSSFWorkbook.getForceFormulaRecalculation()} reports the inverse of what its
+     * setter writes, so the record is read directly.
+     */
+    private static boolean storedResultsStale(Workbook workbook) {
+        if (workbook instanceof HSSFWorkbook hssf) {
+            Record recalcId = hssf.getInternalWorkbook().findFirstRecordBySid(RecalcIdRecord.sid);
+            return recalcId instanceof RecalcIdRecord record && record.getEngineId() == 0;
+        }
+        return workbook.getForceFormulaRecalculation();
+    }
+
+    /**
+     * Returns the stripped text of {@code cell}, or an empty string for a missing cell.
+     */
+    String decode(Cell cell) {
+        if (cell == null) {
+            return "";
+        }
+        if (cell.getCellType() != CellType.FORMULA) {
+            return formatter.format(cell, null).strip();
+        }
+        if (!evaluate) {
+            cached++;
+            return formatter.formatCached(cell).strip();
+        }
+
+        try {
+            String text = formatter.format(cell, evaluator()).strip();
+            evaluated++;
+            return text;
+        } catch (Exception e) {
+            failed++;
+            log.debug("Formula evaluation failed for cell [{},{}]: {} — using cached value",
+                    cell.getRowIndex(), cell.getColumnIndex(), e.getMessage());
+            return formatter.formatCached(cell).strip();
+        }
+    }
+
+    /**
+     * Decodes a row to stripped text, one entry per cell up to the last cell, with missing
+     * cells as empty strings. The returned list is mutable.
+     */
+    List<String> decodeRow(Row row) {
+        int lastCellNum = row.getLastCellNum();
+        List<String> cellValues = new ArrayList<>(Math.max(lastCellNum, 0));
+        for (int i = 0; i < lastCellNum; i++) {
+            cellValues.add(decode(row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL)));
+        }
+        return cellValues;
+    }
+
+    FormulaStatistics statistics() {
+        return new FormulaStatistics(cached, evaluated, failed);
+    }
+
+    private FormulaEvaluator evaluator() {
+        if (evaluator == null) {
+            evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        }
+        return evaluator;
+    }
+}
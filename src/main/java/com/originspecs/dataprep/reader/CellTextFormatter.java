@@ -0,0 +1,193 @@
+package com.originspecs.dataprep.reader;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Date1904Support;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.ExcelGeneralNumberFormat;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.util.LocaleUtil;
+
+import java.math.BigDecimal;
+import java.text.Format;
+import java.util.Arrays;
+
+/**
+ * Formats user-model cells to the same text as {@link DataFormatter#formatCellValue(Cell, FormulaEvaluator)},
+ * with the number format of each cell style compiled once per workbook.
+ *
+ * <p>{@code DataFormatter} looks up the style's format string, re-checks it for date
+ * patterns and looks its {@link Format} up by string for every numeric cell. Here each
+ * style index is classified the first time a numeric cell uses it:
+ * <ul>
+ *   <li><b>General</b> (and {@code @}) — formatted directly with a shared
+ *       {@link ExcelGeneralNumberFormat}, the same formatter {@code DataFormatter} uses.</li>
+ *   <li><b>Plain number pattern</b> — a single-section pattern such as {@code 0.0} or
+ *       {@code #,##0} with no colours, conditions, locale tags, fractions or scaling commas;
+ *       its {@link Format} is built once by {@code DataFormatter} and reused.</li>
+ *   <li><b>Anything else</b> (dates, multi-section and conditional formats) — delegated to
+ *       {@code DataFormatter}, which handles their value-dependent cases.</li>
+ * </ul>
+ * String, boolean, blank and error cells take direct paths that never touch the style.
+ *
+ * <p>Style indexes are per workbook, and the formatter keeps mutable caches: use one
+ * instance per workbook read, on one thread.
+ */
+final class CellTextFormatter {
+
+    private enum Kind { GENERAL, NUMBER, NO_FORMAT, DELEGATE }
+
+    private record CompiledStyle(Kind kind, Format format) {
+    }
+
+    private final DataFormatter delegate = new DataFormatter();
+    private final Format generalNumberFormat = new ExcelGeneralNumberFormat(LocaleUtil.getUserLocale());
+    private CompiledStyle[] compiledStyles = new CompiledStyle[64];
+
+    /**
+     * Returns the formatted value of {@code cell}; formula cells are evaluated with
+     * {@code evaluator}, or rendered as their formula text if it is {@code null}.
+     */
+    String format(Cell cell, FormulaEvaluator evaluator) {
+        if (cell == null) {
+            return "";
+        }
+
+        CellType cellType = cell.getCellType();
+        if (cellType == CellType.FORMULA) {
+            if (evaluator == null) {
+                return cell.getCellFormula();
+            }
+            cellType = evaluator.evaluateFormulaCell(cell);
+        }
+        return formatValue(cell, cellType, evaluator);
+    }
+
+    /**
+     * Returns the formatted value of {@code cell}, rendering formula cells from the result
+     * cached in the file — the text {@link #format} gives when evaluation reproduces that result.
+     */
+    String formatCached(Cell cell) {
+        if (cell == null) {
+            return "";
+        }
+
+        CellType cellType = cell.getCellType();
+        if (cellType == CellType.FORMULA) {
+            cellType = cell.getCachedFormulaResultType();
+        }
+        return formatValue(cell, cellType, null);
+    }
+
+    private String formatValue(Cell cell, CellType cellType, FormulaEvaluator evaluator) {
+        return switch (cellType) {
+            case NUMERIC -> formatNumeric(cell, evaluator);
+            case STRING -> cell.getRichStringCellValue().getString();
+            case BOOLEAN -> cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+            case BLANK -> "";
+            case ERROR -> FormulaError.forInt(cell.getErrorCellValue()).getString();
+            default -> throw new IllegalStateException("Unexpected celltype (" + cellType + ")");
+        };
+    }
+
+    private String formatNumeric(Cell cell, FormulaEvaluator evaluator) {
+        CellStyle style = cell.getCellStyle();
+        if (style == null) {
+            // DataFormatter treats a missing style like a blank format string
+            return Double.toString(cell.getNumericCellValue());
+        }
+
+        CompiledStyle compiled = compiledStyle(cell, style);
+        if (compiled.kind() == Kind.DELEGATE) {
+            return delegateNumeric(cell, style, evaluator);
+        }
+
+        double value = cell.getNumericCellValue();
+        if (compiled.kind() == Kind.NO_FORMAT) {
+            return Double.toString(value);
+        }
+        return formatNumber(compiled.format(), value);
+    }
+
+    private String delegateNumeric(Cell cell, CellStyle style, FormulaEvaluator evaluator) {
+        if (cell.getCellType() != CellType.FORMULA) {
+            return delegate.formatCellValue(cell);
+        }
+        if (evaluator != null) {
+            // The evaluator has memoized this cell's result, so this does not recalculate it
+            return delegate.formatCellValue(cell, evaluator);
+        }
+        return delegate.formatRawCellContents(cell.getNumericCellValue(), style.getDataFormat(),
+                style.getDataFormatString(), isDate1904(cell));
+    }
+
+    private static boolean isDate1904(Cell cell) {
+        return cell.getSheet().getWorkbook() instanceof Date1904Support support && support.isDate1904();
+    }
+
+    /**
+     * Same steps as {@code DataFormatter} for a non-scaling number format.
+     */
+    private static String formatNumber(Format format, double value) {
+        String formatted;
+        try {
+            formatted = format.format(BigDecimal.valueOf(value));
+        } catch (NumberFormatException e) {
+            formatted = format.format(value);
+        }
+        // Match Excel's E-notation, as DataFormatter does
+        return formatted.indexOf('E') < 0 ? formatted : formatted.replaceFirst("E(\\d)", "E+$1");
+    }
+
+    private CompiledStyle compiledStyle(Cell cell, CellStyle style) {
+        int index = style.getIndex() & 0xFFFF;
+        if (index >= compiledStyles.length) {
+            compiledStyles = Arrays.copyOf(compiledStyles, Math.max(index + 1, compiledStyles.length * 2));
+        }
+        CompiledStyle compiled = compiledStyles[index];
+        if (compiled == null) {
+            compiled = compile(cell, style);
+            compiledStyles[index] = compiled;
+        }
+        return compiled;
+    }
+
+    private CompiledStyle compile(Cell cell, CellStyle style) {
+        int formatIndex = style.getDataFormat();
+        String formatString = style.getDataFormatString();
+
+        if (formatString == null || formatString.isBlank()) {
+            return new CompiledStyle(Kind.NO_FORMAT, null);
+        }
+        if ("General".equalsIgnoreCase(formatString) || "@".equals(formatString)) {
+            return new CompiledStyle(Kind.GENERAL, generalNumberFormat);
+        }
+        if (isPlainNumberPattern(formatIndex, formatString)) {
+            // Value-independent for plain patterns, so the first cell's Format serves the style
+            Format format = delegate.createFormat(cell);
+            if (format != null) {
+                return new CompiledStyle(Kind.NUMBER, format);
+            }
+        }
+        return new CompiledStyle(Kind.DELEGATE, null);
+    }
+
+    /**
+     * True for single-section number patterns whose {@link Format} does not depend on the
+     * cell value and needs none of the special handling {@code DataFormatter} applies to
+     * colours, conditions, locales, escaped percent signs, fractions and scaling commas.
+     */
+    private static boolean isPlainNumberPattern(int formatIndex, String formatString) {
+        return !DateUtil.isADateFormat(formatIndex, formatString)
+                && formatString.indexOf(';') < 0
+                && formatString.indexOf('[') < 0
+                && !formatString.contains("\\%")
+                && !formatString.contains("#/")
+                && !formatString.contains("?/")
+                && !formatString.endsWith(",")
+                && formatString.chars().anyMatch(ch -> ch == '0' || ch == '#');
+    }
+}
@@ -0,0 +1,166 @@
+package com.originspecs.dataprep.reader;
+
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Read-only shared-strings table for the streaming XLSX reader that never holds the
+ * table as {@code String} objects.
+ *
+ * <p>Entries are parsed with SAX and appended to a single UTF-8 byte arena with an
+ * {@code int} offset index; a {@link RichTextString} is only created when a cell actually
+ * asks for an entry. For the mostly-Japanese MLIT tables this is a fraction of the heap
+ * POI's {@code ReadOnlySharedStringsTable} needs, which keeps every entry as a
+ * {@code String} in an {@code ArrayList}.
+ *
+ * <p>Like the user model, phonetic runs ({@code <rPh>}) are excluded from the text.
+ */
+final class CompactSharedStrings implements SharedStrings {
+
+    private static final String NS_SPREADSHEETML = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private byte[] arena = new byte[8192];
+    private int arenaSize;
+    private int[] offsets = new int[1024];
+    private int uniqueCount;
+    private int count;
+
+    private CompactSharedStrings() {
+    }
+
+    /** Returns an empty table, for workbooks that have no shared-strings part. */
+    static CompactSharedStrings empty() {
+        return new CompactSharedStrings();
+    }
+
+    /**
+     * Parses the given shared-strings part.
+     */
+    static CompactSharedStrings load(PackagePart part) throws IOException, SAXException {
+        CompactSharedStrings strings = new CompactSharedStrings();
+        try (InputStream is = part.getInputStream()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(strings.new SstHandler());
+            parser.parse(new InputSource(is));
+        } catch (ParserConfigurationException e) {
+            throw new IOException("SAX parser appears to be broken - " + e.getMessage(), e);
+        }
+        return strings;
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        if (idx < 0 || idx >= uniqueCount) {
+            throw new IndexOutOfBoundsException("Shared string index " + idx + " out of range 0-" + (uniqueCount - 1));
+        }
+        int start = offsets[idx];
+        int end = idx + 1 < uniqueCount ? offsets[idx + 1] : arenaSize;
+        return new XSSFRichTextString(new String(arena, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    /** Bytes retained by the arena and index, for diagnostics. */
+    long retainedBytes() {
+        return (long) arena.length + (long) offsets.length * Integer.BYTES;
+    }
+
+    private void append(CharSequence text) {
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        if (uniqueCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        if (arenaSize + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + bytes.length));
+        }
+        offsets[uniqueCount++] = arenaSize;
+        System.arraycopy(bytes, 0, arena, arenaSize, bytes.length);
+        arenaSize += bytes.length;
+    }
+
+    private void trimToSize() {
+        arena = Arrays.copyOf(arena, arenaSize);
+        offsets = Arrays.copyOf(offsets, uniqueCount);
+    }
+
+    /**
+     * Collects the text of each {@code <si>} entry: the {@code <t>} of a plain entry or the
+     * concatenated {@code <t>} of its rich-text runs, skipping phonetic runs.
+     */
+    private class SstHandler extends DefaultHandler {
+
+        private final StringBuilder text = new StringBuilder(64);
+        private boolean inText;
+        private boolean inPhonetic;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (uri != null && !uri.equals(NS_SPREADSHEETML)) {
+                return;
+            }
+            switch (localName) {
+                case "sst" -> {
+                    String countAttr = attributes.getValue("count");
+                    if (countAttr != null) {
+                        count = Integer.parseInt(countAttr);
+                    }
+                    String uniqueAttr = attributes.getValue("uniqueCount");
+                    if (uniqueAttr != null) {
+                        offsets = new int[Math.max(Integer.parseInt(uniqueAttr), 1)];
+                    }
+                }
+                case "si" -> text.setLength(0);
+                case "rPh" -> inPhonetic = true;
+                case "t" -> inText = !inPhonetic;
+                default -> {
+                    // Run properties and phonetic settings carry no text
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (uri != null && !uri.equals(NS_SPREADSHEETML)) {
+                return;
+            }
+            switch (localName) {
+                case "si" -> append(text);
+                case "rPh" -> inPhonetic = false;
+                case "t" -> inText = false;
+                case "sst" -> trimToSize();
+                default -> {
+                    // Nothing to close
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                text.append(ch, start, length);
+            }
+        }
+    }
+}
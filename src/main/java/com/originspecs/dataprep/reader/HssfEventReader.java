@@ -0,0 +1,306 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.model.FormulaStatistics;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.WorkBookData;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MergeCellsRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads an .xls workbook through the HSSF event API instead of building a full
+ * {@code HSSFWorkbook} DOM.
+ *
+ * <p>BIFF records are streamed from a file-backed {@link POIFSFileSystem}. Cell values are
+ * decoded as they arrive and buffered in a {@link SheetAssembler} for the current sheet
+ * only; when the sheet's EOF record is reached (after its merged-cell records) the sheet
+ * is turned into a {@link com.originspecs.dataprep.model.WorkSheetData} and the buffer is
+ * dropped. Formula cells use the result cached in the file — no formula evaluator is
+ * available in the event model.
+ *
+ * <p>With a heap-bounded {@link com.originspecs.dataprep.model.RowStorage} the records are
+ * streamed twice: first for the merged-cell records alone, then for the cells, which are
+ * handed on row by row instead of being buffered.
+ */
+@Slf4j
+class HssfEventReader {
+
+    private final Set<String> japaneseBrandNames;
+    private final ReaderOptions options;
+
+    HssfEventReader(Set<String> japaneseBrandNames, ReaderOptions options) {
+        this.japaneseBrandNames = japaneseBrandNames;
+        this.options = options;
+    }
+
+    WorkBookData read(Path inputPath, RunMetrics metrics) throws IOException {
+        log.info("Streaming XLS workbook (event model) from {}", inputPath.toAbsolutePath());
+
+        WorkBookData workBookData = new WorkBookData();
+        workBookData.setFileName(inputPath.getFileName().toString());
+
+        RecordCollector collector = new RecordCollector(workBookData, metrics);
+        boolean complete = false;
+        try (POIFSFileSystem fs = new POIFSFileSystem(inputPath.toFile(), true)) {
+            if (options.rowStorage().boundsHeap()) {
+                collector.preScannedRegions = scanMergedRegions(fs);
+            }
+            FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(collector);
+            collector.formatListener = formatListener;
+
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(formatListener);
+            new HSSFEventFactory().processWorkbookEvents(request, fs);
+            complete = true;
+        } finally {
+            if (!complete) {
+                // Spilled and off-heap rows of the sheets read so far are not reachable by the caller
+                if (collector.currentSheet != null) {
+                    collector.currentSheet.discard();
+                }
+                RowStorage.release(workBookData);
+            }
+        }
+
+        workBookData.setWorksheetCount(workBookData.getWorksheets().size());
+        workBookData.setFormulaStatistics(new FormulaStatistics(collector.formulaCells, 0, 0));
+        log.info("Read {} worksheet(s) from '{}'", workBookData.getWorksheetCount(), workBookData.getFileName());
+        return workBookData;
+    }
+
+    /**
+     * Streams the workbook once for its merged-cell records alone, so the main pass can hand
+     * complete rows on instead of buffering each sheet.
+     *
+     * @return Merged regions of each worksheet, by sheet index
+     */
+    private static Map<Integer, List<CellRangeAddress>> scanMergedRegions(POIFSFileSystem fs) throws IOException {
+        MergedRegionScan scan = new MergedRegionScan();
+        HSSFRequest request = new HSSFRequest();
+        request.addListener(scan, BOFRecord.sid);
+        request.addListener(scan, EOFRecord.sid);
+        request.addListener(scan, MergeCellsRecord.sid);
+        new HSSFEventFactory().processWorkbookEvents(request, fs);
+        return scan.regions;
+    }
+
+    /**
+     * Collects the merged regions of every worksheet, numbering sheets as
+     * {@link RecordCollector} does.
+     */
+    private static class MergedRegionScan implements HSSFListener {
+
+        private final Map<Integer, List<CellRangeAddress>> regions = new HashMap<>();
+        private int nextSheetIndex;
+        private int depth;
+        private int sheetDepth = -1;
+        private List<CellRangeAddress> current;
+
+        @Override
+        public void processRecord(Record record) {
+            if (record instanceof BOFRecord bof) {
+                depth++;
+                if (depth == 1 && bof.getType() != BOFRecord.TYPE_WORKBOOK) {
+                    int index = nextSheetIndex++;
+                    if (bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+                        current = new ArrayList<>();
+                        regions.put(index, current);
+                        sheetDepth = depth;
+                    }
+                }
+            } else if (record instanceof EOFRecord) {
+                if (depth == sheetDepth) {
+                    current = null;
+                    sheetDepth = -1;
+                }
+                depth--;
+            } else if (record instanceof MergeCellsRecord merged && current != null && depth == sheetDepth) {
+                for (int i = 0; i < merged.getNumAreas(); i++) {
+                    current.add(merged.getAreaAt(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives every BIFF record in file order and routes cell values into the
+     * assembler of the sheet currently being streamed.
+     */
+    private class RecordCollector implements HSSFListener {
+
+        private final WorkBookData workBookData;
+        private final RunMetrics metrics;
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+        private FormatTrackingHSSFListener formatListener;
+        private BoundSheetRecord[] orderedSheets;
+        private SSTRecord sharedStrings;
+
+        private int nextSheetIndex;
+        // BOF/EOF nesting depth: embedded charts open their own substream inside a worksheet
+        private int depth;
+        private int sheetDepth = -1;
+        private SheetAssembler currentSheet;
+        private List<CellRangeAddress> mergedRegions;
+        // Set when the merged regions were collected up front, so rows need not be buffered
+        private Map<Integer, List<CellRangeAddress>> preScannedRegions;
+
+        // A string-valued formula is followed by a StringRecord carrying its cached result
+        private int pendingFormulaRow = -1;
+        private int pendingFormulaColumn = -1;
+        // Every formula uses its cached result, so one count covers the formula statistics
+        private long formulaCells;
+
+        RecordCollector(WorkBookData workBookData, RunMetrics metrics) {
+            this.workBookData = workBookData;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            if (record instanceof BOFRecord bof) {
+                depth++;
+                if (depth == 1 && bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+                    startSheet();
+                } else if (depth == 1 && bof.getType() != BOFRecord.TYPE_WORKBOOK) {
+                    // Chart and macro sheets still occupy a sheet index
+                    nextSheetIndex++;
+                }
+                return;
+            }
+            if (record instanceof EOFRecord) {
+                if (currentSheet != null && depth == sheetDepth) {
+                    finishSheet();
+                }
+                depth--;
+                return;
+            }
+            if (record instanceof BoundSheetRecord bsr) {
+                boundSheets.add(bsr);
+                return;
+            }
+            if (record instanceof SSTRecord sst) {
+                sharedStrings = sst;
+                return;
+            }
+            if (currentSheet == null || depth != sheetDepth) {
+                return;
+            }
+
+            switch (record) {
+                case RowRecord row -> currentSheet.touchRow(row.getRowNumber());
+                case LabelSSTRecord label -> currentSheet.cell(label.getRow(), label.getColumn(),
+                        sharedStrings.getString(label.getSSTIndex()).getString());
+                case LabelRecord label -> currentSheet.cell(label.getRow(), label.getColumn(), label.getValue());
+                case NumberRecord number -> currentSheet.cell(number.getRow(), number.getColumn(),
+                        formatListener.formatNumberDateCell(number));
+                case FormulaRecord formula -> handleFormula(formula);
+                case StringRecord string -> {
+                    if (pendingFormulaRow >= 0) {
+                        currentSheet.cell(pendingFormulaRow, pendingFormulaColumn, string.getString());
+                        pendingFormulaRow = -1;
+                    }
+                }
+                case BoolErrRecord boolErr -> currentSheet.cell(boolErr.getRow(), boolErr.getColumn(),
+                        boolErr.isBoolean()
+                                ? booleanText(boolErr.getBooleanValue())
+                                : FormulaError.forInt(boolErr.getErrorValue()).getString());
+                case BlankRecord blank -> currentSheet.cell(blank.getRow(), blank.getColumn(), "");
+                case MulBlankRecord mulBlank -> {
+                    for (int c = mulBlank.getFirstColumn(); c <= mulBlank.getLastColumn(); c++) {
+                        currentSheet.cell(mulBlank.getRow(), c, "");
+                    }
+                }
+                case MergeCellsRecord merged -> {
+                    for (int i = 0; i < merged.getNumAreas(); i++) {
+                        mergedRegions.add(merged.getAreaAt(i));
+                    }
+                }
+                default -> {
+                    // Formatting, dimension and drawing records carry no cell values
+                }
+            }
+        }
+
+        private void handleFormula(FormulaRecord formula) {
+            int row = formula.getRow();
+            int column = formula.getColumn();
+            CellType resultType = formula.getCachedResultTypeEnum();
+            formulaCells++;
+
+            if (formula.hasCachedResultString()) {
+                // Reserve the cell now so the row width is right even if the StringRecord is missing
+                currentSheet.cell(row, column, "");
+                pendingFormulaRow = row;
+                pendingFormulaColumn = column;
+            } else if (resultType == CellType.BOOLEAN) {
+                currentSheet.cell(row, column, booleanText(formula.getCachedBooleanValue()));
+            } else if (resultType == CellType.ERROR) {
+                currentSheet.cell(row, column, FormulaError.forInt(formula.getCachedErrorValue()).getString());
+            } else if (resultType == CellType.STRING) {
+                // Cached empty-string result
+                currentSheet.cell(row, column, "");
+            } else {
+                currentSheet.cell(row, column, formatListener.formatNumberDateCell(formula));
+            }
+        }
+
+        // Same text DataFormatter produces for boolean cells
+        private static String booleanText(boolean value) {
+            return value ? "TRUE" : "FALSE";
+        }
+
+        private void startSheet() {
+            if (orderedSheets == null) {
+                orderedSheets = BoundSheetRecord.orderByBofPosition(boundSheets);
+            }
+            int index = nextSheetIndex++;
+            String name = index < orderedSheets.length ? orderedSheets[index].getSheetname() : "Sheet" + index;
+
+            sheetDepth = depth;
+            currentSheet = new SheetAssembler(name, index, japaneseBrandNames, options, metrics);
+            if (preScannedRegions != null) {
+                currentSheet.streamRows(preScannedRegions.getOrDefault(index, List.of()));
+            }
+            mergedRegions = new ArrayList<>();
+            log.debug("Streaming sheet '{}' (index {})", name, index);
+        }
+
+        private void finishSheet() {
+            workBookData.getWorksheets().add(currentSheet.finish(mergedRegions));
+            currentSheet = null;
+            mergedRegions = null;
+            sheetDepth = -1;
+            pendingFormulaRow = -1;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.originspecs.dataprep.reader;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Answers "which merged-region value covers cell (row, column)?" without expanding
+ * regions cell by cell.
+ *
+ * <p>Regions are bucketed by column: each column keeps the row intervals of the regions
+ * that span it, sorted by first row, so a lookup is a binary search over primitive
+ * arrays and allocates nothing. A tall vertical merge (e.g. Car Name over hundreds of
+ * rows) costs one interval per column it spans instead of one map entry per cell.
+ *
+ * <p>Region values are not known up front: they are captured from the origin (top-left)
+ * cell by {@link #recordOrigins(int, List)} as rows are decoded, so the origin cell is
+ * formatted only once, by whoever decodes its row. Rows must be recorded in ascending
+ * order; a region's value is available from its origin row onwards. The origin cell
+ * itself is not covered: it already holds the value.
+ *
+ * <p>Excel does not allow merged regions to overlap, and the index assumes they do not;
+ * for a malformed file with overlapping regions a lookup returns one of the covering values.
+ *
+ * <p>Holds per-sheet state and is meant to be used by one thread.
+ */
+final class MergedRegionIndex {
+
+    private record Region(int firstRow, int lastRow, int firstColumn, int lastColumn) {
+    }
+
+    // Per column: region first/last rows sorted by first row, the origin column and the region id
+    private final int[][] firstRows;
+    private final int[][] lastRows;
+    private final int[][] originColumns;
+    private final int[][] regionIds;
+    // Region origins sorted by origin row, for recordOrigins
+    private final int[] originRows;
+    private final int[] originColumnsByRow;
+    private final int[] originIds;
+    // Value of each region's origin cell, indexed by region id; "" until recorded
+    private final String[] values;
+    private final long coveredCellCount;
+    private int recordedCount;
+
+    private MergedRegionIndex(List<Region> regions) {
+        int columnCount = 0;
+        long coveredCells = 0;
+        for (Region region : regions) {
+            columnCount = Math.max(columnCount, region.lastColumn() + 1);
+            coveredCells += (long) (region.lastRow() - region.firstRow() + 1)
+                    * (region.lastColumn() - region.firstColumn() + 1) - 1;
+        }
+        this.coveredCellCount = coveredCells;
+
+        List<List<Integer>> byColumn = new ArrayList<>(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+            byColumn.add(new ArrayList<>());
+        }
+        for (int id = 0; id < regions.size(); id++) {
+            Region region = regions.get(id);
+            for (int c = region.firstColumn(); c <= region.lastColumn(); c++) {
+                byColumn.get(c).add(id);
+            }
+        }
+
+        firstRows = new int[columnCount][];
+        lastRows = new int[columnCount][];
+        originColumns = new int[columnCount][];
+        regionIds = new int[columnCount][];
+        for (int c = 0; c < columnCount; c++) {
+            List<Integer> column = byColumn.get(c);
+            // Stable sort keeps insertion order among regions sharing a first row
+            column.sort(Comparator.comparingInt(id -> regions.get(id).firstRow()));
+            int n = column.size();
+            firstRows[c] = new int[n];
+            lastRows[c] = new int[n];
+            originColumns[c] = new int[n];
+            regionIds[c] = new int[n];
+            for (int i = 0; i < n; i++) {
+                int id = column.get(i);
+                Region region = regions.get(id);
+                firstRows[c][i] = region.firstRow();
+                lastRows[c][i] = region.lastRow();
+                originColumns[c][i] = region.firstColumn();
+                regionIds[c][i] = id;
+            }
+        }
+
+        Integer[] byOriginRow = new Integer[regions.size()];
+        for (int id = 0; id < byOriginRow.length; id++) {
+            byOriginRow[id] = id;
+        }
+        Arrays.sort(byOriginRow, Comparator.comparingInt(id -> regions.get(id).firstRow()));
+        originRows = new int[regions.size()];
+        originColumnsByRow = new int[regions.size()];
+        originIds = new int[regions.size()];
+        for (int i = 0; i < byOriginRow.length; i++) {
+            Region region = regions.get(byOriginRow[i]);
+            originRows[i] = region.firstRow();
+            originColumnsByRow[i] = region.firstColumn();
+            originIds[i] = byOriginRow[i];
+        }
+
+        values = new String[regions.size()];
+        Arrays.fill(values, "");
+    }
+
+    /**
+     * Indexes the given merged regions. Values are filled in later by {@link #recordOrigins(int, List)}.
+     */
+    static MergedRegionIndex of(List<CellRangeAddress> mergedRegions) {
+        List<Region> regions = new ArrayList<>(mergedRegions.size());
+        for (CellRangeAddress region : mergedRegions) {
+            regions.add(new Region(region.getFirstRow(), region.getLastRow(),
+                    region.getFirstColumn(), region.getLastColumn()));
+        }
+        return new MergedRegionIndex(regions);
+    }
+
+    /**
+     * Captures the values of regions whose origin cell lies in row {@code rowIndex}.
+     *
+     * @param cells Decoded, stripped cell values of the row; missing cells count as empty
+     */
+    void recordOrigins(int rowIndex, List<String> cells) {
+        int i = lowerBound(originRows, rowIndex);
+        for (; i < originRows.length && originRows[i] == rowIndex; i++) {
+            int column = originColumnsByRow[i];
+            String value = column < cells.size() ? cells.get(column) : "";
+            values[originIds[i]] = value;
+            if (!value.isEmpty()) recordedCount++;
+        }
+    }
+
+    /**
+     * Returns the value of the merged region covering {@code (row, column)}, or an empty
+     * string if the cell is not a non-origin cell of any region (or the region's origin
+     * was empty or has not been recorded yet).
+     */
+    String valueAt(int row, int column) {
+        if (column < 0 || column >= firstRows.length) return "";
+        int[] starts = firstRows[column];
+        int i = Arrays.binarySearch(starts, row);
+        if (i < 0) {
+            // Insertion point - 1 is the last region starting above this row
+            i = -i - 2;
+        } else {
+            // Several regions can only share a start row if they overlap; take the last added
+            while (i + 1 < starts.length && starts[i + 1] == row) i++;
+        }
+        if (i < 0 || row > lastRows[column][i]) return "";
+        if (row == starts[i] && column == originColumns[column][i]) return "";
+        return values[regionIds[column][i]];
+    }
+
+    /**
+     * Replaces the empty cells of row {@code rowIndex} that a merged region covers with the
+     * region's value, in place, and returns {@code cells}.
+     */
+    List<String> fillMergedBlanks(int rowIndex, List<String> cells) {
+        for (int i = 0; i < cells.size(); i++) {
+            if (cells.get(i).isEmpty()) {
+                cells.set(i, valueAt(rowIndex, i));
+            }
+        }
+        return cells;
+    }
+
+    /** Number of indexed regions. */
+    int regionCount() {
+        return values.length;
+    }
+
+    /** Number of regions whose origin has been recorded with a non-empty value. */
+    int recordedCount() {
+        return recordedCount;
+    }
+
+    /** Number of non-origin cells covered by the indexed regions. */
+    long coveredCellCount() {
+        return coveredCellCount;
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,64 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.config.Config;
+import com.originspecs.dataprep.config.FormulaStrategy;
+import com.originspecs.dataprep.config.ReaderEngine;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.SpillBudget;
+
+import java.util.List;
+
+/**
+ * Decoding and storage options for {@link WorkBookReader}.
+ *
+ * @param engine          How .xls input is decoded: the POI user model or the streaming event model
+ * @param rowStorage      In-memory representation of each sheet's data rows
+ * @param headerLookahead Maximum number of rows buffered per sheet while looking for the header range
+ * @param formulaStrategy How the user-model reader resolves formula cells: cached results, evaluation or both
+ * @param spillBudget     Heap budget and spill directory shared by {@link RowStorage#SPILL} row lists
+ */
+public record ReaderOptions(ReaderEngine engine, RowStorage rowStorage, int headerLookahead,
+                            FormulaStrategy formulaStrategy, SpillBudget spillBudget) {
+
+    public ReaderOptions {
+        if (headerLookahead < 1) {
+            throw new IllegalArgumentException("headerLookahead must be at least 1, got: " + headerLookahead);
+        }
+    }
+
+    /**
+     * User-model decoding with one list per row and every formula evaluated — the reader's original behaviour.
+     */
+    public static ReaderOptions defaults() {
+        return new ReaderOptions(ReaderEngine.USER_MODEL, RowStorage.LIST, Config.DEFAULT_HEADER_LOOKAHEAD,
+                FormulaStrategy.EVALUATE, SpillBudget.defaults());
+    }
+
+    public ReaderOptions withEngine(ReaderEngine engine) {
+        return new ReaderOptions(engine, rowStorage, headerLookahead, formulaStrategy, spillBudget);
+    }
+
+    public ReaderOptions withRowStorage(RowStorage rowStorage) {
+        return new ReaderOptions(engine, rowStorage, headerLookahead, formulaStrategy, spillBudget);
+    }
+
+    public ReaderOptions withHeaderLookahead(int headerLookahead) {
+        return new ReaderOptions(engine, rowStorage, headerLookahead, formulaStrategy, spillBudget);
+    }
+
+    public ReaderOptions withFormulaStrategy(FormulaStrategy formulaStrategy) {
+        return new ReaderOptions(engine, rowStorage, headerLookahead, formulaStrategy, spillBudget);
+    }
+
+    public ReaderOptions withSpillBudget(SpillBudget spillBudget) {
+        return new ReaderOptions(engine, rowStorage, headerLookahead, formulaStrategy, spillBudget);
+    }
+
+    /**
+     * Creates an empty list for a sheet's data rows, of the {@link #rowStorage()} kind.
+     */
+    public List<RowData> newRowList() {
+        return rowStorage.newRowList(spillBudget);
+    }
+}
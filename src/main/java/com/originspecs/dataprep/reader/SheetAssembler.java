@@ -0,0 +1,179 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.metrics.SheetReadEvent;
+import com.originspecs.dataprep.metrics.Stage;
+import com.originspecs.dataprep.metrics.StageTimer;
+import com.originspecs.dataprep.model.WorkSheetData;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Buffers the decoded text of a single sheet and turns it into a {@link WorkSheetData}
+ * once the sheet is complete.
+ *
+ * <p>Used by the streaming readers, which see cell values in file order but only learn
+ * a sheet's merged regions after its last cell. Only one sheet is ever buffered, so
+ * peak memory is bounded by the largest sheet rather than by the whole workbook.
+ *
+ * <p>A reader that has collected the merged regions in a pre-pass can hand them over with
+ * {@link #streamRows} instead. Rows then go to the {@link SheetScanner}, and on into the
+ * sheet's row list, as soon as a cell of a later row shows they are complete, so the
+ * assembler holds only the rows still being filled. This is what lets a heap-bounded
+ * {@link com.originspecs.dataprep.model.RowStorage} bound the read as well.
+ *
+ * <p>The resulting model matches what {@link WorkBookReader} produces from the POI
+ * user model: the same header range detection, merged-cell expansion and row widths.
+ *
+ * <p>The sheet's read sample and {@link SheetReadEvent} are measured from construction to
+ * {@link #finish}, on the streaming reader's thread.
+ */
+class SheetAssembler {
+
+    private final String sheetName;
+    private final int sheetIndex;
+    private final Set<String> japaneseBrandNames;
+    private final ReaderOptions options;
+    private final StageTimer timer;
+    private final SheetReadEvent event = new SheetReadEvent();
+    private long cellsFormatted;
+    private int rowCount;
+
+    // Indexed by 0-based row number; null marks a row that is not present in the sheet
+    private final List<List<String>> rows = new ArrayList<>();
+
+    // Set by streamRows: rows not yet handed to the scanner, by row number
+    private SheetScanner scanner;
+    private final NavigableMap<Integer, List<String>> openRows = new TreeMap<>();
+    private int lastScannedRow = -1;
+
+    SheetAssembler(String sheetName, int sheetIndex, Set<String> japaneseBrandNames, ReaderOptions options,
+                   RunMetrics metrics) {
+        this.sheetName = sheetName;
+        this.sheetIndex = sheetIndex;
+        this.japaneseBrandNames = japaneseBrandNames;
+        this.options = options;
+        this.timer = metrics.start(Stage.READ, sheetName);
+        event.begin();
+    }
+
+    /**
+     * Scans rows as they complete instead of buffering the sheet. Must be called before the
+     * first row is recorded; cells must then arrive in ascending row order, as both file
+     * formats store them.
+     *
+     * @param mergedRegions Every merged region of the sheet
+     */
+    void streamRows(List<CellRangeAddress> mergedRegions) {
+        scanner = newScanner(mergedRegions);
+    }
+
+    /**
+     * Marks a row as present even if it carries no cells (mirrors a POI row with no cells).
+     */
+    void touchRow(int rowIndex) {
+        rowAt(rowIndex);
+    }
+
+    /**
+     * Records a decoded cell value. Blank cells should be passed as an empty string so they
+     * still count towards the row width, as they do in the POI user model.
+     */
+    void cell(int rowIndex, int colIndex, String value) {
+        if (scanner != null) {
+            // A row is complete once a later row has a cell; touched rows may run ahead of their cells
+            scanRowsBefore(rowIndex);
+        }
+        List<String> row = rowAt(rowIndex);
+        cellsFormatted++;
+        while (row.size() <= colIndex) {
+            row.add("");
+        }
+        row.set(colIndex, value == null ? "" : value.strip());
+    }
+
+    /**
+     * Builds the sheet model: feeds the buffered rows through a {@link SheetScanner}, which
+     * detects the header range, expands merged regions and splits the rows into raw header
+     * rows and data rows in one pass.
+     *
+     * @param mergedRegions Merged regions of the sheet, as reported at the end of the sheet;
+     *                      ignored if they were already given to {@link #streamRows}
+     */
+    WorkSheetData finish(List<CellRangeAddress> mergedRegions) {
+        WorkSheetData worksheetData = new WorkSheetData();
+        worksheetData.setName(sheetName);
+        worksheetData.setIndex(sheetIndex);
+        worksheetData.setOriginalRowCount(rowCount);
+
+        if (scanner == null) {
+            scanner = newScanner(mergedRegions);
+            for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+                List<String> row = rows.get(rowIndex);
+                if (row == null) continue;
+
+                scanner.accept(rowIndex, row);
+                // The scanner owns the row from here on; drop the buffer's reference
+                rows.set(rowIndex, null);
+            }
+        } else {
+            scanRowsBefore(Integer.MAX_VALUE);
+        }
+
+        scanner.finish(worksheetData);
+        timer.stop(worksheetData.getOriginalRowCount(), worksheetData.getRows().size(),
+                worksheetData.getOriginalColumnCount(), worksheetData.getOriginalColumnCount(), cellsFormatted);
+        SheetReadEvent.commit(event, worksheetData, cellsFormatted);
+        return worksheetData;
+    }
+
+    /**
+     * Releases the rows scanned so far, for a sheet whose read failed before {@link #finish}
+     * returned.
+     */
+    void discard() {
+        if (scanner != null) {
+            scanner.discard();
+        }
+    }
+
+    private SheetScanner newScanner(List<CellRangeAddress> mergedRegions) {
+        return new SheetScanner(sheetName, japaneseBrandNames, options.headerLookahead(),
+                MergedRegionIndex.of(mergedRegions), options.newRowList());
+    }
+
+    private void scanRowsBefore(int rowIndex) {
+        while (!openRows.isEmpty() && openRows.firstKey() < rowIndex) {
+            Map.Entry<Integer, List<String>> row = openRows.pollFirstEntry();
+            scanner.accept(row.getKey(), row.getValue());
+            lastScannedRow = row.getKey();
+        }
+    }
+
+    private List<String> rowAt(int rowIndex) {
+        rowCount = Math.max(rowCount, rowIndex + 1);
+        if (scanner != null) {
+            if (rowIndex <= lastScannedRow) {
+                throw new IllegalStateException(String.format(
+                        "Sheet '%s': row %d appears after row %d in the file; read it with --storage=list or columnar",
+                        sheetName, rowIndex, lastScannedRow));
+            }
+            return openRows.computeIfAbsent(rowIndex, index -> new ArrayList<>());
+        }
+        while (rows.size() <= rowIndex) {
+            rows.add(null);
+        }
+        List<String> row = rows.get(rowIndex);
+        if (row == null) {
+            row = new ArrayList<>();
+            rows.set(rowIndex, row);
+        }
+        return row;
+    }
+}
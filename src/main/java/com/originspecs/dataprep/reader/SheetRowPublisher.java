@@ -0,0 +1,134 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.model.RowData;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the data rows of one sheet, decoding rows only as a subscriber requests them.
+ * A slow subscriber therefore paces decoding: at most one row is decoded ahead of demand
+ * (to tell whether the sheet has ended), and decoded rows never queue up between the
+ * workbook and the subscriber. The workbook itself is already loaded by the
+ * {@link WorkBookSource}.
+ *
+ * <p>Every subscription starts a new pass over the sheet. Rows are decoded and delivered
+ * on {@code executor}, one task at a time per subscription; {@link Flow.Subscription#request}
+ * only records demand and schedules that task, so it is cheap to call from
+ * {@link Flow.Subscriber#onNext}.
+ *
+ * <p>The rows of a {@link WorkBookSource} share its cell decoder: when several sheets of the
+ * same workbook are subscribed at once, give their publishers the same single-threaded executor.
+ */
+public final class SheetRowPublisher implements Flow.Publisher<RowData> {
+
+    private final Supplier<? extends Iterator<RowData>> rows;
+    private final Executor executor;
+
+    /**
+     * @param rows     Starts a pass over the sheet's data rows; called on {@code executor}
+     * @param executor Runs decoding and delivery
+     */
+    public SheetRowPublisher(Supplier<? extends Iterator<RowData>> rows, Executor executor) {
+        this.rows = rows;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super RowData> subscriber) {
+        RowSubscription subscription = new RowSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class RowSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super RowData> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        // Number of schedule() calls not yet observed by the delivery task
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Only touched by the delivery task
+        private Iterator<RowData> iterator;
+        private boolean done;
+
+        RowSubscription(Flow.Subscriber<? super RowData> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive, got: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                deliver();
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            if (done || cancelled) {
+                return;
+            }
+            if (invalidRequest != null) {
+                fail(invalidRequest);
+                return;
+            }
+            try {
+                if (iterator == null) {
+                    iterator = rows.get();
+                }
+                while (demand.get() > 0 && !cancelled && iterator.hasNext()) {
+                    RowData row = iterator.next();
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    subscriber.onNext(row);
+                }
+                if (!cancelled && !iterator.hasNext()) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable error) {
+            done = true;
+            cancelled = true;
+            subscriber.onError(error);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.config.Constants;
+import com.originspecs.dataprep.metrics.HeaderDetectionEvent;
+import com.originspecs.dataprep.model.ColumnStatistics;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.WorkSheetData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classifies a sheet's rows into pre-header, header and data rows in a single forward
+ * pass over decoded text, expanding merged-cell values into header and data rows as they
+ * are classified.
+ *
+ * <p>Rows are fed in ascending row order by {@link #accept(int, List)}, already decoded
+ * (each cell formatted exactly once by the caller). Detection strategy:
+ * <ol>
+ *   <li>Rows are buffered until one contains {@link Constants#CAR_NAME_JP} ("車名") —
+ *       this anchors the header block. While buffering, the scanner tracks where the
+ *       current run of header-like rows started: a row with fewer than
+ *       {@value MIN_HEADER_CELLS} non-empty cells, or a row missing from the sheet, is
+ *       treated as pre-header metadata and the block starts after it.</li>
+ *   <li>From the "車名" row, rows keep being buffered until column A contains a known
+ *       Japanese brand name — that row is the data start; the header range ends at the
+ *       row immediately before it. This captures sub-header rows below the "車名" row.</li>
+ *   <li>Once the range is known the buffer is flushed and every further row goes straight
+ *       to the data rows.</li>
+ * </ol>
+ *
+ * <p>At most {@code lookahead} rows are buffered while the range is unresolved. If "車名"
+ * is not found within that window, detection fails and row 0 is used as the header; if
+ * no brand row follows "車名" within the window (or no brand names are configured), the
+ * "車名" row is used as the header range end.
+ *
+ * <p>Used by both the POI user-model reader, which decodes rows as it iterates the sheet,
+ * and the streaming readers, which buffer decoded rows until the sheet's merged regions
+ * are known.
+ *
+ * <p>Detection is timed as a {@link HeaderDetectionEvent}, from construction until the range
+ * is fixed.
+ */
+@Slf4j
+class SheetScanner {
+
+    private static final int MIN_HEADER_CELLS = 3;
+
+    private enum Phase { SEEK_CAR_NAME, SEEK_DATA_START, DATA }
+
+    private record PendingRow(int rowIndex, List<String> cells) {
+    }
+
+    private final String sheetName;
+    private final Set<String> japaneseBrandNames;
+    private final int lookahead;
+    private final MergedRegionIndex mergedRegions;
+
+    private final List<PendingRow> pending = new ArrayList<>();
+    private Phase phase = Phase.SEEK_CAR_NAME;
+    private int previousRowIndex = -1;
+    private int blockStart = 0;
+    private int carNameRowIndex = -1;
+    private HeaderRange headerRange;
+    private boolean dataStartChecked;
+    private final HeaderDetectionEvent detection = new HeaderDetectionEvent();
+
+    private final List<List<String>> rawHeaderRows = new ArrayList<>();
+    private final List<RowData> dataRows;
+    private final boolean retainRows;
+    private final ColumnStatistics columnStatistics = new ColumnStatistics();
+    private int maxColumnCount;
+
+    /**
+     * @param sheetName          Sheet name, used in log messages
+     * @param japaneseBrandNames Brand names marking the first data row; empty disables the forward scan past "車名"
+     * @param lookahead          Maximum number of rows buffered while the header range is unresolved
+     * @param mergedRegions      Merged regions of the sheet; origins are recorded from the accepted rows
+     * @param dataRows           Empty list the data rows are appended to, of the caller's storage kind
+     */
+    SheetScanner(String sheetName, Set<String> japaneseBrandNames, int lookahead,
+                 MergedRegionIndex mergedRegions, List<RowData> dataRows) {
+        this(sheetName, japaneseBrandNames, lookahead, mergedRegions, dataRows, true);
+    }
+
+    /**
+     * @param retainRows If false, data rows are only counted into the column statistics and
+     *                   {@link #finish} leaves the sheet without rows — an outline of the sheet
+     */
+    SheetScanner(String sheetName, Set<String> japaneseBrandNames, int lookahead,
+                 MergedRegionIndex mergedRegions, List<RowData> dataRows, boolean retainRows) {
+        this.sheetName = sheetName;
+        this.japaneseBrandNames = japaneseBrandNames;
+        this.lookahead = lookahead;
+        this.mergedRegions = mergedRegions;
+        this.dataRows = dataRows;
+        this.retainRows = retainRows;
+        detection.begin();
+    }
+
+    /**
+     * Accepts the next row present in the sheet.
+     *
+     * @param rowIndex 0-based row index; must be greater than that of the previous row
+     * @param cells    Stripped cell values, with missing cells as empty strings. The list must be
+     *                 mutable and is taken over by the scanner, which expands merged values into it
+     */
+    void accept(int rowIndex, List<String> cells) {
+        mergedRegions.recordOrigins(rowIndex, cells);
+
+        switch (phase) {
+            case SEEK_CAR_NAME -> seekCarName(rowIndex, cells);
+            case SEEK_DATA_START -> seekDataStart(rowIndex, cells);
+            case DATA -> addDataRow(rowIndex, cells);
+        }
+        previousRowIndex = rowIndex;
+    }
+
+    /**
+     * Resolves the header range if the sheet ended before it was found and fills in the
+     * header rows, data rows, column statistics and header range of {@code worksheetData}.
+     */
+    void finish(WorkSheetData worksheetData) {
+        if (phase == Phase.SEEK_CAR_NAME) {
+            detectionFailed();
+        } else if (phase == Phase.SEEK_DATA_START) {
+            noBrandRowFound();
+        }
+        if (!dataStartChecked) {
+            validateDataStartRow(-1, List.of());
+        }
+
+        worksheetData.setHeaderRangeStart(headerRange.startRowIndex());
+        worksheetData.setHeaderRangeEnd(headerRange.endRowIndex());
+        worksheetData.setRawHeaderRows(rawHeaderRows);
+        worksheetData.setOriginalColumnCount(maxColumnCount);
+        worksheetData.setRows(dataRows);
+        worksheetData.setColumnStatistics(columnStatistics);
+
+        log.debug("Sheet '{}': header rows {}-{} ({} raw header rows), {} columns, {} data rows; " +
+                        "{} of {} merged regions carry a value, covering {} cell positions",
+                sheetName, headerRange.startRowIndex(), headerRange.endRowIndex(),
+                rawHeaderRows.size(), maxColumnCount, columnStatistics.rowCount(),
+                mergedRegions.recordedCount(), mergedRegions.regionCount(), mergedRegions.coveredCellCount());
+    }
+
+    /**
+     * Releases the data rows collected so far, for a sheet whose read failed before
+     * {@link #finish}.
+     */
+    void discard() {
+        RowStorage.release(dataRows);
+    }
+
+    private void seekCarName(int rowIndex, List<String> cells) {
+        pending.add(new PendingRow(rowIndex, cells));
+        // A row missing from the sheet ends any header block above it
+        if (rowIndex > previousRowIndex + 1) {
+            blockStart = Math.max(blockStart, rowIndex);
+        }
+
+        if (cells.contains(Constants.CAR_NAME_JP)) {
+            carNameRowIndex = rowIndex;
+            log.debug("Found '{}' at row {} in sheet '{}'", Constants.CAR_NAME_JP, rowIndex, sheetName);
+            if (japaneseBrandNames.isEmpty()) {
+                log.debug("No brand names configured — using '車名' row {} as header range end", rowIndex);
+                resolve(new HeaderRange(blockStart, rowIndex), true);
+            } else {
+                phase = Phase.SEEK_DATA_START;
+            }
+            return;
+        }
+
+        if (nonEmptyCellCount(cells) < MIN_HEADER_CELLS) {
+            blockStart = rowIndex + 1;
+        }
+        if (pending.size() >= lookahead) {
+            detectionFailed();
+        }
+    }
+
+    private void seekDataStart(int rowIndex, List<String> cells) {
+        pending.add(new PendingRow(rowIndex, cells));
+
+        String colAValue = cells.isEmpty() ? "" : cells.get(0);
+        if (japaneseBrandNames.contains(colAValue)) {
+            log.debug("Sheet '{}': found brand '{}' at row {} — header range ends at row {}",
+                    sheetName, colAValue, rowIndex, rowIndex - 1);
+            resolve(new HeaderRange(blockStart, rowIndex - 1), true);
+        } else if (rowIndex - carNameRowIndex >= lookahead) {
+            noBrandRowFound();
+        }
+    }
+
+    private void detectionFailed() {
+        log.warn("Could not find '{}' in sheet '{}' within {} rows — header range detection failed",
+                Constants.CAR_NAME_JP, sheetName, lookahead);
+        log.warn("Sheet '{}': header detection failed, falling back to row 0 as header", sheetName);
+        resolve(new HeaderRange(0, 0), false);
+    }
+
+    private void noBrandRowFound() {
+        log.warn("Sheet '{}': no brand name found within {} rows after '車名' row {} — " +
+                "falling back to '車名' row as header range end", sheetName, lookahead, carNameRowIndex);
+        resolve(new HeaderRange(blockStart, carNameRowIndex), true);
+    }
+
+    /**
+     * Fixes the header range and flushes the buffered rows through it.
+     */
+    private void resolve(HeaderRange range, boolean detected) {
+        this.headerRange = range;
+        this.phase = Phase.DATA;
+        if (detected) {
+            log.info("Sheet '{}': detected header range rows {}-{}, data starts at row {}",
+                    sheetName, range.startRowIndex(), range.endRowIndex(), range.dataStartRowIndex());
+        }
+
+        int rowsScanned = pending.size();
+        for (PendingRow row : pending) {
+            if (range.isPreHeaderRow(row.rowIndex())) {
+                log.trace("Sheet '{}': skipping pre-header row {}", sheetName, row.rowIndex());
+            } else if (range.isHeaderRow(row.rowIndex())) {
+                List<String> headerRow = expandMergedCells(row.rowIndex(), row.cells());
+                rawHeaderRows.add(headerRow);
+                maxColumnCount = Math.max(maxColumnCount, headerRow.size());
+            } else {
+                addDataRow(row.rowIndex(), row.cells());
+            }
+        }
+        pending.clear();
+
+        if (detection.shouldCommit()) {
+            detection.sheet = sheetName;
+            detection.rowsScanned = rowsScanned;
+            detection.headerStartRow = range.startRowIndex();
+            detection.headerEndRow = range.endRowIndex();
+            detection.detected = detected;
+            detection.commit();
+        }
+    }
+
+    private void addDataRow(int rowIndex, List<String> cells) {
+        if (!dataStartChecked) {
+            validateDataStartRow(rowIndex, cells);
+        }
+        List<String> expanded = expandMergedCells(rowIndex, cells);
+        columnStatistics.addRow(expanded);
+        if (retainRows) {
+            dataRows.add(new RowData(expanded));
+        }
+    }
+
+    /**
+     * Warns when the first data row does not start with a known brand, which usually means
+     * header detection landed on the wrong row.
+     *
+     * @param rowIndex Index of the first data row, or -1 if the sheet has none
+     */
+    private void validateDataStartRow(int rowIndex, List<String> cells) {
+        dataStartChecked = true;
+        if (japaneseBrandNames.isEmpty()) return;
+
+        int dataStartRow = headerRange.dataStartRowIndex();
+        if (rowIndex != dataStartRow) {
+            log.warn("Sheet '{}': no data row found at expected start index {}", sheetName, dataStartRow);
+            return;
+        }
+
+        String firstValue = cells.isEmpty() ? "" : cells.get(0);
+        if (japaneseBrandNames.contains(firstValue)) {
+            log.debug("Sheet '{}': data start confirmed — first row starts with brand '{}'", sheetName, firstValue);
+        } else {
+            log.warn("Sheet '{}': first data row at index {} starts with '{}' which is not a known brand — " +
+                    "header detection may be incorrect", sheetName, dataStartRow, firstValue);
+        }
+    }
+
+    /**
+     * Replaces blank cells covered by a merged region with the region's value. Both
+     * horizontal and vertical expansion are intentional: group headers often span rows
+     * and columns, and group-identifier columns (Car Name, Common Name) use vertical
+     * merges over their data rows. Duplicate-label resolution is handled downstream in
+     * {@link com.originspecs.dataprep.processor.WorkBookProcessor}.
+     *
+     * <p>Expands in place: the scanner owns the row lists it is given.
+     */
+    private List<String> expandMergedCells(int rowIndex, List<String> cells) {
+        return mergedRegions.fillMergedBlanks(rowIndex, cells);
+    }
+
+    private static int nonEmptyCellCount(List<String> cells) {
+        int count = 0;
+        for (String cell : cells) {
+            if (!cell.isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
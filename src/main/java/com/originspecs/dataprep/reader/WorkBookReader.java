@@ -1,29 +1,33 @@
 package com.originspecs.dataprep.reader;
 
-import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.config.ReaderEngine;
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.metrics.SheetReadEvent;
+import com.originspecs.dataprep.metrics.Stage;
+import com.originspecs.dataprep.metrics.StageTimer;
+import com.originspecs.dataprep.model.FormulaStatistics;
+import com.originspecs.dataprep.model.RowStorage;
 import com.originspecs.dataprep.model.WorkBookData;
 import com.originspecs.dataprep.model.WorkSheetData;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.CellRangeAddress;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Set;
 
 @Slf4j
 public class WorkBookReader {
 
-    private final DataFormatter formatter = new DataFormatter();
-    private final HeaderRangeDetector headerRangeDetector;
     private final Set<String> japaneseBrandNames;
+    private final ReaderOptions options;
 
     /** Creates a reader without brand-based header detection or data-start validation. */
     public WorkBookReader() {
@@ -40,215 +44,153 @@ public class WorkBookReader {
      * @param japaneseBrandNames Set of Japanese brand names (e.g. "ホンダ", "トヨタ")
      */
     public WorkBookReader(Set<String> japaneseBrandNames) {
+        this(japaneseBrandNames, ReaderOptions.defaults());
+    }
+
+    /**
+     * Creates a reader with brand-based header detection that decodes and stores input
+     * according to {@code options}.
+     *
+     * @param japaneseBrandNames Set of Japanese brand names (e.g. "ホンダ", "トヨタ")
+     * @param options            Decoding engine ({@link ReaderEngine#USER_MODEL} loads the workbook DOM,
+     *                           {@link ReaderEngine#EVENT} streams records one sheet at a time) and the
+     *                           row storage used for each sheet's data rows
+     */
+    public WorkBookReader(Set<String> japaneseBrandNames, ReaderOptions options) {
         this.japaneseBrandNames = japaneseBrandNames;
-        this.headerRangeDetector = new HeaderRangeDetector(japaneseBrandNames);
+        this.options = options;
     }
 
     /**
-     * Reads an .xls workbook and maps all sheets into a WorkBookData model.
-     * Header rows are detected using {@link HeaderRangeDetector} — the row containing
-     * "車名" is used as the column header row; pre-header metadata rows are skipped.
-     * Falls back to treating the first row as the header if detection fails.
+     * Reads an .xls or .xlsx workbook and maps all sheets into a WorkBookData model.
+     * Header rows are detected by {@link SheetScanner} in the same forward pass that reads
+     * the data rows — the row containing "車名" anchors the header block; pre-header metadata
+     * rows are skipped. Falls back to treating the first row as the header if detection fails.
      *
-     * @param inputPath Path to the .xls file
+     * <p>With the {@link ReaderEngine#EVENT} engine the file is streamed record by record and
+     * only one sheet is held in memory at a time; formula cells then use their cached results.
+     * .xlsx / .xlsm input is always streamed through the SAX-based XSSF reader, regardless of engine.
+     * Data rows are stored in the list kind selected by {@link ReaderOptions#rowStorage()}.
+     *
+     * @param inputPath Path to the .xls or .xlsx file
      * @return WorkBookData containing all sheets and their rows
      */
     public WorkBookData read(Path inputPath) throws IOException {
+        return read(inputPath, RunMetrics.NONE);
+    }
+
+    /**
+     * Reads a workbook as {@link #read(Path)} does, recording a {@link Stage#READ} sample per
+     * sheet into {@code metrics}.
+     *
+     * @param inputPath Path to the .xls or .xlsx file
+     * @param metrics   Run to record per-sheet samples into
+     * @return WorkBookData containing all sheets and their rows
+     */
+    public WorkBookData read(Path inputPath, RunMetrics metrics) throws IOException {
+        if (isXlsx(inputPath)) {
+            return new XlsxStreamingReader(japaneseBrandNames, options).read(inputPath, metrics);
+        }
+        if (options.engine() == ReaderEngine.EVENT) {
+            return new HssfEventReader(japaneseBrandNames, options).read(inputPath, metrics);
+        }
+
         log.info("Reading XLS workbook from {}", inputPath.toAbsolutePath());
 
-        try (InputStream is = Files.newInputStream(inputPath);
-             Workbook workbook = new HSSFWorkbook(is)) {
+        try (Workbook workbook = openHssf(inputPath)) {
 
-            // Evaluator resolves formula cells to their computed value rather than raw formula text
-            FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+            // Style indexes and formula results are cached per workbook, so each read gets its own decoder
+            CellDecoder decoder = new CellDecoder(workbook, options.formulaStrategy());
 
             WorkBookData workBookData = new WorkBookData();
             workBookData.setFileName(inputPath.getFileName().toString());
             workBookData.setWorksheetCount(workbook.getNumberOfSheets());
 
-            for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-                Sheet sheet = workbook.getSheetAt(i);
-                workBookData.getWorksheets().add(readSheet(sheet, i, evaluator));
+            try {
+                for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+                    Sheet sheet = workbook.getSheetAt(i);
+                    workBookData.getWorksheets().add(readSheet(sheet, i, decoder, metrics));
+                }
+            } catch (RuntimeException e) {
+                // Spilled and off-heap rows of the sheets read so far are not reachable by the caller
+                RowStorage.release(workBookData);
+                throw e;
             }
 
+            workBookData.setFormulaStatistics(decoder.statistics());
             log.info("Read {} worksheet(s) from '{}'", workBookData.getWorksheetCount(), workBookData.getFileName());
+            logFormulaStatistics(workBookData);
             return workBookData;
         }
     }
 
-    private WorkSheetData readSheet(Sheet sheet, int index, FormulaEvaluator evaluator) {
-        WorkSheetData worksheetData = new WorkSheetData();
-        worksheetData.setName(sheet.getSheetName());
-        worksheetData.setIndex(index);
-        worksheetData.setOriginalRowCount(sheet.getLastRowNum() + 1);
-
-        HeaderRange headerRange = headerRangeDetector.detect(sheet)
-                .orElseGet(() -> {
-                    log.warn("Sheet '{}': header detection failed, falling back to row 0 as header", sheet.getSheetName());
-                    return new HeaderRange(0, 0);
-                });
-
-        worksheetData.setHeaderRangeStart(headerRange.startRowIndex());
-        worksheetData.setHeaderRangeEnd(headerRange.endRowIndex());
-
-        validateDataStartRow(sheet, headerRange);
-
-        // Build merged cell map once for the whole sheet so header rows resolve correctly
-        Map<String, String> mergedCellValues = buildMergedCellValueMap(sheet);
-
-        List<List<String>> rawHeaderRows = new ArrayList<>();
-        List<RowData> rows = new ArrayList<>();
-        int maxColumnCount = 0;
-
-        for (Row row : sheet) {
-            int rowIndex = row.getRowNum();
-
-            if (headerRange.isPreHeaderRow(rowIndex)) {
-                log.trace("Sheet '{}': skipping pre-header row {}", sheet.getSheetName(), rowIndex);
-                continue;
-            }
-
-            if (headerRange.isHeaderRow(rowIndex)) {
-                // Collect every header range row — merged cell values are expanded here
-                List<String> headerRow = readHeaderRow(row, mergedCellValues);
-                rawHeaderRows.add(headerRow);
-                maxColumnCount = Math.max(maxColumnCount, headerRow.size());
-                continue;
-            }
-
-            rows.add(new RowData(readRow(row, evaluator, mergedCellValues)));
-        }
-
-        worksheetData.setRawHeaderRows(rawHeaderRows);
-        worksheetData.setOriginalColumnCount(maxColumnCount);
-        worksheetData.setRows(rows);
-
-        log.debug("Sheet '{}': header rows {}-{} ({} raw header rows), {} columns, {} data rows",
-                worksheetData.getName(),
-                headerRange.startRowIndex(), headerRange.endRowIndex(),
-                rawHeaderRows.size(), maxColumnCount, rows.size());
-        return worksheetData;
-    }
-
     /**
-     * Reads a header row, expanding merged cell values so every column
-     * in a merged region gets the value of its top-left cell.
+     * Opens an .xls workbook. A regular file on the default file system is read through a
+     * file-backed {@link POIFSFileSystem}, which fetches OLE2 blocks over a channel as they are
+     * needed; the stream constructor would first copy the whole container into a heap array.
+     * Other sources (pipes, paths on other file systems) keep the stream path.
      */
-    private List<String> readHeaderRow(Row row, Map<String, String> mergedCellValues) {
-        int lastCellNum = row.getLastCellNum();
-        List<String> cellValues = new ArrayList<>(Math.max(lastCellNum, 0));
-        for (int i = 0; i < lastCellNum; i++) {
-            Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-            String cellKey = row.getRowNum() + ":" + i;
-
-            if (cell == null || formatter.formatCellValue(cell).strip().isEmpty()) {
-                // Check if this blank cell is covered by a merged region
-                cellValues.add(mergedCellValues.getOrDefault(cellKey, ""));
-            } else {
-                cellValues.add(formatter.formatCellValue(cell).strip());
+    private static HSSFWorkbook openHssf(Path inputPath) throws IOException {
+        if (inputPath.getFileSystem() == FileSystems.getDefault() && Files.isRegularFile(inputPath)) {
+            POIFSFileSystem fs = new POIFSFileSystem(inputPath.toFile(), true);
+            try {
+                // Closing the workbook closes the file system and its channel
+                return new HSSFWorkbook(fs.getRoot(), true);
+            } catch (IOException | RuntimeException e) {
+                fs.close();
+                throw e;
             }
         }
-        return cellValues;
-    }
-
-    /**
-     * Reads a data row, evaluating formula cells to their computed value and
-     * propagating merged-region values to non-origin cells. This ensures that
-     * group-identifier columns (e.g. Car Name, Common Name) which use vertical
-     * merges in the source file are filled for every row in the merged region,
-     * not just the top cell.
-     */
-    private List<String> readRow(Row row, FormulaEvaluator evaluator, Map<String, String> mergedCellValues) {
-        int lastCellNum = row.getLastCellNum();
-        List<String> cellValues = new ArrayList<>(Math.max(lastCellNum, 0));
-        for (int i = 0; i < lastCellNum; i++) {
-            Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-            if (cell == null || formatter.formatCellValue(cell, evaluator).strip().isEmpty()) {
-                String cellKey = row.getRowNum() + ":" + i;
-                cellValues.add(mergedCellValues.getOrDefault(cellKey, ""));
-            } else {
-                cellValues.add(evaluateCell(cell, evaluator));
-            }
+        try (InputStream is = Files.newInputStream(inputPath)) {
+            return new HSSFWorkbook(is);
         }
-        return cellValues;
     }
 
-    /**
-     * Evaluates a cell using the provided formula evaluator so that formula cells
-     * return their computed result rather than the raw formula string.
-     * Falls back gracefully to the cached value or an empty string on error.
-     */
-    private String evaluateCell(Cell cell, FormulaEvaluator evaluator) {
-        try {
-            return formatter.formatCellValue(cell, evaluator).strip();
-        } catch (Exception e) {
-            log.debug("Formula evaluation failed for cell [{},{}]: {} — using cached value",
-                    cell.getRowIndex(), cell.getColumnIndex(), e.getMessage());
-            return formatter.formatCellValue(cell).strip();
+    private void logFormulaStatistics(WorkBookData workBookData) {
+        FormulaStatistics formulas = workBookData.getFormulaStatistics();
+        if (formulas.total() > 0) {
+            log.info("Formula cells in '{}' ({} strategy): {} cached, {} evaluated, {} failed evaluation",
+                    workBookData.getFileName(), options.formulaStrategy(),
+                    formulas.cached(), formulas.evaluated(), formulas.failed());
         }
     }
 
-    /**
-     * Checks if the first data row starts with a known Japanese car brand name.
-     * Logs a warning if no brand match is found, which may indicate that header
-     * detection did not land on the correct row.
-     */
-    private void validateDataStartRow(Sheet sheet, HeaderRange headerRange) {
-        if (japaneseBrandNames.isEmpty()) return;
-
-        int dataStartRow = headerRange.dataStartRowIndex();
-        Row firstDataRow = sheet.getRow(dataStartRow);
-        if (firstDataRow == null) {
-            log.warn("Sheet '{}': no data row found at expected start index {}", sheet.getSheetName(), dataStartRow);
-            return;
-        }
-
-        Cell firstCell = firstDataRow.getCell(0, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-        String firstValue = firstCell == null ? "" : formatter.formatCellValue(firstCell).strip();
-
-        if (japaneseBrandNames.contains(firstValue)) {
-            log.debug("Sheet '{}': data start confirmed — first row starts with brand '{}'",
-                    sheet.getSheetName(), firstValue);
-        } else {
-            log.warn("Sheet '{}': first data row at index {} starts with '{}' which is not a known brand — " +
-                    "header detection may be incorrect", sheet.getSheetName(), dataStartRow, firstValue);
-        }
+    private static boolean isXlsx(Path inputPath) {
+        String name = inputPath.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".xlsx") || name.endsWith(".xlsm");
     }
 
     /**
-     * Builds a map of (rowIndex:colIndex) → value for every non-origin cell
-     * in each merged region. The origin (top-left) cell already holds the value
-     * in POI; this map covers all other cells in the region so they can be looked
-     * up during header row reading when the cell is blank.
-     *
-     * <p>Both horizontal and vertical expansion are intentional: group headers in
-     * the source XLS often span multiple rows (vertical) AND multiple columns
-     * (horizontal), and every cell in the merge needs the value available as a
-     * fallback. Duplicate-label resolution is handled downstream in
-     * {@link com.originspecs.dataprep.processor.WorkBookProcessor} using data
-     * fill-rate comparison, not by restricting expansion here.
+     * Reads a sheet in one forward pass: each cell is decoded once and handed to a
+     * {@link SheetScanner}, which classifies header and data rows and expands merged cells.
      */
-    private Map<String, String> buildMergedCellValueMap(Sheet sheet) {
-        Map<String, String> mergedValues = new HashMap<>();
-
-        for (CellRangeAddress region : sheet.getMergedRegions()) {
-            Row firstRow = sheet.getRow(region.getFirstRow());
-            if (firstRow == null) continue;
-
-            Cell originCell = firstRow.getCell(region.getFirstColumn(), Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-            String value = originCell == null ? "" : formatter.formatCellValue(originCell).strip();
+    private WorkSheetData readSheet(Sheet sheet, int index, CellDecoder decoder, RunMetrics metrics) {
+        StageTimer timer = metrics.start(Stage.READ, sheet.getSheetName());
+        SheetReadEvent event = new SheetReadEvent();
+        event.begin();
+        WorkSheetData worksheetData = new WorkSheetData();
+        worksheetData.setName(sheet.getSheetName());
+        worksheetData.setIndex(index);
+        worksheetData.setOriginalRowCount(sheet.getLastRowNum() + 1);
 
-            if (value.isEmpty()) continue;
+        SheetScanner scanner = new SheetScanner(sheet.getSheetName(), japaneseBrandNames,
+                options.headerLookahead(), MergedRegionIndex.of(sheet.getMergedRegions()), options.newRowList());
 
-            for (int r = region.getFirstRow(); r <= region.getLastRow(); r++) {
-                for (int c = region.getFirstColumn(); c <= region.getLastColumn(); c++) {
-                    if (r == region.getFirstRow() && c == region.getFirstColumn()) continue;
-                    mergedValues.put(r + ":" + c, value);
-                }
+        long cellsFormatted = 0;
+        try {
+            for (Row row : sheet) {
+                List<String> cells = decoder.decodeRow(row);
+                cellsFormatted += cells.size();
+                scanner.accept(row.getRowNum(), cells);
             }
+            scanner.finish(worksheetData);
+        } catch (RuntimeException e) {
+            scanner.discard();
+            throw e;
         }
-
-        log.debug("Sheet '{}': resolved {} merged cell positions", sheet.getSheetName(), mergedValues.size());
-        return mergedValues;
+        timer.stop(worksheetData.getOriginalRowCount(), worksheetData.getRows().size(),
+                worksheetData.getOriginalColumnCount(), worksheetData.getOriginalColumnCount(), cellsFormatted);
+        SheetReadEvent.commit(event, worksheetData, cellsFormatted);
+        return worksheetData;
     }
 }
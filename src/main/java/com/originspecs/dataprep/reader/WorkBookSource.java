@@ -0,0 +1,163 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.model.FormulaStatistics;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An open workbook whose sheets are read in two passes, for callers that consume data rows
+ * lazily instead of materializing a {@link com.originspecs.dataprep.model.WorkBookData}:
+ * <ol>
+ *   <li>{@link #outline(int)} scans a sheet for its header range, raw header rows and column
+ *       statistics — everything needed to resolve headers — without keeping any data row.</li>
+ *   <li>{@link #dataRows(WorkSheetData)} then decodes the sheet's data rows one at a time as
+ *       the iterator is advanced, with merged cells expanded exactly as {@link WorkBookReader}
+ *       expands them.</li>
+ * </ol>
+ *
+ * <p>The workbook is opened read-only through the POI user model for both .xls and .xlsx,
+ * whatever {@link ReaderOptions#engine()} says, and stays loaded until {@link #close()}: the
+ * whole {@code HSSFWorkbook} or {@code XSSFWorkbook} is on the heap, as with
+ * {@link WorkBookReader}. What the lazy passes save is the processed row model, not the
+ * workbook. {@link ReaderOptions#rowStorage()} is not used since no rows are stored. Formula
+ * cells follow {@link ReaderOptions#formulaStrategy()}.
+ *
+ * <p>Not thread-safe: the formatter and formula evaluator are shared by every pass.
+ */
+@Slf4j
+public final class WorkBookSource implements Closeable {
+
+    private final Workbook workbook;
+    private final String fileName;
+    private final Set<String> japaneseBrandNames;
+    private final ReaderOptions options;
+    private final CellDecoder decoder;
+
+    private WorkBookSource(Workbook workbook, String fileName, Set<String> japaneseBrandNames, ReaderOptions options) {
+        this.workbook = workbook;
+        this.fileName = fileName;
+        this.japaneseBrandNames = japaneseBrandNames;
+        this.options = options;
+        this.decoder = new CellDecoder(workbook, options.formulaStrategy());
+    }
+
+    /**
+     * Opens an .xls or .xlsx workbook read-only.
+     *
+     * @param inputPath          Path to the workbook
+     * @param japaneseBrandNames Brand names used for header detection, as for {@link WorkBookReader}
+     * @param options            Header look-ahead and formula strategy
+     */
+    public static WorkBookSource open(Path inputPath, Set<String> japaneseBrandNames, ReaderOptions options)
+            throws IOException {
+        log.info("Opening workbook for lazy reading from {}", inputPath.toAbsolutePath());
+        Workbook workbook = WorkbookFactory.create(inputPath.toFile(), null, true);
+        return new WorkBookSource(workbook, inputPath.getFileName().toString(), japaneseBrandNames, options);
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+
+    public int sheetCount() {
+        return workbook.getNumberOfSheets();
+    }
+
+    /**
+     * Scans sheet {@code sheetIndex} once and returns it without data rows: name, index,
+     * dimensions, header range, raw header rows and the column statistics of its data rows.
+     */
+    public WorkSheetData outline(int sheetIndex) {
+        Sheet sheet = workbook.getSheetAt(sheetIndex);
+        WorkSheetData outline = new WorkSheetData();
+        outline.setName(sheet.getSheetName());
+        outline.setIndex(sheetIndex);
+        outline.setOriginalRowCount(sheet.getLastRowNum() + 1);
+
+        SheetScanner scanner = new SheetScanner(sheet.getSheetName(), japaneseBrandNames, options.headerLookahead(),
+                MergedRegionIndex.of(sheet.getMergedRegions()), new ArrayList<>(), false);
+        for (Row row : sheet) {
+            scanner.accept(row.getRowNum(), decoder.decodeRow(row));
+        }
+        scanner.finish(outline);
+        return outline;
+    }
+
+    /**
+     * Returns the data rows of the sheet described by {@code outline} (the rows below its
+     * header range), decoding each row only when the iterator reaches it.
+     */
+    public Iterator<RowData> dataRows(WorkSheetData outline) {
+        Sheet sheet = workbook.getSheetAt(outline.getIndex());
+        return new DataRowIterator(sheet.iterator(), MergedRegionIndex.of(sheet.getMergedRegions()),
+                outline.getHeaderRangeEnd());
+    }
+
+    /**
+     * How formula cells were resolved so far. Cells are decoded once per pass, so a sheet
+     * that was outlined and then iterated counts its formulas twice.
+     */
+    public FormulaStatistics formulaStatistics() {
+        return decoder.statistics();
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.close();
+    }
+
+    /**
+     * Decodes every row so merged-region origins in the header block are recorded, and
+     * yields those below the header range.
+     */
+    private final class DataRowIterator implements Iterator<RowData> {
+
+        private final Iterator<Row> rows;
+        private final MergedRegionIndex mergedRegions;
+        private final int headerRangeEnd;
+        private RowData next;
+
+        DataRowIterator(Iterator<Row> rows, MergedRegionIndex mergedRegions, int headerRangeEnd) {
+            this.rows = rows;
+            this.mergedRegions = mergedRegions;
+            this.headerRangeEnd = headerRangeEnd;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && rows.hasNext()) {
+                Row row = rows.next();
+                List<String> cells = decoder.decodeRow(row);
+                mergedRegions.recordOrigins(row.getRowNum(), cells);
+                if (row.getRowNum() > headerRangeEnd) {
+                    next = new RowData(mergedRegions.fillMergedBlanks(row.getRowNum(), cells));
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public RowData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RowData row = next;
+            next = null;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.WorkBookData;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads an .xlsx workbook through the {@link XSSFReader} SAX streaming path instead of
+ * building an {@code XSSFWorkbook}.
+ *
+ * <p>Each sheet part is parsed with {@link XSSFSheetXMLHandler}; decoded cell values are
+ * buffered in a {@link SheetAssembler} for the current sheet only, and the sheet's
+ * {@code <mergeCell>} elements (which follow {@code <sheetData>}) are collected by the
+ * same handler. Shared strings are held in a {@link CompactSharedStrings} arena rather than
+ * as one {@code String} per entry. Formula cells use the cached results stored in the file.
+ *
+ * <p>With a heap-bounded {@link com.originspecs.dataprep.model.RowStorage} each sheet part is
+ * parsed twice: first for its merge cells alone, then for its cells, which are handed on
+ * row by row instead of being buffered.
+ */
+@Slf4j
+class XlsxStreamingReader {
+
+    private final Set<String> japaneseBrandNames;
+    private final ReaderOptions options;
+
+    XlsxStreamingReader(Set<String> japaneseBrandNames, ReaderOptions options) {
+        this.japaneseBrandNames = japaneseBrandNames;
+        this.options = options;
+    }
+
+    WorkBookData read(Path inputPath, RunMetrics metrics) throws IOException {
+        log.info("Streaming XLSX workbook (SAX) from {}", inputPath.toAbsolutePath());
+
+        WorkBookData workBookData = new WorkBookData();
+        workBookData.setFileName(inputPath.getFileName().toString());
+
+        SheetAssembler assembler = null;
+        boolean complete = false;
+        try (OPCPackage pkg = OPCPackage.open(inputPath.toFile(), PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            SharedStrings sharedStrings = loadSharedStrings(pkg);
+            StylesTable styles = xssfReader.getStylesTable();
+            DataFormatter formatter = new DataFormatter();
+
+            XSSFReader.SheetIterator sheets = xssfReader.getSheetIterator();
+            int index = 0;
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    assembler = new SheetAssembler(
+                            sheets.getSheetName(), index++, japaneseBrandNames, options, metrics);
+                    if (options.rowStorage().boundsHeap()) {
+                        assembler.streamRows(scanMergedRegions(sheets.getSheetPart()));
+                    }
+                    List<CellRangeAddress> mergedRegions = new ArrayList<>();
+
+                    parseSheet(sheetStream, new MergeAwareSheetHandler(
+                            styles, sharedStrings, new AssemblingContentsHandler(assembler), formatter, mergedRegions));
+
+                    workBookData.getWorksheets().add(assembler.finish(mergedRegions));
+                    assembler = null;
+                }
+            }
+            complete = true;
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("Failed to stream XLSX workbook " + inputPath + ": " + e.getMessage(), e);
+        } finally {
+            if (!complete) {
+                // Spilled and off-heap rows of the sheets read so far are not reachable by the caller
+                if (assembler != null) {
+                    assembler.discard();
+                }
+                RowStorage.release(workBookData);
+            }
+        }
+
+        workBookData.setWorksheetCount(workBookData.getWorksheets().size());
+        log.info("Read {} worksheet(s) from '{}'", workBookData.getWorksheetCount(), workBookData.getFileName());
+        return workBookData;
+    }
+
+    private SharedStrings loadSharedStrings(OPCPackage pkg) throws IOException, SAXException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return CompactSharedStrings.empty();
+        }
+        CompactSharedStrings strings = CompactSharedStrings.load(parts.get(0));
+        log.debug("Loaded {} shared strings into {} bytes", strings.getUniqueCount(), strings.retainedBytes());
+        return strings;
+    }
+
+    /**
+     * Parses a sheet part once for its {@code <mergeCell>} elements only, without decoding
+     * any cell, so the main pass can hand complete rows on instead of buffering the sheet.
+     */
+    private List<CellRangeAddress> scanMergedRegions(PackagePart sheetPart) throws IOException, SAXException {
+        List<CellRangeAddress> mergedRegions = new ArrayList<>();
+        try (InputStream sheetStream = sheetPart.getInputStream()) {
+            parseSheet(sheetStream, new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    String ref = "mergeCell".equals(localName) ? attributes.getValue("ref") : null;
+                    if (ref != null) {
+                        mergedRegions.add(CellRangeAddress.valueOf(ref));
+                    }
+                }
+            });
+        }
+        return mergedRegions;
+    }
+
+    private void parseSheet(InputStream sheetStream, ContentHandler handler) throws IOException, SAXException {
+        try {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(handler);
+            parser.parse(new InputSource(sheetStream));
+        } catch (ParserConfigurationException e) {
+            throw new IOException("SAX parser appears to be broken - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sheet handler that additionally records {@code <mergeCell ref="..."/>} elements,
+     * which {@link XSSFSheetXMLHandler} itself ignores.
+     */
+    private static class MergeAwareSheetHandler extends XSSFSheetXMLHandler {
+
+        private final List<CellRangeAddress> mergedRegions;
+
+        MergeAwareSheetHandler(StylesTable styles, SharedStrings strings, SheetContentsHandler output,
+                               DataFormatter formatter, List<CellRangeAddress> mergedRegions) {
+            super(styles, strings, output, formatter, false);
+            this.mergedRegions = mergedRegions;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            if ("mergeCell".equals(localName)) {
+                String ref = attributes.getValue("ref");
+                if (ref != null) {
+                    mergedRegions.add(CellRangeAddress.valueOf(ref));
+                }
+            }
+            super.startElement(uri, localName, qName, attributes);
+        }
+    }
+
+    private record AssemblingContentsHandler(SheetAssembler assembler) implements SheetContentsHandler {
+
+        @Override
+        public void startRow(int rowNum) {
+            assembler.touchRow(rowNum);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Rows are complete as soon as their cells have been recorded
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null) {
+                return;
+            }
+            CellReference ref = new CellReference(cellReference);
+            assembler.cell(ref.getRow(), ref.getCol(), formattedValue);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.originspecs.dataprep.synthetic;
+
+import com.originspecs.dataprep.config.CarListBuilder;
+import com.originspecs.dataprep.config.Constants;
+import com.originspecs.dataprep.model.CarBrand;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes reproducible workbooks laid out like the MLIT fuel economy files, for benchmarks and
+ * memory tests that cannot use the real (uncommitted) inputs.
+ *
+ * <p>Every sheet follows the same template:
+ * <pre>
+ *   Row 0   → title (1 cell)                                   — pre-header metadata
+ *   Row 1   → source note (1 cell)                             — pre-header metadata
+ *   Row 2   → missing
+ *   Row 3   → 車名 | 通称名 | 型式 | group labels merged across every 4 spec columns
+ *   Row 4   → spec labels (燃料消費率, 車両重量, …)
+ *   Row 5   → units (km/L, kg, …)
+ *   Row 6…  → data rows: brand and model name on the first row of each model group, merged
+ *             vertically over the group; numeric, text, sparse and formula spec columns
+ *   last 2  → (注）footnotes
+ * </pre>
+ * 車名, 通称名 and 型式 are merged vertically over the three header rows. Column kinds (numeric
+ * or text, sparse, formula) are drawn once per workbook, so every sheet shares one template,
+ * as in the real files. Formula cells reference the first spec column of their row and carry
+ * their calculated result, so cached and evaluated reads agree.
+ *
+ * <p>{@code .xlsx} is written through {@link SXSSFWorkbook}, which keeps a window of rows on
+ * the heap and scales to millions of cells; any other extension produces {@code .xls}, which
+ * POI builds entirely in memory and which is limited to 65,536 rows per sheet.
+ */
+@Slf4j
+public class SyntheticWorkbookGenerator {
+
+    static final int HEADER_START_ROW = 3;
+    static final int HEADER_ROWS = 3;
+    static final int FOOTNOTE_ROWS = 2;
+
+    private static final int SXSSF_ROW_WINDOW = 100;
+    private static final int SPARSE_FILL_INTERVAL = 50;
+    private static final int GROUP_WIDTH = 4;
+
+    private static final List<String> GROUP_LABELS = List.of("諸元", "性能", "環境性能", "装備");
+    private static final List<String> MODEL_NAMES =
+            List.of("カローラ", "フィット", "ノート", "CX-5", "フォレスター", "スイフト", "タント", "デリカ", "プリウス", "N-BOX");
+    private static final List<String> MODEL_TYPE_PREFIXES = List.of("5BA", "6BA", "6AA", "3BA", "4BA", "6LA");
+
+    private enum Kind { NUMBER, TEXT }
+
+    private record Template(String japanese, String english, String unit, Kind kind,
+                            double min, double max, int decimals, List<String> options) {
+
+        static Template number(String japanese, String english, String unit, double min, double max, int decimals) {
+            return new Template(japanese, english, unit, Kind.NUMBER, min, max, decimals, List.of());
+        }
+
+        static Template text(String japanese, String english, String... options) {
+            return new Template(japanese, english, "", Kind.TEXT, 0, 0, 0, List.of(options));
+        }
+    }
+
+    // The first entry is the reference column of every formula, so it is numeric
+    private static final List<Template> CATALOGUE = List.of(
+            Template.number("燃料消費率", "Fuel Economy", "km/L", 8, 38, 1),
+            Template.number("排気量", "Displacement", "L", 0.658, 4.998, 3),
+            Template.number("車両重量", "Vehicle Weight", "kg", 780, 2_600, 0),
+            Template.number("乗車定員", "Seating Capacity", "名", 2, 8, 0),
+            Template.text("原動機型式", "Engine Model", "L15B", "M15A", "2ZR", "K20C", "FB20", "R06A", "HR12"),
+            Template.number("最高出力", "Max Power", "kW", 38, 300, 0),
+            Template.number("最大トルク", "Max Torque", "N·m", 60, 500, 0),
+            Template.text("変速装置の型式", "Transmission", "CVT", "6AT", "8AT", "5MT", "6MT"),
+            Template.text("駆動方式", "Drive", "FF", "FR", "4WD", "AWD"),
+            Template.number("CO2排出量", "CO2 Emissions", "g/km", 60, 260, 0),
+            Template.text("燃料の種類", "Fuel Type", "ガソリン", "軽油", "ハイブリッド"),
+            Template.text("主要燃費改善対策", "Efficiency Measures", "アイドリングストップ", "可変バルブタイミング", "電動パワーステアリング"),
+            Template.number("基準値", "Standard Value", "km/L", 10, 30, 1),
+            Template.number("達成率", "Achievement Rate", "%", 80, 160, 0)
+    );
+
+    /**
+     * One spec column of the template. {@code formulaFactor} is 0 for plain columns.
+     */
+    private record SpecColumn(String japanese, String english, Template template, boolean sparse,
+                              double formulaFactor) {
+    }
+
+    private final SyntheticWorkbookSpec spec;
+    private final List<SpecColumn> specColumns;
+
+    public SyntheticWorkbookGenerator(SyntheticWorkbookSpec spec) {
+        this.spec = spec;
+        this.specColumns = planColumns(spec, new Random(spec.seed()));
+    }
+
+    /**
+     * Writes the workbook to {@code outputPath}, creating its parent directory if needed.
+     *
+     * @throws IllegalArgumentException if the output is .xls and a sheet would exceed its row limit
+     */
+    public Path generate(Path outputPath) throws IOException {
+        boolean xlsx = outputPath.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xlsx");
+        int sheetRows = HEADER_START_ROW + HEADER_ROWS + spec.rowsPerSheet() + FOOTNOTE_ROWS;
+        int maxRows = SpreadsheetVersion.EXCEL97.getMaxRows();
+        if (!xlsx && sheetRows > maxRows) {
+            throw new IllegalArgumentException(String.format(
+                    "%d rows per sheet do not fit in .xls (limit %d) — write to an .xlsx path or use more sheets",
+                    sheetRows, maxRows));
+        }
+
+        Path parentDir = outputPath.toAbsolutePath().getParent();
+        if (parentDir != null) {
+            Files.createDirectories(parentDir);
+        }
+
+        Random random = new Random(spec.seed());
+        try (Workbook workbook = xlsx ? new SXSSFWorkbook(new XSSFWorkbook(), SXSSF_ROW_WINDOW, true, true)
+                                      : new HSSFWorkbook();
+             OutputStream os = Files.newOutputStream(outputPath)) {
+            Map<Integer, CellStyle> styles = new LinkedHashMap<>();
+            for (int s = 0; s < spec.sheets(); s++) {
+                String brand = spec.brands().get(s % spec.brands().size());
+                int round = s / spec.brands().size();
+                String sheetName = round == 0 ? brand : brand + "(" + (round + 1) + ")";
+                writeSheet(workbook, workbook.createSheet(sheetName), brand, styles, random);
+            }
+            workbook.write(os);
+        }
+
+        log.info("Generated synthetic workbook {}: {} sheet(s) × {} rows × {} columns ({} data cells, seed {})",
+                outputPath.toAbsolutePath(), spec.sheets(), spec.rowsPerSheet(), spec.columns(),
+                spec.cellCount(), spec.seed());
+        return outputPath;
+    }
+
+    /**
+     * Japanese → English mapping for every header label the generated workbooks use, in the
+     * form {@link com.originspecs.dataprep.config.PermittedHeadersBuilder#load()} returns.
+     */
+    public Map<String, String> permittedHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(Constants.CAR_NAME_JP, Constants.CAR_NAME_EN);
+        headers.put("通称名", Constants.COMMON_NAME_EN);
+        headers.put("型式", "Model Type");
+        for (SpecColumn column : specColumns) {
+            headers.put(column.japanese(), column.english());
+        }
+        return headers;
+    }
+
+    // -----------------------------------------------------------------------
+    // Template
+    // -----------------------------------------------------------------------
+
+    private static List<SpecColumn> planColumns(SyntheticWorkbookSpec spec, Random random) {
+        int count = spec.columns() - SyntheticWorkbookSpec.FIXED_COLUMNS;
+        List<SpecColumn> columns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Template template = CATALOGUE.get(i % CATALOGUE.size());
+            int cycle = i / CATALOGUE.size();
+            String japanese = cycle == 0 ? template.japanese() : template.japanese() + (cycle + 1);
+            String english = cycle == 0 ? template.english() : template.english() + " " + (cycle + 1);
+
+            // The formula reference column stays dense and plain
+            boolean sparse = i > 0 && random.nextDouble() < spec.sparsity();
+            boolean formula = i > 0 && !sparse && template.kind() == Kind.NUMBER
+                    && random.nextDouble() < spec.formulaRatio();
+            double factor = formula ? 0.5 + random.nextInt(101) / 100.0 : 0;
+            columns.add(new SpecColumn(japanese, english, template, sparse, factor));
+        }
+        return columns;
+    }
+
+    // -----------------------------------------------------------------------
+    // Sheet layout
+    // -----------------------------------------------------------------------
+
+    private void writeSheet(Workbook workbook, Sheet sheet, String brand, Map<Integer, CellStyle> styles,
+                            Random random) {
+        sheet.createRow(0).createCell(0).setCellValue("自動車の燃費一覧（" + brand + "）");
+        sheet.createRow(1).createCell(0).setCellValue("国土交通省 自動車局 — 合成データ (seed " + spec.seed() + ")");
+        writeHeaderRows(sheet);
+
+        int firstDataRow = HEADER_START_ROW + HEADER_ROWS;
+        int groupStart = firstDataRow;
+        int model = 0;
+        for (int r = 0; r < spec.rowsPerSheet(); r++) {
+            int rowIndex = firstDataRow + r;
+            boolean newGroup = r == 0 || random.nextDouble() < spec.mergeDensity();
+            if (newGroup) {
+                mergeGroup(sheet, groupStart, rowIndex - 1);
+                groupStart = rowIndex;
+                model++;
+            }
+            writeDataRow(workbook, sheet.createRow(rowIndex), brand, newGroup, model, styles, random);
+        }
+        mergeGroup(sheet, groupStart, firstDataRow + spec.rowsPerSheet() - 1);
+
+        int footnoteRow = firstDataRow + spec.rowsPerSheet();
+        sheet.createRow(footnoteRow).createCell(0).setCellValue("(注）1. 燃料消費率は国土交通省審査値である。");
+        sheet.createRow(footnoteRow + 1).createCell(0).setCellValue("(注）2. 合成データであり、実在の車両とは関係ない。");
+    }
+
+    private void writeHeaderRows(Sheet sheet) {
+        Row groups = sheet.createRow(HEADER_START_ROW);
+        Row labels = sheet.createRow(HEADER_START_ROW + 1);
+        Row units = sheet.createRow(HEADER_START_ROW + 2);
+        int lastHeaderRow = HEADER_START_ROW + HEADER_ROWS - 1;
+
+        List<String> fixed = List.of(Constants.CAR_NAME_JP, "通称名", "型式");
+        for (int c = 0; c < fixed.size(); c++) {
+            groups.createCell(c).setCellValue(fixed.get(c));
+            sheet.addMergedRegion(new CellRangeAddress(HEADER_START_ROW, lastHeaderRow, c, c));
+        }
+
+        for (int i = 0; i < specColumns.size(); i++) {
+            int c = SyntheticWorkbookSpec.FIXED_COLUMNS + i;
+            SpecColumn column = specColumns.get(i);
+            labels.createCell(c).setCellValue(column.japanese());
+            units.createCell(c).setCellValue(column.template().unit());
+            if (i % GROUP_WIDTH == 0) {
+                groups.createCell(c).setCellValue(GROUP_LABELS.get(i / GROUP_WIDTH % GROUP_LABELS.size()));
+                int last = Math.min(c + GROUP_WIDTH - 1, spec.columns() - 1);
+                if (last > c) {
+                    sheet.addMergedRegion(new CellRangeAddress(HEADER_START_ROW, HEADER_START_ROW, c, last));
+                }
+            }
+        }
+    }
+
+    private void writeDataRow(Workbook workbook, Row row, String brand, boolean newGroup, int model,
+                              Map<Integer, CellStyle> styles, Random random) {
+        row.createCell(0).setCellValue(newGroup ? brand : "");
+        row.createCell(1).setCellValue(newGroup
+                ? MODEL_NAMES.get(model % MODEL_NAMES.size()) + (model / MODEL_NAMES.size() + 1) : "");
+        row.createCell(2).setCellValue(modelType(random));
+
+        double reference = 0;
+        for (int i = 0; i < specColumns.size(); i++) {
+            SpecColumn column = specColumns.get(i);
+            Template template = column.template();
+            if (column.sparse() && random.nextInt(SPARSE_FILL_INTERVAL) != 0) {
+                continue;
+            }
+
+            Cell cell = row.createCell(SyntheticWorkbookSpec.FIXED_COLUMNS + i);
+            if (template.kind() == Kind.TEXT) {
+                cell.setCellValue(template.options().get(random.nextInt(template.options().size())));
+                continue;
+            }
+
+            cell.setCellStyle(styles.computeIfAbsent(template.decimals(), decimals -> numberStyle(workbook, decimals)));
+            if (column.formulaFactor() > 0) {
+                String ref = new CellReference(row.getRowNum(), SyntheticWorkbookSpec.FIXED_COLUMNS).formatAsString();
+                cell.setCellFormula("ROUND(" + ref + "*" + column.formulaFactor() + "," + template.decimals() + ")");
+                // Cached result, rounded the way POI's ROUND does
+                cell.setCellValue(round(reference * column.formulaFactor(), template.decimals()));
+            } else {
+                double value = round(template.min() + random.nextDouble() * (template.max() - template.min()),
+                        template.decimals());
+                cell.setCellValue(value);
+                if (i == 0) {
+                    reference = value;
+                }
+            }
+        }
+    }
+
+    private static String modelType(Random random) {
+        return MODEL_TYPE_PREFIXES.get(random.nextInt(MODEL_TYPE_PREFIXES.size())) + "-"
+                + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26)) + (10 + random.nextInt(90));
+    }
+
+    private static CellStyle numberStyle(Workbook workbook, int decimals) {
+        CellStyle style = workbook.createCellStyle();
+        String format = decimals == 0 ? "#,##0" : "0." + "0".repeat(decimals);
+        style.setDataFormat(workbook.createDataFormat().getFormat(format));
+        return style;
+    }
+
+    /**
+     * Merges Car Name and Common Name over a model group of more than one row.
+     */
+    private static void mergeGroup(Sheet sheet, int firstRow, int lastRow) {
+        if (lastRow > firstRow) {
+            // Groups never overlap, so skip POI's check against every existing region
+            sheet.addMergedRegionUnsafe(new CellRangeAddress(firstRow, lastRow, 0, 0));
+            sheet.addMergedRegionUnsafe(new CellRangeAddress(firstRow, lastRow, 1, 1));
+        }
+    }
+
+    private static double round(double value, int decimals) {
+        return BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    // -----------------------------------------------------------------------
+    // Command line
+    // -----------------------------------------------------------------------
+
+    /**
+     * Usage: {@code <output.xls|.xlsx> <cells> [seed]}. Brands come from {@code autoList.csv}
+     * in the working directory when it exists, otherwise from the built-in list.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException(
+                    "Usage: SyntheticWorkbookGenerator <output.xls|.xlsx> <cells> [seed]");
+        }
+        SyntheticWorkbookSpec spec = SyntheticWorkbookSpec.defaults().withTargetCells(Long.parseLong(args[1]));
+        if (args.length == 3) {
+            spec = spec.withSeed(Long.parseLong(args[2]));
+        }
+        if (Files.exists(Path.of("autoList.csv"))) {
+            List<String> brands = CarListBuilder.populateBrandList("autoList.csv").stream()
+                    .map(CarBrand::japanese)
+                    .toList();
+            if (!brands.isEmpty()) {
+                spec = spec.withBrands(brands);
+            }
+        }
+        new SyntheticWorkbookGenerator(spec).generate(Path.of(args[0]));
+    }
+}
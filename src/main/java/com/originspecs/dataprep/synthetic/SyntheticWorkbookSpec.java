@@ -0,0 +1,119 @@
+package com.originspecs.dataprep.synthetic;
+
+import java.util.List;
+
+/**
+ * Shape of a workbook produced by {@link SyntheticWorkbookGenerator}. The same spec and seed
+ * always produce the same cells.
+ *
+ * @param seed          Seed for every random choice: column kinds, values, group lengths
+ * @param sheets        Number of worksheets, one brand each (brands are reused round-robin)
+ * @param rowsPerSheet  Data rows per sheet, excluding metadata, header and footnote rows
+ * @param columns       Columns per sheet, including Car Name, Common Name and Model Type
+ * @param mergeDensity  Share of data rows that start a new model group; Car Name and Common
+ *                      Name are merged vertically over each group
+ * @param sparsity      Share of spec columns that are sparse (filled in about one row in 50)
+ * @param formulaRatio  Share of numeric spec columns holding formulas, with cached results
+ * @param brands        Japanese brand names written in column A of the data rows
+ */
+public record SyntheticWorkbookSpec(long seed, int sheets, int rowsPerSheet, int columns,
+                                    double mergeDensity, double sparsity, double formulaRatio,
+                                    List<String> brands) {
+
+    /**
+     * Rows per sheet that {@link #withTargetCells} stays below, so a spec fits in .xls as well.
+     */
+    public static final int MAX_ROWS_PER_SHEET = 60_000;
+
+    /** Car Name, Common Name and Model Type come first in every sheet. */
+    static final int FIXED_COLUMNS = 3;
+
+    private static final List<String> DEFAULT_BRANDS =
+            List.of("トヨタ", "ホンダ", "日産", "マツダ", "スバル", "スズキ", "ダイハツ", "三菱");
+
+    public SyntheticWorkbookSpec {
+        if (sheets < 1) {
+            throw new IllegalArgumentException("sheets must be at least 1, got: " + sheets);
+        }
+        if (rowsPerSheet < 1) {
+            throw new IllegalArgumentException("rowsPerSheet must be at least 1, got: " + rowsPerSheet);
+        }
+        if (columns < FIXED_COLUMNS + 1) {
+            throw new IllegalArgumentException("columns must be at least " + (FIXED_COLUMNS + 1) + ", got: " + columns);
+        }
+        requireRatio("mergeDensity", mergeDensity);
+        requireRatio("sparsity", sparsity);
+        requireRatio("formulaRatio", formulaRatio);
+        if (brands.isEmpty()) {
+            throw new IllegalArgumentException("brands must not be empty");
+        }
+        brands = List.copyOf(brands);
+    }
+
+    /**
+     * Four sheets of 1,000 rows by 40 columns (160k cells), a new model group every ten rows
+     * on average, 30% sparse columns and 5% formula columns.
+     */
+    public static SyntheticWorkbookSpec defaults() {
+        return new SyntheticWorkbookSpec(1, 4, 1_000, 40, 0.1, 0.3, 0.05, DEFAULT_BRANDS);
+    }
+
+    /**
+     * Sizes the workbook to about {@code cells} data cells at the current column count:
+     * keeps the sheet count unless a sheet would exceed {@value #MAX_ROWS_PER_SHEET} rows
+     * (more sheets are added) or there are more sheets than rows (fewer are used).
+     */
+    public SyntheticWorkbookSpec withTargetCells(long cells) {
+        if (cells < 1) {
+            throw new IllegalArgumentException("cells must be at least 1, got: " + cells);
+        }
+        long totalRows = Math.ceilDiv(cells, columns);
+        long sheetCount = Math.max(Math.min(sheets, totalRows), Math.ceilDiv(totalRows, MAX_ROWS_PER_SHEET));
+        int rows = Math.toIntExact(Math.ceilDiv(totalRows, sheetCount));
+        return new SyntheticWorkbookSpec(seed, Math.toIntExact(sheetCount), rows, columns,
+                mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withSeed(long seed) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withSheets(int sheets) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withRowsPerSheet(int rowsPerSheet) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withColumns(int columns) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withMergeDensity(double mergeDensity) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withSparsity(double sparsity) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withFormulaRatio(double formulaRatio) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    public SyntheticWorkbookSpec withBrands(List<String> brands) {
+        return new SyntheticWorkbookSpec(seed, sheets, rowsPerSheet, columns, mergeDensity, sparsity, formulaRatio, brands);
+    }
+
+    /** Data cells over all sheets. */
+    public long cellCount() {
+        return (long) sheets * rowsPerSheet * columns;
+    }
+
+    private static void requireRatio(String name, double value) {
+        if (Double.isNaN(value) || value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be between 0.0 and 1.0, got: " + value);
+        }
+    }
+}
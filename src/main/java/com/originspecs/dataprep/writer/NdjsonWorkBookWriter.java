@@ -0,0 +1,189 @@
+package com.originspecs.dataprep.writer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.metrics.SheetWriteEvent;
+import com.originspecs.dataprep.metrics.Stage;
+import com.originspecs.dataprep.metrics.StageTimer;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a processed workbook as newline-delimited JSON, for consumers such as spec-extractor
+ * that would otherwise parse the .xls output again with POI.
+ *
+ * <p>Each sheet starts with a schema record, followed by one object per data row keyed by the
+ * resolved English headers:
+ * <pre>
+ *   {"$schema":{"sheet":"Toyota","index":0,"columns":["Car Name","Common Name"],"rows":2}}
+ *   {"Car Name":"トヨタ","Common Name":"カローラ"}
+ *   {"Car Name":"トヨタ","Common Name":"プリウス"}
+ * </pre>
+ * A row belongs to the sheet of the schema record before it. Blank header labels become
+ * {@code column_<n>} (1-based) and repeated labels get a {@code _2}, {@code _3}… suffix, so
+ * every key in a row is unique; the schema lists the keys actually used.
+ *
+ * <p>Output is streamed through a single {@link JsonGenerator} with no per-row object trees.
+ * A path ending in {@code .gz} is gzip-compressed.
+ */
+@Slf4j
+public class NdjsonWorkBookWriter {
+
+    /** Key of the per-sheet schema record. Starts with '$' so it cannot clash with a header label. */
+    public static final String SCHEMA_KEY = "$schema";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    // Thread-safe once configured; generators created from it are not shared
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * True if {@code outputPath} names NDJSON output: {@code .ndjson} or {@code .jsonl},
+     * optionally followed by {@code .gz}.
+     */
+    public static boolean handles(Path outputPath) {
+        String name = outputPath.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - ".gz".length());
+        }
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+
+    /**
+     * Writes every sheet of {@code workBook} to {@code outputPath}, gzip-compressed if the
+     * path ends in {@code .gz}. The parent directory must exist.
+     */
+    public void write(WorkBookData workBook, Path outputPath) throws IOException {
+        write(workBook, outputPath, RunMetrics.NONE);
+    }
+
+    /**
+     * Writes every sheet as {@link #write(WorkBookData, Path)} does, recording a
+     * {@link Stage#WRITE} sample per sheet into {@code metrics}.
+     */
+    public void write(WorkBookData workBook, Path outputPath, RunMetrics metrics) throws IOException {
+        boolean gzip = outputPath.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+
+        long rowCount = 0;
+        try (OutputStream os = open(outputPath, gzip);
+             JsonGenerator generator = jsonFactory.createGenerator(os, JsonEncoding.UTF8)) {
+            // Records are separated by the newline each one ends with, not Jackson's default space
+            generator.setRootValueSeparator(null);
+            for (WorkSheetData sheetData : workBook.getWorksheets()) {
+                rowCount += writeSheet(generator, sheetData, metrics);
+            }
+        }
+        log.info("NDJSON written successfully: {} sheet(s), {} row(s){}",
+                workBook.getWorksheets().size(), rowCount, gzip ? " (gzip)" : "");
+    }
+
+    private static OutputStream open(Path outputPath, boolean gzip) throws IOException {
+        OutputStream os = Files.newOutputStream(outputPath);
+        return gzip ? new GZIPOutputStream(os, GZIP_BUFFER_SIZE) : os;
+    }
+
+    private int writeSheet(JsonGenerator generator, WorkSheetData sheetData, RunMetrics metrics) throws IOException {
+        StageTimer timer = metrics.start(Stage.WRITE, sheetData.getName());
+        SheetWriteEvent event = new SheetWriteEvent();
+        event.begin();
+        Set<String> used = new HashSet<>();
+        List<String> keys = keysFor(sheetData.getHeaders(), used);
+        // Field names are reused for every row, so serialize them once
+        List<SerializedString> fieldNames = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            fieldNames.add(new SerializedString(key));
+        }
+
+        writeSchema(generator, sheetData, keys);
+        for (RowData row : sheetData.getRows()) {
+            List<String> values = row.getCellValues();
+            // Processed rows match their headers; a wider row gets keys for its extra cells
+            while (fieldNames.size() < values.size()) {
+                fieldNames.add(new SerializedString(uniqueKey("", fieldNames.size(), used)));
+            }
+            writeRow(generator, fieldNames, values);
+        }
+
+        int rowCount = sheetData.getRows().size();
+        timer.stop(rowCount, rowCount, sheetData.getHeaders().size(), keys.size(), 0);
+        if (event.shouldCommit()) {
+            event.sheet = sheetData.getName();
+            event.format = "ndjson";
+            event.rows = rowCount;
+            event.columns = keys.size();
+            event.commit();
+        }
+        log.debug("Sheet '{}' written: {} row(s)", sheetData.getName(), rowCount);
+        return sheetData.getRows().size();
+    }
+
+    private static void writeSchema(JsonGenerator generator, WorkSheetData sheetData, List<String> keys)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectFieldStart(SCHEMA_KEY);
+        generator.writeStringField("sheet", sheetData.getName());
+        generator.writeNumberField("index", sheetData.getIndex());
+        generator.writeArrayFieldStart("columns");
+        for (String key : keys) {
+            generator.writeString(key);
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("rows", sheetData.getRows().size());
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeRow(JsonGenerator generator, List<SerializedString> fieldNames, List<String> values)
+            throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < fieldNames.size(); i++) {
+            generator.writeFieldName(fieldNames.get(i));
+            generator.writeString(i < values.size() ? values.get(i) : "");
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * One unique key per header, see {@link #uniqueKey}. Built from the headers alone, so the
+     * rows are traversed only once, while they are written.
+     */
+    private static List<String> keysFor(List<String> headers, Set<String> used) {
+        List<String> keys = new ArrayList<>(headers.size());
+        for (int i = 0; i < headers.size(); i++) {
+            keys.add(uniqueKey(headers.get(i), i, used));
+        }
+        return keys;
+    }
+
+    /**
+     * The resolved header, {@code column_<n>} when blank, with a numeric suffix if the key is
+     * already in {@code used}; the returned key is added to {@code used}.
+     */
+    private static String uniqueKey(String header, int columnIndex, Set<String> used) {
+        String stripped = header.strip();
+        String base = stripped.isEmpty() ? "column_" + (columnIndex + 1) : stripped;
+        String key = base;
+        for (int n = 2; !used.add(key); n++) {
+            key = base + "_" + n;
+        }
+        return key;
+    }
+}
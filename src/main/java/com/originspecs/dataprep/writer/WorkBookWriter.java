@@ -1,41 +1,96 @@
 package com.originspecs.dataprep.writer;
 
+import com.originspecs.dataprep.config.Config;
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.metrics.SheetWriteEvent;
+import com.originspecs.dataprep.metrics.Stage;
+import com.originspecs.dataprep.metrics.StageTimer;
 import com.originspecs.dataprep.model.RowData;
 import com.originspecs.dataprep.model.WorkBookData;
 import com.originspecs.dataprep.model.WorkSheetData;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 public class WorkBookWriter {
 
+    private final int rowWindow;
+    private final NdjsonWorkBookWriter ndjsonWriter = new NdjsonWorkBookWriter();
+
+    /** Creates a writer that uses the default SXSSF row window for .xlsx output. */
+    public WorkBookWriter() {
+        this(Config.DEFAULT_ROW_WINDOW);
+    }
+
     /**
-     * Writes a WorkBookData model to a new .xls file, preserving the sheet structure.
+     * Creates a writer for .xls, .xlsx and NDJSON output.
+     *
+     * @param rowWindow Number of rows per sheet kept in memory when writing .xlsx; older rows
+     *                  are flushed to a compressed temp file as new rows are created
+     */
+    public WorkBookWriter(int rowWindow) {
+        this.rowWindow = rowWindow;
+    }
+
+    /**
+     * Writes a WorkBookData model to a new workbook file, preserving the sheet structure.
      * Headers are written as the first row of each sheet.
      *
+     * <p>The output format follows the file extension: {@code .xlsx} is written through
+     * {@link SXSSFWorkbook}, which keeps only {@code rowWindow} rows per sheet on the heap
+     * and has no 65,536-row limit; {@code .ndjson} / {@code .jsonl} (optionally {@code .gz})
+     * is streamed as JSON lines by {@link NdjsonWorkBookWriter}; anything else is written as
+     * .xls via {@link HSSFWorkbook}.
+     *
      * @param workBook   The workbook model to write
      * @param outputPath Where to save the new file
      */
     public void write(WorkBookData workBook, Path outputPath) throws IOException {
+        write(workBook, outputPath, RunMetrics.NONE);
+    }
+
+    /**
+     * Writes a workbook as {@link #write(WorkBookData, Path)} does, recording a
+     * {@link Stage#WRITE} sample per sheet into {@code metrics}. For .xls and .xlsx the
+     * per-sheet samples cover building the sheet; serializing the workbook file happens
+     * once, after the last sheet.
+     *
+     * @param workBook   The workbook model to write
+     * @param outputPath Where to save the new file
+     * @param metrics    Run to record per-sheet samples into
+     */
+    public void write(WorkBookData workBook, Path outputPath, RunMetrics metrics) throws IOException {
         log.info("Writing workbook '{}' to {}", workBook.getFileName(), outputPath.toAbsolutePath());
 
         ensureOutputDirectoryExists(outputPath);
+        if (NdjsonWorkBookWriter.handles(outputPath)) {
+            ndjsonWriter.write(workBook, outputPath, metrics);
+            return;
+        }
 
-        try (Workbook workbook = new HSSFWorkbook();
+        boolean xlsx = isXlsx(outputPath);
+        if (!xlsx) {
+            checkXlsRowLimit(workBook);
+        }
+
+        try (Workbook workbook = xlsx ? new SXSSFWorkbook(null, rowWindow, true) : new HSSFWorkbook();
              OutputStream os = Files.newOutputStream(outputPath)) {
 
             for (WorkSheetData sheetData : workBook.getWorksheets()) {
                 Sheet sheet = workbook.createSheet(sheetData.getName());
-                writeSheet(sheet, sheetData);
+                writeSheet(sheet, sheetData, xlsx ? "xlsx" : "xls", metrics);
             }
 
             workbook.write(os);
@@ -43,7 +98,10 @@ public class WorkBookWriter {
         }
     }
 
-    private void writeSheet(Sheet sheet, WorkSheetData sheetData) {
+    private void writeSheet(Sheet sheet, WorkSheetData sheetData, String format, RunMetrics metrics) {
+        StageTimer timer = metrics.start(Stage.WRITE, sheetData.getName());
+        SheetWriteEvent event = new SheetWriteEvent();
+        event.begin();
         int rowIndex = 0;
 
         if (!sheetData.getHeaders().isEmpty()) {
@@ -54,6 +112,14 @@ public class WorkBookWriter {
             writeRow(sheet.createRow(rowIndex++), rowData.getCellValues());
         }
 
+        timer.stop(sheetData.getRows().size(), rowIndex, sheetData.getHeaders().size(), sheetData.getHeaders().size(), 0);
+        if (event.shouldCommit()) {
+            event.sheet = sheetData.getName();
+            event.format = format;
+            event.rows = sheetData.getRows().size();
+            event.columns = sheetData.getHeaders().size();
+            event.commit();
+        }
         log.debug("Sheet '{}' written: {} row(s)", sheetData.getName(), rowIndex);
     }
 
@@ -63,6 +129,37 @@ public class WorkBookWriter {
         }
     }
 
+    /**
+     * The format {@link #write} produces for {@code outputPath}: {@code "ndjson"} or
+     * {@code "ndjson.gz"} (for .ndjson and .jsonl), {@code "xlsx"}, or {@code "xls"} for any
+     * other extension, including compound ones such as {@code .csv.gz}.
+     */
+    public static String formatOf(Path outputPath) {
+        if (NdjsonWorkBookWriter.handles(outputPath)) {
+            return outputPath.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz") ? "ndjson.gz" : "ndjson";
+        }
+        return isXlsx(outputPath) ? "xlsx" : "xls";
+    }
+
+    private static boolean isXlsx(Path outputPath) {
+        return outputPath.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xlsx");
+    }
+
+    /**
+     * Fails before any output is written if a sheet cannot fit in the .xls format.
+     */
+    private void checkXlsRowLimit(WorkBookData workBook) {
+        int maxRows = SpreadsheetVersion.EXCEL97.getMaxRows();
+        for (WorkSheetData sheetData : workBook.getWorksheets()) {
+            int rowCount = sheetData.getRows().size() + (sheetData.getHeaders().isEmpty() ? 0 : 1);
+            if (rowCount > maxRows) {
+                throw new IllegalArgumentException(String.format(
+                        "Sheet '%s' has %d rows but .xls output is limited to %d — write to an .xlsx path instead",
+                        sheetData.getName(), rowCount, maxRows));
+            }
+        }
+    }
+
     private void ensureOutputDirectoryExists(Path outputPath) throws IOException {
         Path parentDir = outputPath.getParent();
         if (parentDir != null && !Files.exists(parentDir)) {
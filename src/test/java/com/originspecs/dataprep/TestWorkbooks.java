@@ -0,0 +1,124 @@
+package com.originspecs.dataprep;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Small workbooks written to disk for tests that run the pipeline on real files.
+ */
+public final class TestWorkbooks {
+
+    /** Header row of every {@link #writeCarList} sheet. */
+    public static final List<String> CAR_LIST_HEADERS = List.of("車名", "通称名", "型式", "エンジン");
+
+    private TestWorkbooks() {
+    }
+
+    /**
+     * Writes an .xls workbook with a single sheet "Sheet1": the {@link #CAR_LIST_HEADERS} row
+     * followed by {@code dataRows}.
+     *
+     * @return {@code path}
+     */
+    public static Path writeCarList(Path path, List<List<String>> dataRows) throws IOException {
+        return writeCarList(path, new HSSFWorkbook(), dataRows);
+    }
+
+    /**
+     * Same as {@link #writeCarList(Path, List)}, in the format of {@code target}, which is closed
+     * afterwards.
+     */
+    public static Path writeCarList(Path path, Workbook target, List<List<String>> dataRows) throws IOException {
+        try (Workbook workbook = target;
+             OutputStream os = Files.newOutputStream(path)) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            writeRow(sheet, 0, CAR_LIST_HEADERS.toArray(String[]::new));
+            for (int i = 0; i < dataRows.size(); i++) {
+                writeRow(sheet, i + 1, dataRows.get(i).toArray(String[]::new));
+            }
+            workbook.write(os);
+        }
+        return path;
+    }
+
+    /**
+     * {@code count} Toyota Corolla rows for {@link #writeCarList}, with model types
+     * ZRE211, ZRE212, ...
+     */
+    public static List<List<String>> corollaRows(int count) {
+        List<List<String>> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(List.of("トヨタ", "カローラ", "ZRE21" + i, "2ZR"));
+        }
+        return rows;
+    }
+
+    /**
+     * Writes a small MLIT-shaped workbook in the format of {@code target}, which is closed
+     * afterwards. Sheet "Honda" mirrors the real files:
+     * <pre>
+     *   Row 0 → title metadata (1 cell)                 — pre-header
+     *   Row 1 → group headers, "諸元" merged over B2:C2
+     *   Row 2 → 車名 | 通称名 | 型式 | エンジン | 長さ   — header anchor
+     *   Row 3 → ホンダ | フィット (merged B4:B5) | GK3 | L13B | =LEN(C4)
+     *   Row 4 →        |                          | GK4 | L15B
+     *   Row 5 →        | シビック                 | ZE2 | LEA  | 4550
+     *   Row 6 →        |                          | FL1 | K20C
+     *   Row 7 → (注）footnote
+     * </pre>
+     * Column E is filled on two of the five data-section rows, so a threshold of 0.5 drops
+     * it. Sheet "Toyota" has its 車名 row at the top, and sheet "Notes" has no 車名 anchor.
+     *
+     * @return {@code path}
+     */
+    public static Path writeMlitWorkbook(Workbook target, Path path) throws IOException {
+        try (Workbook workbook = target) {
+            Sheet sheet = workbook.createSheet("Honda");
+            writeRow(sheet, 0, "自動車の燃費一覧");
+            writeRow(sheet, 1, "区分", "諸元", "", "性能", "寸法");
+            writeRow(sheet, 2, "車名", "通称名", "型式", "エンジン", "長さ");
+            writeRow(sheet, 3, "ホンダ", "フィット", "GK3", "L13B");
+            writeRow(sheet, 4, "", "", "GK4", "L15B", "");
+            writeRow(sheet, 5, "", "シビック", "ZE2", "LEA", "4550");
+            writeRow(sheet, 6, "", "", "FL1", "K20C");
+            writeRow(sheet, 7, "", "", "(注）ホンダ技研工業");
+
+            sheet.getRow(3).createCell(4).setCellFormula("LEN(C4)");
+            sheet.addMergedRegion(new CellRangeAddress(1, 1, 1, 2));
+            sheet.addMergedRegion(new CellRangeAddress(3, 4, 1, 1));
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+
+            Sheet toyota = workbook.createSheet("Toyota");
+            writeRow(toyota, 0, "車名", "通称名", "型式", "エンジン");
+            writeRow(toyota, 1, "トヨタ", "プリウス", "ZVW60", "2ZR");
+            writeRow(toyota, 2, "", "", "ZVW65", "2ZR");
+
+            Sheet notes = workbook.createSheet("Notes");
+            writeRow(notes, 0, "備考");
+            writeRow(notes, 2, "text", "123");
+
+            try (OutputStream os = Files.newOutputStream(path)) {
+                workbook.write(os);
+            }
+        }
+        return path;
+    }
+
+    /** Writes {@code values} as string cells into row {@code index}, starting at column 0. */
+    public static void writeRow(Sheet sheet, int index, String... values) {
+        Row row = sheet.createRow(index);
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
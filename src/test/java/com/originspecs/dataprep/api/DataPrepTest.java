@@ -0,0 +1,250 @@
+package com.originspecs.dataprep.api;
+
+import com.originspecs.dataprep.TestWorkbooks;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link DataPrep}.
+ *
+ * <p>The lazily produced rows are checked against the batch pipeline — {@link WorkBookReader}
+ * followed by {@link WorkBookProcessor} — on an MLIT-shaped workbook with a pre-header row,
+ * a merged group header, a Common Name merged over two data rows, a trailing footnote and a
+ * sparse column that the threshold drops.
+ */
+class DataPrepTest {
+
+    private static final Set<String> BRANDS = Set.of("ホンダ", "トヨタ");
+
+    private static final Map<String, String> PERMITTED = Map.of(
+            "車名",    "Car Name",
+            "通称名",  "Common Name",
+            "型式",    "Model Type",
+            "エンジン", "Engine",
+            "備考",    "Remarks"
+    );
+
+    private static final double THRESHOLD = 0.5;
+
+    @TempDir
+    Path tempDir;
+
+    // --- Equivalence with the batch pipeline ---
+
+    @Test
+    void open_xlsInput_yieldsSameHeadersAndRowsAsBatchPipeline() throws IOException {
+        Path input = TestWorkbooks.writeMlitWorkbook(new HSSFWorkbook(), tempDir.resolve("honda.xls"));
+
+        assertSameAsBatch(input);
+    }
+
+    @Test
+    void open_xlsxInput_yieldsSameHeadersAndRowsAsBatchPipeline() throws IOException {
+        Path input = TestWorkbooks.writeMlitWorkbook(new XSSFWorkbook(), tempDir.resolve("honda.xlsx"));
+
+        assertSameAsBatch(input);
+    }
+
+    // --- Lazy passes ---
+
+    @Test
+    void rows_calledTwice_startsANewPassEachTime() throws IOException {
+        Path input = TestWorkbooks.writeMlitWorkbook(new HSSFWorkbook(), tempDir.resolve("honda.xls"));
+
+        try (PreparedWorkbook workbook = open(input)) {
+            PreparedSheet sheet = workbook.sheet("Honda").orElseThrow();
+            List<List<String>> first;
+            try (Stream<SpecRow> rows = sheet.rows()) {
+                first = rows.map(SpecRow::values).toList();
+            }
+            List<List<String>> second = new ArrayList<>();
+            for (SpecRow row : sheet) {
+                second.add(row.values());
+            }
+
+            assertThat(first).hasSize(sheet.rowCount()).isEqualTo(second);
+        }
+    }
+
+    @Test
+    void rows_fillDownGroupColumnsAndDropSparseColumn() throws IOException {
+        Path input = TestWorkbooks.writeMlitWorkbook(new HSSFWorkbook(), tempDir.resolve("honda.xls"));
+
+        try (PreparedWorkbook workbook = open(input)) {
+            PreparedSheet sheet = workbook.sheets().get(0);
+            List<SpecRow> rows = sheet.rows().toList();
+
+            assertThat(sheet.headers()).containsExactly("Car Name", "Common Name", "Model Type", "Engine");
+            assertThat(rows.get(1).get("Car Name")).isEqualTo("ホンダ");
+            assertThat(rows.get(1).get("Common Name")).isEqualTo("フィット");
+            assertThat(rows.get(1).get("長さ")).isNull();
+            assertThat(rows.get(2).asMap()).containsEntry("Model Type", "ZE2").containsEntry("Car Name", "ホンダ");
+        }
+    }
+
+    // --- Reactive publishing ---
+
+    @Test
+    void publisher_paceByDemand_deliversRequestedRowsOnlyThenCompletes() throws IOException {
+        Path input = TestWorkbooks.writeMlitWorkbook(new HSSFWorkbook(), tempDir.resolve("honda.xls"));
+
+        try (PreparedWorkbook workbook = open(input)) {
+            PreparedSheet sheet = workbook.sheet("Honda").orElseThrow();
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            // Runs delivery inside request(), so every assertion sees a settled state
+            sheet.publisher(Runnable::run).subscribe(subscriber);
+
+            assertThat(subscriber.rows).isEmpty();
+            subscriber.subscription.request(2);
+            assertThat(subscriber.rows).hasSize(2);
+            assertThat(subscriber.completed).isFalse();
+
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertThat(subscriber.rows).isEqualTo(sheet.rows().map(SpecRow::values).toList());
+            assertThat(subscriber.completed).isTrue();
+        }
+    }
+
+    @Test
+    void publisher_oneRowPerRequestOnExecutor_matchesStream() throws Exception {
+        Path input = TestWorkbooks.writeMlitWorkbook(new XSSFWorkbook(), tempDir.resolve("honda.xlsx"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (PreparedWorkbook workbook = open(input)) {
+            PreparedSheet sheet = workbook.sheet("Honda").orElseThrow();
+            List<List<String>> rows = new ArrayList<>();
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            sheet.publisher(executor).subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(RowData row) {
+                    rows.add(row.getCellValues());
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    done.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    done.complete(null);
+                }
+            });
+
+            done.get(10, TimeUnit.SECONDS);
+            assertThat(rows).isEqualTo(sheet.rows().map(SpecRow::values).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void publisher_nonPositiveRequest_signalsError() throws IOException {
+        Path input = TestWorkbooks.writeMlitWorkbook(new HSSFWorkbook(), tempDir.resolve("honda.xls"));
+
+        try (PreparedWorkbook workbook = open(input)) {
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            workbook.sheets().get(0).rawPublisher(Runnable::run).subscribe(subscriber);
+
+            subscriber.subscription.request(0);
+
+            assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+            assertThat(subscriber.rows).isEmpty();
+        }
+    }
+
+    // --- Options ---
+
+    @Test
+    void dataPrepOptions_thresholdOutOfRange_throws() {
+        assertThatThrownBy(() -> DataPrepOptions.of(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("columnThreshold");
+    }
+
+    // -----------------------------------------------------------------------
+    // Helpers
+    // -----------------------------------------------------------------------
+
+    private static PreparedWorkbook open(Path input) throws IOException {
+        return DataPrep.open(input, DataPrepOptions.of(THRESHOLD), PERMITTED, BRANDS);
+    }
+
+    private static void assertSameAsBatch(Path input) throws IOException {
+        WorkBookData batch = new WorkBookProcessor(PERMITTED)
+                .process(new WorkBookReader(BRANDS).read(input), THRESHOLD);
+
+        try (PreparedWorkbook workbook = open(input)) {
+            assertThat(workbook.sheets()).hasSize(batch.getWorksheetCount());
+            for (int i = 0; i < batch.getWorksheetCount(); i++) {
+                WorkSheetData want = batch.getWorksheets().get(i);
+                PreparedSheet got = workbook.sheets().get(i);
+
+                assertThat(got.name()).isEqualTo(want.getName());
+                assertThat(got.headers()).isEqualTo(want.getHeaders());
+                assertThat(got.rows().map(SpecRow::values).toList())
+                        .isEqualTo(want.getRows().stream().map(RowData::getCellValues).toList());
+            }
+        }
+    }
+
+    /** Records every signal; the test drives demand through {@link #subscription}. */
+    private static final class RecordingSubscriber implements Flow.Subscriber<RowData> {
+        final List<List<String>> rows = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(RowData row) {
+            rows.add(row.getCellValues());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
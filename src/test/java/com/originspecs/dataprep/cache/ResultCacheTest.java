@@ -0,0 +1,129 @@
+package com.originspecs.dataprep.cache;
+
+import com.originspecs.dataprep.config.Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ResultCache}. Inputs and outputs are plain byte files — the cache
+ * never looks inside them.
+ */
+class ResultCacheTest {
+
+    private static final String FINGERPRINT = ResultCache.fingerprint(Map.of("車名", "Car Name"), Set.of("トヨタ"));
+
+    @TempDir
+    Path tempDir;
+
+    private Path cacheDir;
+    private Path input;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheDir = tempDir.resolve("cache");
+        input = Files.writeString(tempDir.resolve("toyota.xls"), "input-bytes");
+    }
+
+    @Test
+    void key_changesWithInputBytesThresholdAndReferenceData() throws IOException {
+        ResultCache cache = new ResultCache(cacheDir, 1 << 20, FINGERPRINT);
+        String key = cache.key(config(0.01));
+
+        assertThat(cache.key(config(0.01))).isEqualTo(key);
+        assertThat(cache.key(config(0.05))).isNotEqualTo(key);
+
+        Files.writeString(input, "changed-bytes");
+        assertThat(cache.key(config(0.01))).isNotEqualTo(key);
+
+        String otherFingerprint = ResultCache.fingerprint(Map.of("車名", "Make"), Set.of("トヨタ"));
+        assertThat(new ResultCache(cacheDir, 1 << 20, otherFingerprint).key(config(0.05)))
+                .isNotEqualTo(cache.key(config(0.05)));
+    }
+
+    @Test
+    void key_compoundGzipSuffixes_followResolvedOutputFormat() throws IOException {
+        ResultCache cache = new ResultCache(cacheDir, 1 << 20, FINGERPRINT);
+
+        String ndjsonGz = cache.key(config(0.01, "out.ndjson.gz"));
+        String xlsGz = cache.key(config(0.01, "out.xls.gz"));
+
+        assertThat(ndjsonGz).isNotEqualTo(xlsGz);
+        assertThat(cache.key(config(0.01, "out.jsonl.gz"))).isEqualTo(ndjsonGz);
+        assertThat(cache.key(config(0.01, "out.ndjson"))).isNotEqualTo(ndjsonGz);
+        // Both are written as .xls by WorkBookWriter
+        assertThat(cache.key(config(0.01, "out.csv.gz"))).isEqualTo(xlsGz);
+    }
+
+    @Test
+    void restore_afterStore_copiesOutputAndCountsHit() throws IOException {
+        ResultCache cache = new ResultCache(cacheDir, 1 << 20, FINGERPRINT);
+        String key = cache.key(config(0.01));
+        Path output = tempDir.resolve("out.xls");
+
+        assertThat(cache.restore(key, output)).isEmpty();
+
+        Files.writeString(output, "processed-output");
+        cache.store(key, output, 2, 40);
+        Files.delete(output);
+
+        assertThat(cache.restore(key, output)).contains(new ResultCache.CachedOutput(2, 40));
+        assertThat(output).hasContent("processed-output");
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void store_overBudget_evictsLeastRecentlyUsedEntries() throws IOException {
+        ResultCache cache = new ResultCache(cacheDir, 25, FINGERPRINT);
+        Path output = tempDir.resolve("out.xls");
+
+        Files.writeString(output, "0123456789");
+        cache.store("aaa", output, 1, 1);
+        cache.store("bbb", output, 1, 1);
+        // Make "aaa" the oldest entry, then touch it via a hit so "bbb" becomes least recently used
+        Files.setLastModifiedTime(cacheDir.resolve("aaa.xls"), FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(cacheDir.resolve("bbb.xls"), FileTime.fromMillis(2_000));
+        cache.restore("aaa", tempDir.resolve("restored.xls"));
+
+        cache.store("ccc", output, 1, 1);
+
+        assertThat(cacheDir.resolve("aaa.xls")).exists();
+        assertThat(cacheDir.resolve("bbb.xls")).doesNotExist();
+        assertThat(cacheDir.resolve("bbb.properties")).doesNotExist();
+        assertThat(cacheDir.resolve("ccc.xls")).exists();
+    }
+
+    @Test
+    void store_overBudget_leavesFilesThatAreNotEntries() throws IOException {
+        ResultCache cache = new ResultCache(cacheDir, 15, FINGERPRINT);
+        Path output = Files.writeString(tempDir.resolve("out.xls"), "0123456789");
+        Path headerLabels = Files.writeString(Files.createDirectories(cacheDir).resolve("header-labels.json"), "{}");
+        Files.setLastModifiedTime(headerLabels, FileTime.fromMillis(1_000));
+
+        cache.store("aaa", output, 1, 1);
+        cache.store("bbb", output, 1, 1);
+
+        assertThat(headerLabels).exists();
+        assertThat(cacheDir.resolve("bbb.xls")).exists();
+    }
+
+    // --- Helpers ---
+
+    private Config config(double threshold) {
+        return config(threshold, "out.xls");
+    }
+
+    private Config config(double threshold, String outputName) {
+        return new Config(input, tempDir.resolve(outputName), threshold);
+    }
+}
@@ -1,9 +1,12 @@
 package com.originspecs.dataprep.config;
 
+import com.originspecs.dataprep.model.RowStorage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.file.Path;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -77,4 +80,109 @@ class ConfigTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("columnThreshold");
     }
+
+    // --- Options ---
+
+    @Test
+    void fromArgs_noOptions_defaultsToUserModelReader() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD});
+
+        assertThat(config.readerEngine()).isEqualTo(ReaderEngine.USER_MODEL);
+    }
+
+    @Test
+    void fromArgs_readerOption_selectsEventEngine() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--reader=event"});
+
+        assertThat(config.readerEngine()).isEqualTo(ReaderEngine.EVENT);
+    }
+
+    @Test
+    void fromArgs_storageOption_selectsColumnarStorage() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--storage=columnar"});
+
+        assertThat(config.rowStorage()).isEqualTo(RowStorage.COLUMNAR);
+        assertThat(Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--storage=off-heap"})
+                .rowStorage()).isEqualTo(RowStorage.OFF_HEAP);
+    }
+
+    @Test
+    void fromArgs_spillStorageOptions_setBudgetAndDirectory() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD,
+                "--storage=spill", "--heap-budget-mb=64", "--spill-dir=/var/tmp/dataprep"});
+
+        assertThat(config.rowStorage()).isEqualTo(RowStorage.SPILL);
+        assertThat(config.heapBudgetBytes()).isEqualTo(64L * 1024 * 1024);
+        assertThat(config.spillDir()).isEqualTo(Path.of("/var/tmp/dataprep"));
+        assertThat(Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD}).spillDir()).isNull();
+    }
+
+    @Test
+    void fromArgs_parallelismOption_isParsed_andMustBePositive() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--parallelism=8"});
+
+        assertThat(config.parallelism()).isEqualTo(8);
+        assertThatThrownBy(() -> Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--parallelism=0"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("parallelism");
+    }
+
+    @Test
+    void fromArgs_headerLookaheadOption_isParsed_andDefaults() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--header-lookahead=50"});
+
+        assertThat(config.headerLookahead()).isEqualTo(50);
+        assertThat(Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD}).headerLookahead())
+                .isEqualTo(Config.DEFAULT_HEADER_LOOKAHEAD);
+    }
+
+    @Test
+    void fromArgs_formulasOption_selectsStrategy_andDefaultsToEvaluate() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--formulas=cached"});
+
+        assertThat(config.formulaStrategy()).isEqualTo(FormulaStrategy.CACHED);
+        assertThat(Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD}).formulaStrategy())
+                .isEqualTo(FormulaStrategy.EVALUATE);
+        assertThatThrownBy(() -> Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--formulas=lazy"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("formulas");
+    }
+
+    @Test
+    void isBatch_fileNameGlob_isTrue_singleFile_isFalse() {
+        assertThat(Config.fromArgs(new String[]{"data/*.xls", "out/", VALID_THRESHOLD}).isBatch()).isTrue();
+        assertThat(Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD}).isBatch()).isFalse();
+    }
+
+    @Test
+    void fromArgs_bareWatchFlag_enablesWatchMode() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--watch"});
+
+        assertThat(config.watch()).isTrue();
+    }
+
+    @Test
+    void fromArgs_cacheDirOption_enablesResultCache() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD,
+                "--cache-dir=.cache", "--cache-max-mb=16"});
+
+        assertThat(config.cacheEnabled()).isTrue();
+        assertThat(config.cacheMaxBytes()).isEqualTo(16L * 1024 * 1024);
+        assertThat(Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD}).cacheEnabled()).isFalse();
+    }
+
+    @Test
+    void fromArgs_bareReportFlag_enablesRunReport_offByDefault() {
+        Config config = Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--report"});
+
+        assertThat(config.report()).isTrue();
+        assertThat(Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD}).report()).isFalse();
+    }
+
+    @Test
+    void fromArgs_unknownOption_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> Config.fromArgs(new String[]{VALID_INPUT, VALID_OUTPUT, VALID_THRESHOLD, "--colour=red"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("colour");
+    }
 }
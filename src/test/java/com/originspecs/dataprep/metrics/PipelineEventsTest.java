@@ -0,0 +1,80 @@
+package com.originspecs.dataprep.metrics;
+
+import com.originspecs.dataprep.TestWorkbooks;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import com.originspecs.dataprep.writer.WorkBookWriter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records a read → process → write run with JDK Flight Recorder and checks that every
+ * pipeline phase emits its event for the sheet.
+ */
+class PipelineEventsTest {
+
+    private static final List<String> EVENT_NAMES = List.of(
+            "com.originspecs.dataprep.SheetRead",
+            "com.originspecs.dataprep.HeaderDetection",
+            "com.originspecs.dataprep.ColumnThreshold",
+            "com.originspecs.dataprep.HeaderResolution",
+            "com.originspecs.dataprep.Dedup",
+            "com.originspecs.dataprep.FillDown",
+            "com.originspecs.dataprep.SheetWrite");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void pipelineRun_recorded_emitsOneEventPerPhaseWithSheetName() throws IOException {
+        Path input = writeWorkbook(tempDir.resolve("toyota.xls"));
+        Path recordingFile = tempDir.resolve("run.jfr");
+
+        try (Recording recording = new Recording()) {
+            EVENT_NAMES.forEach(name -> recording.enable(name).withoutThreshold());
+            recording.start();
+            WorkBookData read = new WorkBookReader(Set.of("トヨタ")).read(input);
+            WorkBookData processed = new WorkBookProcessor(Map.of("車名", "Car Name")).process(read, 0.01);
+            new WorkBookWriter().write(processed, tempDir.resolve("out.xls"));
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        Map<String, RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .collect(Collectors.toMap(event -> event.getEventType().getName(), event -> event));
+        assertThat(events).containsOnlyKeys(EVENT_NAMES);
+        events.values().forEach(event -> assertThat(event.getString("sheet")).isEqualTo("Sheet1"));
+
+        assertThat(events.get("com.originspecs.dataprep.SheetRead").getLong("dataRows")).isEqualTo(2);
+        assertThat(events.get("com.originspecs.dataprep.SheetRead").getLong("cellsFormatted")).isEqualTo(4 + 3 + 3);
+        assertThat(events.get("com.originspecs.dataprep.HeaderDetection").getBoolean("detected")).isTrue();
+        assertThat(events.get("com.originspecs.dataprep.HeaderDetection").getInt("headerEndRow")).isZero();
+        assertThat(events.get("com.originspecs.dataprep.ColumnThreshold").getInt("columnsKept")).isEqualTo(3);
+        assertThat(events.get("com.originspecs.dataprep.HeaderResolution").getInt("labelsResolved")).isEqualTo(3);
+        assertThat(events.get("com.originspecs.dataprep.FillDown").getLong("rows")).isEqualTo(2);
+        assertThat(events.get("com.originspecs.dataprep.SheetWrite").getString("format")).isEqualTo("xls");
+        assertThat(events.get("com.originspecs.dataprep.SheetWrite").getDuration().isNegative()).isFalse();
+    }
+
+    // --- Helpers ---
+
+    /** Rows leave エンジン empty, so the threshold drops that column. */
+    private static Path writeWorkbook(Path path) throws IOException {
+        return TestWorkbooks.writeCarList(path, List.of(
+                List.of("トヨタ", "カローラ", "ZRE212"),
+                List.of("", "カローラ", "ZRE214")));
+    }
+}
@@ -0,0 +1,84 @@
+package com.originspecs.dataprep.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ColumnStatistics}.
+ *
+ * <p>Rows with at least {@link ColumnStatistics#DATA_ROW_MIN_CELLS} non-empty cells are
+ * data rows; the single-cell rows below are footnotes.
+ */
+class ColumnStatisticsTest {
+
+    private static final List<RowData> ROWS = List.of(
+            row("スバル", "フォレスター", "FB20", "1650kg", ""),
+            row("",       "フォレスター", "FB20", "1650kg", "2.0L"),
+            row("",       "",             "(注）", "",       ""),
+            row("",       "アウトバック", "FA24", "1840kg", "2.4L"),
+            row("",       "",             "",      " ",      "※1"));
+
+    @Test
+    void addRow_countsNonEmptyCellsPerColumn() {
+        ColumnStatistics statistics = ColumnStatistics.of(ROWS);
+
+        assertThat(statistics.rowCount()).isEqualTo(5);
+        assertThat(statistics.columnCount()).isEqualTo(5);
+        assertThat(statistics.nonEmptyCount(2)).isEqualTo(4);
+        assertThat(statistics.nonEmptyCount(3)).isEqualTo(3);
+        assertThat(statistics.fillRate(0)).isEqualTo(0.2);
+        assertThat(statistics.nonEmptyCount(9)).isZero();
+    }
+
+    @Test
+    void addRow_tracksDataRowsAndLastDataRow() {
+        ColumnStatistics statistics = ColumnStatistics.of(ROWS);
+
+        assertThat(statistics.dataRowCount()).isEqualTo(3);
+        assertThat(statistics.isDataRow(2)).isFalse();
+        assertThat(statistics.lastDataRowIndex()).isEqualTo(3);
+    }
+
+    @Test
+    void dataRowFillRate_excludesFootnoteRows() {
+        ColumnStatistics statistics = ColumnStatistics.of(ROWS);
+
+        // "※1" in the trailing footnote does not count towards column 4
+        assertThat(statistics.dataRowFillRate(4)).isEqualTo(2.0 / 3);
+        assertThat(statistics.fillRate(4)).isEqualTo(3.0 / 5);
+    }
+
+    @Test
+    void dataRowFillRate_withoutDataRows_fallsBackToOverallFillRate() {
+        ColumnStatistics statistics = ColumnStatistics.of(List.of(row("(注）"), row("")));
+
+        assertThat(statistics.lastDataRowIndex()).isEqualTo(-1);
+        assertThat(statistics.dataRowFillRate(0)).isEqualTo(0.5);
+    }
+
+    @Test
+    void of_columnarRows_matchesRowByRowStatistics() {
+        List<RowData> columnar = RowStorage.COLUMNAR.newRowList();
+        columnar.addAll(ROWS);
+
+        ColumnStatistics expected = ColumnStatistics.of(new ArrayList<>(ROWS));
+        ColumnStatistics actual = ColumnStatistics.of(columnar);
+
+        assertThat(actual.dataRowCount()).isEqualTo(expected.dataRowCount());
+        assertThat(actual.lastDataRowIndex()).isEqualTo(expected.lastDataRowIndex());
+        for (int c = 0; c < expected.columnCount(); c++) {
+            assertThat(actual.nonEmptyCount(c)).isEqualTo(expected.nonEmptyCount(c));
+            assertThat(actual.dataRowFillRate(c)).isEqualTo(expected.dataRowFillRate(c));
+        }
+    }
+
+    // --- Helpers ---
+
+    private static RowData row(String... values) {
+        return new RowData(List.of(values));
+    }
+}
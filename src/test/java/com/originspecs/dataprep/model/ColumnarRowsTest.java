@@ -0,0 +1,73 @@
+package com.originspecs.dataprep.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ColumnarRows} and its {@link DictionaryColumn}s.
+ */
+class ColumnarRowsTest {
+
+    @Test
+    void get_returnsRowViewsEqualToTheRowsAdded() {
+        ColumnarRows rows = columnar(
+                List.of("スバル", "フォレスター", "FB20"),
+                List.of("", "フォレスター"),
+                List.of("スバル", "アウトバック", "FA24", "(注）"));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(new RowData(List.of("スバル", "フォレスター", "FB20")));
+        assertThat(rows.get(1).size()).isEqualTo(2);
+        assertThat(rows.get(1).getCell(2)).isEmpty();
+        assertThat(rows.get(2).getCellValues()).containsExactly("スバル", "アウトバック", "FA24", "(注）");
+        assertThat(rows.columnCount()).isEqualTo(4);
+    }
+
+    @Test
+    void add_repeatedValues_areStoredOncePerColumn() {
+        ColumnarRows rows = new ColumnarRows();
+        for (int i = 0; i < 1_000; i++) {
+            rows.add(new RowData(List.of("トヨタ", i % 2 == 0 ? "カローラ" : "ヤリス")));
+        }
+
+        // empty string + distinct values
+        assertThat(rows.column(0).cardinality()).isEqualTo(2);
+        assertThat(rows.column(1).cardinality()).isEqualTo(3);
+        assertThat(rows.get(999).getCell(1)).isEqualTo("ヤリス");
+    }
+
+    @Test
+    void nonEmptyCount_ignoresBlankAndMissingCells() {
+        ColumnarRows rows = columnar(
+                List.of("スバル", " "),
+                List.of("", "FB20"),
+                List.of("スバル"));
+
+        assertThat(rows.nonEmptyCount(0)).isEqualTo(2);
+        assertThat(rows.nonEmptyCount(1)).isEqualTo(1);
+        assertThat(rows.nonEmptyCount(5)).isZero();
+    }
+
+    @Test
+    void add_atIndexOtherThanEnd_isRejected() {
+        ColumnarRows rows = columnar(List.of("スバル"));
+
+        assertThatThrownBy(() -> rows.add(0, new RowData(List.of("トヨタ"))))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    // --- Helpers ---
+
+    @SafeVarargs
+    private static ColumnarRows columnar(List<String>... rowValues) {
+        ColumnarRows rows = new ColumnarRows();
+        for (List<String> values : rowValues) {
+            rows.add(new RowData(values));
+        }
+        return rows;
+    }
+}
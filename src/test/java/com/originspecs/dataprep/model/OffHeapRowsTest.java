@@ -0,0 +1,87 @@
+package com.originspecs.dataprep.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link OffHeapRows} and its {@link DirectChunkPool}.
+ */
+class OffHeapRowsTest {
+
+    @Test
+    void get_returnsRowViewsEqualToTheRowsAdded() {
+        OffHeapRows rows = offHeap(new DirectChunkPool(4),
+                List.of("スバル", "フォレスター", "FB20"),
+                List.of("", "フォレスター"),
+                List.of("スバル", "アウトバック", "FA24", "(注）"));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(new RowData(List.of("スバル", "フォレスター", "FB20")));
+        assertThat(rows.get(1).size()).isEqualTo(2);
+        assertThat(rows.get(1).getCell(0)).isEmpty();
+        assertThat(rows.get(1).getCell(2)).isEmpty();
+        assertThat(rows.get(2).getCellValues()).containsExactly("スバル", "アウトバック", "FA24", "(注）");
+    }
+
+    @Test
+    void add_rowsBeyondOneChunk_continueInNextChunk() {
+        OffHeapRows rows = new OffHeapRows(new DirectChunkPool(4));
+        String wide = String.join("", Collections.nCopies(1_000, "燃費"));
+        for (int i = 0; i < 1_000; i++) {
+            rows.add(new RowData(List.of("トヨタ", wide, String.valueOf(i))));
+        }
+
+        assertThat(rows.reservedBytes()).isGreaterThan(DirectChunkPool.CHUNK_BYTES);
+        assertThat(rows.get(999).getCell(2)).isEqualTo("999");
+        assertThat(rows.get(500).getCell(1)).isEqualTo(wide);
+    }
+
+    @Test
+    void add_rowLargerThanChunk_getsDedicatedBuffer() {
+        OffHeapRows rows = new OffHeapRows(new DirectChunkPool(4));
+        String huge = "A".repeat(DirectChunkPool.CHUNK_BYTES + 10);
+
+        rows.add(new RowData(List.of("スバル", huge)));
+
+        assertThat(rows.get(0).getCell(1)).hasSize(huge.length());
+    }
+
+    @Test
+    void close_returnsChunksToPoolForTheNextSheet() {
+        DirectChunkPool pool = new DirectChunkPool(4);
+        OffHeapRows first = offHeap(pool, List.of("スバル", "FB20"));
+
+        RowStorage.release(first);
+        assertThat(pool.idleChunks()).isEqualTo(1);
+        OffHeapRows second = offHeap(pool, List.of("トヨタ"));
+
+        assertThat(pool.idleChunks()).isZero();
+        assertThat(second.get(0).getCell(0)).isEqualTo("トヨタ");
+        assertThatThrownBy(() -> first.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void add_atIndexOtherThanEnd_isRejected() {
+        OffHeapRows rows = offHeap(new DirectChunkPool(4), List.of("スバル"));
+
+        assertThatThrownBy(() -> rows.add(0, new RowData(List.of("トヨタ"))))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    // --- Helpers ---
+
+    @SafeVarargs
+    private static OffHeapRows offHeap(DirectChunkPool pool, List<String>... rows) {
+        OffHeapRows offHeap = new OffHeapRows(pool);
+        for (List<String> row : rows) {
+            offHeap.add(new RowData(new ArrayList<>(row)));
+        }
+        return offHeap;
+    }
+}
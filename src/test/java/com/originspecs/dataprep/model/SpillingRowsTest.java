@@ -0,0 +1,118 @@
+package com.originspecs.dataprep.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SpillingRows} and its {@link SpillBudget}.
+ */
+class SpillingRowsTest {
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void add_withinBudget_keepsRowsOnHeapWithoutSegmentFile() throws IOException {
+        SpillBudget budget = new SpillBudget(1 << 20, spillDir);
+        SpillingRows rows = spilling(budget, 100);
+
+        assertThat(rows.spilledRows()).isZero();
+        assertThat(budget.reservedBytes()).isPositive();
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    @Test
+    void add_beyondBudget_spillsPrefixAndReadsBackInOrder() throws IOException {
+        SpillBudget budget = new SpillBudget(2_000, spillDir);
+        SpillingRows rows = spilling(budget, 500);
+
+        assertThat(rows).hasSize(500);
+        assertThat(rows.spilledRows()).isPositive().isLessThan(500);
+        assertThat(budget.reservedBytes()).isLessThanOrEqualTo(2_000);
+        assertThat(segmentFiles()).hasSize(1);
+
+        List<RowData> iterated = new ArrayList<>();
+        rows.forEach(iterated::add);
+        assertThat(iterated).isEqualTo(expected(500));
+        for (int i = 0; i < 500; i++) {
+            assertThat(rows.get(i)).isEqualTo(row(i));
+        }
+        assertThat(rows.get(3).getCell(1)).isEmpty();
+        assertThat(rows.get(1).size()).isEqualTo(3);
+    }
+
+    @Test
+    void get_backwardsAfterForwardRead_restartsCursor() {
+        SpillingRows rows = spilling(new SpillBudget(1, spillDir), 20);
+
+        assertThat(rows.get(15)).isEqualTo(row(15));
+        assertThat(rows.get(2)).isEqualTo(row(2));
+        assertThat(rows.spilledRows()).isEqualTo(20);
+    }
+
+    @Test
+    void close_deletesSegmentFileAndReleasesBudget() throws IOException {
+        SpillBudget budget = new SpillBudget(2_000, spillDir);
+        SpillingRows rows = spilling(budget, 500);
+
+        RowStorage.release(rows);
+
+        assertThat(segmentFiles()).isEmpty();
+        assertThat(budget.reservedBytes()).isZero();
+        assertThatThrownBy(() -> rows.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void budget_isSharedBetweenLists() {
+        SpillBudget budget = new SpillBudget(20_000, spillDir);
+        SpillingRows first = spilling(budget, 10);
+        SpillingRows second = spilling(budget, 500);
+
+        assertThat(first.spilledRows()).isZero();
+        assertThat(second.spilledRows()).isPositive();
+        assertThat(budget.reservedBytes()).isLessThanOrEqualTo(20_000);
+        assertThat(RowStorage.newRowListLike(second)).isInstanceOfSatisfying(SpillingRows.class,
+                derived -> assertThat(derived.budget()).isSameAs(budget));
+    }
+
+    // --- Helpers ---
+
+    private static SpillingRows spilling(SpillBudget budget, int count) {
+        SpillingRows rows = new SpillingRows(budget);
+        rows.addAll(expected(count));
+        return rows;
+    }
+
+    private static List<RowData> expected(int count) {
+        List<RowData> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(row(i));
+        }
+        return rows;
+    }
+
+    // Varying widths, blanks and multi-byte text
+    private static RowData row(int i) {
+        List<String> cells = new ArrayList<>(List.of("スバル", i % 3 == 0 ? "" : "フォレスター " + i, "FB" + i));
+        if (i % 2 == 0) {
+            cells.add("1,650kg");
+        }
+        return new RowData(cells);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.toList();
+        }
+    }
+}
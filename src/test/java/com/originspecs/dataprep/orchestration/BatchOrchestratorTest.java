@@ -0,0 +1,119 @@
+package com.originspecs.dataprep.orchestration;
+
+import com.originspecs.dataprep.TestWorkbooks;
+import com.originspecs.dataprep.config.Config;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import com.originspecs.dataprep.writer.WorkBookWriter;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link BatchOrchestrator}, using small workbooks written to a temp directory.
+ */
+class BatchOrchestratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path inputDir;
+    private Path outputDir;
+    private BatchOrchestrator batch;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        inputDir = Files.createDirectory(tempDir.resolve("in"));
+        outputDir = tempDir.resolve("out");
+        DataPrepOrchestrator orchestrator = new DataPrepOrchestrator(
+                new WorkBookReader(), new WorkBookProcessor(Map.of()), new WorkBookWriter());
+        batch = new BatchOrchestrator(orchestrator, 2);
+    }
+
+    @Test
+    void execute_directory_processesEveryWorkbookInNameOrder() throws IOException {
+        for (String brand : List.of("toyota", "honda", "subaru")) {
+            writeWorkbook(inputDir.resolve(brand + ".xls"), 3);
+        }
+        Files.writeString(inputDir.resolve("notes.txt"), "not a workbook");
+
+        BatchOrchestrator.BatchResult result = batch.execute(config(inputDir));
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.results()).extracting(r -> r.inputFile().getFileName().toString())
+                .containsExactly("honda.xls", "subaru.xls", "toyota.xls");
+        assertThat(result.results()).allSatisfy(r -> assertThat(r.rowCount()).isEqualTo(3));
+        assertThat(outputDir.resolve("honda.xls")).exists();
+        assertThat(outputDir.resolve("notes.txt")).doesNotExist();
+    }
+
+    @Test
+    void execute_glob_onlyProcessesMatchingFiles() throws IOException {
+        writeWorkbook(inputDir.resolve("2024_toyota.xls"), 1);
+        writeWorkbook(inputDir.resolve("2025_toyota.xls"), 1);
+
+        BatchOrchestrator.BatchResult result = batch.execute(config(inputDir.resolve("2025_*.xls")));
+
+        assertThat(result.results()).hasSize(1);
+        assertThat(outputDir.resolve("2025_toyota.xls")).exists();
+        assertThat(outputDir.resolve("2024_toyota.xls")).doesNotExist();
+    }
+
+    @Test
+    void execute_brokenWorkbook_isReportedWithoutStoppingOthers() throws IOException {
+        writeWorkbook(inputDir.resolve("good.xls"), 2);
+        Files.write(inputDir.resolve("broken.xls"), new byte[]{1, 2, 3, 4});
+
+        BatchOrchestrator.BatchResult result = batch.execute(config(inputDir));
+
+        assertThat(result.results()).hasSize(1);
+        assertThat(result.failures()).containsOnlyKeys(inputDir.resolve("broken.xls"));
+        assertThat(outputDir.resolve("good.xls")).exists();
+    }
+
+    @Test
+    void execute_xlsmInput_isWrittenAsXlsx() throws IOException {
+        TestWorkbooks.writeCarList(inputDir.resolve("toyota.xlsm"), new XSSFWorkbook(), TestWorkbooks.corollaRows(1));
+
+        BatchOrchestrator.BatchResult result = batch.execute(config(inputDir));
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(outputDir.resolve("toyota.xlsm")).doesNotExist();
+        try (Workbook written = WorkbookFactory.create(outputDir.resolve("toyota.xlsx").toFile())) {
+            assertThat(written).isInstanceOf(XSSFWorkbook.class);
+            assertThat(written.getSheetAt(0).getLastRowNum()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void execute_outputDirectorySameAsInput_isRejected() throws IOException {
+        writeWorkbook(inputDir.resolve("toyota.xls"), 1);
+        Config config = new Config(inputDir, inputDir, 0.01);
+
+        assertThatThrownBy(() -> batch.execute(config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must differ");
+    }
+
+    // --- Helpers ---
+
+    private Config config(Path input) {
+        return new Config(input, outputDir, 0.01);
+    }
+
+    private static void writeWorkbook(Path path, int dataRows) throws IOException {
+        TestWorkbooks.writeCarList(path, TestWorkbooks.corollaRows(dataRows));
+    }
+}
@@ -0,0 +1,163 @@
+package com.originspecs.dataprep.orchestration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.originspecs.dataprep.TestWorkbooks;
+import com.originspecs.dataprep.cache.ResultCache;
+import com.originspecs.dataprep.config.Config;
+import com.originspecs.dataprep.metrics.RunMetrics;
+import com.originspecs.dataprep.metrics.RunReport;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.SpillBudget;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.ReaderOptions;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import com.originspecs.dataprep.writer.WorkBookWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link DataPrepOrchestrator}, wired with real components over a small workbook.
+ */
+class DataPrepOrchestratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void execute_reportsSheetAndRowCounts() throws IOException {
+        Path input = writeWorkbook(tempDir.resolve("toyota.xls"));
+
+        PipelineResult result = orchestrator(null).execute(new Config(input, tempDir.resolve("out.xls"), 0.01));
+
+        assertThat(result.sheetCount()).isEqualTo(1);
+        assertThat(result.rowCount()).isEqualTo(2);
+        assertThat(result.cacheHit()).isFalse();
+    }
+
+    @Test
+    void execute_unchangedInputWithCache_copiesCachedOutputOnSecondRun() throws IOException {
+        Path input = writeWorkbook(tempDir.resolve("toyota.xls"));
+        ResultCache cache = new ResultCache(tempDir.resolve("cache"), 1 << 24, ResultCache.fingerprint(Map.of(), Set.of()));
+        DataPrepOrchestrator orchestrator = orchestrator(cache);
+
+        Path first = tempDir.resolve("first/out.xls");
+        Path second = tempDir.resolve("second/out.xls");
+        PipelineResult miss = orchestrator.execute(new Config(input, first, 0.01));
+        PipelineResult hit = orchestrator.execute(new Config(input, second, 0.01));
+
+        assertThat(miss.cacheHit()).isFalse();
+        assertThat(hit.cacheHit()).isTrue();
+        assertThat(hit.rowCount()).isEqualTo(miss.rowCount());
+        assertThat(Files.readAllBytes(second)).isEqualTo(Files.readAllBytes(first));
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_withReport_writesPerStageAndPerSheetMetricsNextToOutput() throws IOException {
+        Path input = writeWorkbook(tempDir.resolve("toyota.xls"));
+        Path output = tempDir.resolve("out.xls");
+        DataPrepOrchestrator orchestrator = orchestrator(null);
+
+        orchestrator.execute(reportingConfig(input, output));
+
+        JsonNode report = new ObjectMapper().readTree(tempDir.resolve("out.xls" + RunReport.SUFFIX).toFile());
+        assertThat(report.get("cacheHit").asBoolean()).isFalse();
+        assertThat(report.get("rowCount").asLong()).isEqualTo(2);
+        assertThat(report.get("stages").fieldNames()).toIterable().containsExactly("read", "process", "write");
+
+        JsonNode read = report.get("stages").get("read");
+        assertThat(read.get("total").has("sheet")).isFalse();
+        assertThat(read.get("total").get("rowsIn").asLong()).isEqualTo(3);
+        assertThat(read.get("total").get("rowsOut").asLong()).isEqualTo(2);
+        assertThat(read.get("total").get("cellsFormatted").asLong()).isEqualTo(12);
+        assertThat(read.get("total").get("wallNanos").asLong()).isPositive();
+        assertThat(read.get("sheets")).hasSize(1);
+        assertThat(read.get("sheets").get(0).get("sheet").asText()).isEqualTo("Sheet1");
+
+        JsonNode process = report.get("stages").get("process").get("sheets").get(0);
+        assertThat(process.get("columnsIn").asLong()).isEqualTo(4);
+        assertThat(process.get("columnsOut").asLong()).isEqualTo(4);
+
+        assertThat(orchestrator.metrics().get("pipeline.runs")).isEqualTo(1);
+        assertThat(orchestrator.metrics().get("write.rowsOut")).isEqualTo(2);
+        assertThat(orchestrator.metrics().get("read.sheets")).isEqualTo(1);
+    }
+
+    @Test
+    void execute_withoutReport_writesNoReport() throws IOException {
+        Path input = writeWorkbook(tempDir.resolve("toyota.xls"));
+
+        orchestrator(null).execute(new Config(input, tempDir.resolve("out.xls"), 0.01));
+
+        assertThat(tempDir.resolve("out.xls" + RunReport.SUFFIX)).doesNotExist();
+    }
+
+    @Test
+    void execute_cacheHitWithReport_writesReportWithoutStages() throws IOException {
+        Path input = writeWorkbook(tempDir.resolve("toyota.xls"));
+        ResultCache cache = new ResultCache(tempDir.resolve("cache"), 1 << 24, ResultCache.fingerprint(Map.of(), Set.of()));
+        DataPrepOrchestrator orchestrator = orchestrator(cache);
+
+        orchestrator.execute(reportingConfig(input, tempDir.resolve("first/out.xls")));
+        orchestrator.execute(reportingConfig(input, tempDir.resolve("second/out.xls")));
+
+        JsonNode report = new ObjectMapper().readTree(tempDir.resolve("second/out.xls" + RunReport.SUFFIX).toFile());
+        assertThat(report.get("cacheHit").asBoolean()).isTrue();
+        assertThat(report.get("rowCount").asLong()).isEqualTo(2);
+        assertThat(report.get("stages").isEmpty()).isTrue();
+        assertThat(orchestrator.metrics().get("pipeline.cacheHits")).isEqualTo(1);
+    }
+
+    @Test
+    void execute_writeFails_stillDeletesSpillFilesOfBothWorkbooks() throws IOException {
+        Path input = writeWorkbook(tempDir.resolve("toyota.xls"));
+        Path spillDir = Files.createDirectory(tempDir.resolve("spill"));
+        SpillBudget budget = new SpillBudget(1, spillDir);
+        ReaderOptions options = ReaderOptions.defaults().withRowStorage(RowStorage.SPILL).withSpillBudget(budget);
+        WorkBookWriter failingWriter = new WorkBookWriter() {
+            @Override
+            public void write(WorkBookData workBook, Path outputPath, RunMetrics metrics) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        DataPrepOrchestrator orchestrator = new DataPrepOrchestrator(
+                new WorkBookReader(Set.of(), options), new WorkBookProcessor(Map.of()), failingWriter);
+
+        assertThatThrownBy(() -> orchestrator.execute(new Config(input, tempDir.resolve("out.xls"), 0.01)))
+                .hasMessage("disk full");
+        try (Stream<Path> segments = Files.list(spillDir)) {
+            assertThat(segments).isEmpty();
+        }
+        assertThat(budget.reservedBytes()).isZero();
+    }
+
+    // --- Helpers ---
+
+    private static Config reportingConfig(Path input, Path output) {
+        return Config.fromArgs(new String[]{input.toString(), output.toString(), "0.01", "--report"});
+    }
+
+    private static DataPrepOrchestrator orchestrator(ResultCache cache) {
+        return new DataPrepOrchestrator(new WorkBookReader(), new WorkBookProcessor(Map.of()), new WorkBookWriter(), cache);
+    }
+
+    private static Path writeWorkbook(Path path) throws IOException {
+        return TestWorkbooks.writeCarList(path, List.of(
+                List.of("トヨタ", "カローラ", "ZRE212", "2ZR"),
+                List.of("", "カローラ", "ZRE214", "2ZR")));
+    }
+}
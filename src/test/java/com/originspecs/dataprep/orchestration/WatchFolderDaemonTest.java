@@ -0,0 +1,151 @@
+package com.originspecs.dataprep.orchestration;
+
+import com.originspecs.dataprep.TestWorkbooks;
+import com.originspecs.dataprep.config.Config;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import com.originspecs.dataprep.writer.WorkBookWriter;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link WatchFolderDaemon}. The daemon runs on a background thread with a
+ * short settle time; each test waits (bounded) for files to be moved out of the inbox.
+ */
+class WatchFolderDaemonTest {
+
+    private static final Duration SETTLE_TIME = Duration.ofMillis(100);
+    private static final long TIMEOUT_MILLIS = 15_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Path inbox;
+    private Path outputDir;
+    private WatchFolderDaemon daemon;
+    private Thread daemonThread;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        inbox = Files.createDirectory(tempDir.resolve("inbox"));
+        outputDir = tempDir.resolve("out");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (daemon != null) {
+            daemon.close();
+            daemonThread.join(TIMEOUT_MILLIS);
+        }
+    }
+
+    @Test
+    void run_processesExistingAndNewWorkbooks_andMovesThemToDone() throws Exception {
+        writeWorkbook(inbox.resolve("existing.xls"));
+        start();
+
+        writeWorkbook(inbox.resolve("arrived.xls"));
+
+        awaitFile(inbox.resolve("done/existing.xls"));
+        awaitFile(inbox.resolve("done/arrived.xls"));
+        assertThat(outputDir.resolve("existing.xls")).exists();
+        assertThat(outputDir.resolve("arrived.xls")).exists();
+        assertThat(inbox.resolve("arrived.xls")).doesNotExist();
+    }
+
+    @Test
+    void run_unreadableWorkbook_isMovedToFailed() throws Exception {
+        start();
+
+        Files.write(inbox.resolve("broken.xls"), new byte[]{1, 2, 3, 4});
+
+        awaitFile(inbox.resolve("failed/broken.xls"));
+        assertThat(outputDir.resolve("broken.xls")).doesNotExist();
+    }
+
+    @Test
+    void run_nonWorkbookFiles_areLeftInTheInbox() throws Exception {
+        Files.writeString(inbox.resolve("readme.txt"), "ignore me");
+        writeWorkbook(inbox.resolve("toyota.xls"));
+        start();
+
+        awaitFile(inbox.resolve("done/toyota.xls"));
+        assertThat(inbox.resolve("readme.txt")).exists();
+    }
+
+    @Test
+    void run_xlsmWorkbook_isWrittenAsXlsx() throws Exception {
+        start();
+
+        writeWorkbook(inbox.resolve("toyota.xlsm"), new XSSFWorkbook());
+
+        awaitFile(inbox.resolve("done/toyota.xlsm"));
+        assertThat(outputDir.resolve("toyota.xlsm")).doesNotExist();
+        try (Workbook written = WorkbookFactory.create(outputDir.resolve("toyota.xlsx").toFile())) {
+            assertThat(written).isInstanceOf(XSSFWorkbook.class);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {".", "done", "failed", "done/../failed"})
+    void constructor_outputDirectoryInsideInboxLifecycle_isRejected(String relative) {
+        DataPrepOrchestrator orchestrator = new DataPrepOrchestrator(
+                new WorkBookReader(), new WorkBookProcessor(Map.of()), new WorkBookWriter());
+        Config config = new Config(inbox, inbox.resolve(relative), 0.01);
+
+        assertThatThrownBy(() -> new WatchFolderDaemon(orchestrator, config, SETTLE_TIME))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must differ from the inbox");
+    }
+
+    // --- Helpers ---
+
+    private void start() throws IOException {
+        DataPrepOrchestrator orchestrator = new DataPrepOrchestrator(
+                new WorkBookReader(), new WorkBookProcessor(Map.of()), new WorkBookWriter());
+        daemon = new WatchFolderDaemon(orchestrator, new Config(inbox, outputDir, 0.01), SETTLE_TIME);
+        daemonThread = Thread.ofPlatform().name("watch-test").start(() -> {
+            try {
+                daemon.run();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void awaitFile(Path file) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(file).exists();
+    }
+
+    private static void writeWorkbook(Path path) throws IOException {
+        writeWorkbook(path, new HSSFWorkbook());
+    }
+
+    private static void writeWorkbook(Path path, Workbook target) throws IOException {
+        // Write under a temporary name and rename, as a well-behaved uploader would
+        Path partial = path.resolveSibling(path.getFileName() + ".part");
+        TestWorkbooks.writeCarList(partial, target, TestWorkbooks.corollaRows(1));
+        Files.move(partial, path);
+    }
+}
@@ -1,11 +1,17 @@
 package com.originspecs.dataprep.processor;
 
+import com.originspecs.dataprep.metrics.MetricsRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Unit tests for {@link HeaderResolver}.
@@ -26,6 +32,9 @@ class HeaderResolverTest {
             "総排気量（L）", "Displacement (L)"
     );
 
+    @TempDir
+    Path tempDir;
+
     // --- Single header row ---
 
     @Test
@@ -158,4 +167,117 @@ class HeaderResolverTest {
         assertThat(resolved.get(0)).isEqualTo("Car Name");
         assertThat(resolved.get(1)).isEmpty();
     }
+
+    // --- Label cache ---
+
+    @Test
+    void resolve_sameHeaderBlockOnSecondSheet_answersEveryColumnFromCache() {
+        List<List<String>> headerRows = List.of(
+                List.of("車名", "通称名", "エンジン"),
+                List.of("",    "",      "総排\n気量\n（L）")
+        );
+        HeaderResolver resolver = new HeaderResolver(HEADERS);
+
+        List<String> first = resolver.resolve(headerRows, List.of(0, 1, 2));
+        List<String> second = resolver.resolve(headerRows, List.of(0, 1, 2));
+
+        assertThat(second).isEqualTo(first).containsExactly("Car Name", "Common Name", "Displacement (L)");
+        assertThat(resolver.cache().misses()).isEqualTo(3);
+        assertThat(resolver.cache().hits()).isEqualTo(3);
+        assertThat(resolver.cache().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void resolve_sharedCache_reusesLabelsAcrossResolvers() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        HeaderLabelCache cache = new HeaderLabelCache(HeaderLabelCache.DEFAULT_MAX_ENTRIES, metrics);
+        List<List<String>> headerRows = List.of(List.of("車名", "型式"));
+
+        new HeaderResolver(HEADERS, cache).resolve(headerRows, List.of(0, 1));
+        List<String> resolved = new HeaderResolver(HEADERS, cache).resolve(headerRows, List.of(1, 0));
+
+        assertThat(resolved).containsExactly("Model Type", "Car Name");
+        assertThat(metrics.get(HeaderLabelCache.HITS)).isEqualTo(2);
+        assertThat(metrics.get(HeaderLabelCache.MISSES)).isEqualTo(2);
+    }
+
+    @Test
+    void resolve_cacheFull_clearsAndKeepsResolvingCorrectly() {
+        HeaderLabelCache cache = new HeaderLabelCache(2, new MetricsRegistry());
+        HeaderResolver resolver = new HeaderResolver(HEADERS, cache);
+
+        List<String> resolved = resolver.resolve(List.of(List.of("車名", "通称名", "型式")), List.of(0, 1, 2));
+
+        assertThat(resolved).containsExactly("Car Name", "Common Name", "Model Type");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    // --- Persisted labels ---
+
+    @Test
+    void load_afterSave_answersEveryColumnFromCacheInNextRun() throws IOException {
+        Path file = tempDir.resolve("header-labels.json");
+        List<List<String>> headerRows = List.of(List.of("車名", "通称名", "型式"));
+        HeaderLabelCache firstRun = new HeaderLabelCache();
+        new HeaderResolver(HEADERS, firstRun).resolve(headerRows, List.of(0, 1, 2));
+        firstRun.save(file, "reference-v1");
+
+        HeaderLabelCache secondRun = new HeaderLabelCache();
+        assertThat(secondRun.load(file, "reference-v1")).isEqualTo(3);
+        List<String> resolved = new HeaderResolver(HEADERS, secondRun).resolve(headerRows, List.of(2, 0));
+
+        assertThat(resolved).containsExactly("Model Type", "Car Name");
+        assertThat(secondRun.hits()).isEqualTo(2);
+        assertThat(secondRun.misses()).isZero();
+    }
+
+    @Test
+    void load_otherReferenceFingerprintOrMissingFile_addsNothing() throws IOException {
+        Path file = tempDir.resolve("header-labels.json");
+        HeaderLabelCache cache = new HeaderLabelCache();
+        new HeaderResolver(HEADERS, cache).resolve(List.of(List.of("車名")), List.of(0));
+        cache.save(file, "reference-v1");
+
+        assertThat(new HeaderLabelCache().load(file, "reference-v2")).isZero();
+        assertThat(new HeaderLabelCache().load(tempDir.resolve("missing.json"), "reference-v1")).isZero();
+    }
+
+    @Test
+    void load_keepsAtMostMaxEntries() throws IOException {
+        Path file = tempDir.resolve("header-labels.json");
+        HeaderLabelCache cache = new HeaderLabelCache();
+        new HeaderResolver(HEADERS, cache).resolve(List.of(List.of("車名", "通称名", "型式")), List.of(0, 1, 2));
+        cache.save(file, "reference-v1");
+
+        HeaderLabelCache small = new HeaderLabelCache(2, new MetricsRegistry());
+
+        assertThat(small.load(file, "reference-v1")).isEqualTo(2);
+        assertThat(small.size()).isEqualTo(2);
+    }
+
+    @Test
+    void save_nothingResolvedSinceLastSave_leavesFileUntouched() throws IOException {
+        Path file = tempDir.resolve("header-labels.json");
+        HeaderLabelCache cache = new HeaderLabelCache();
+        cache.save(file, "reference-v1");
+        assertThat(file).doesNotExist();
+
+        HeaderResolver resolver = new HeaderResolver(HEADERS, cache);
+        resolver.resolve(List.of(List.of("車名")), List.of(0));
+        cache.save(file, "reference-v1");
+        Files.delete(file);
+        resolver.resolve(List.of(List.of("車名")), List.of(0));
+        cache.save(file, "reference-v1");
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void load_malformedFile_throws() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("header-labels.json"), "{not json");
+
+        assertThatThrownBy(() -> new HeaderLabelCache().load(file, "reference-v1"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Malformed header label file");
+    }
 }
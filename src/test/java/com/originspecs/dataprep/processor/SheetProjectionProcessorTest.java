@@ -0,0 +1,106 @@
+package com.originspecs.dataprep.processor;
+
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.reader.SheetRowPublisher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SheetProjectionProcessor}.
+ *
+ * <p>Upstream rows come from a {@link SheetRowPublisher} running on the calling thread, so
+ * every signal has been delivered by the time {@code request()} returns.
+ */
+class SheetProjectionProcessorTest {
+
+    /** Keeps Car Name and Model Type (source columns 0 and 2); fills down through row 2. */
+    private static final SheetPlan PLAN = new SheetPlan("Honda",
+            List.of("Car Name", "Model Type"), List.of(0, 2), 2);
+
+    @Test
+    void onNext_projectsAndFillsDownEachRow_passingDemandThrough() {
+        SheetProjectionProcessor processor = new SheetProjectionProcessor(PLAN.projection());
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        processor.subscribe(subscriber);
+        upstream(row("ホンダ", "フィット", "GK3"), row("", "", "GK4"), row("", "", "GK5"), row("", "(注）"))
+                .subscribe(processor);
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.rows).containsExactly(List.of("ホンダ", "GK3"), List.of("ホンダ", "GK4"));
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.subscription.request(10);
+        assertThat(subscriber.rows).hasSize(4);
+        assertThat(subscriber.rows.get(3)).containsExactly("", "");
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void request_emptyUpstream_completesWithoutRows() {
+        SheetProjectionProcessor processor = new SheetProjectionProcessor(PLAN.projection());
+        upstream().subscribe(processor);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.rows).isEmpty();
+    }
+
+    @Test
+    void subscribe_secondSubscriber_isRejected() {
+        SheetProjectionProcessor processor = new SheetProjectionProcessor(PLAN.projection());
+        processor.subscribe(new RecordingSubscriber());
+        RecordingSubscriber second = new RecordingSubscriber();
+
+        processor.subscribe(second);
+
+        assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    // -----------------------------------------------------------------------
+    // Helpers
+    // -----------------------------------------------------------------------
+
+    private static SheetRowPublisher upstream(RowData... rows) {
+        return new SheetRowPublisher(() -> Arrays.asList(rows).iterator(), Runnable::run);
+    }
+
+    private static RowData row(String... values) {
+        return new RowData(new ArrayList<>(Arrays.asList(values)));
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<RowData> {
+        final List<List<String>> rows = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(RowData row) {
+            rows.add(row.getCellValues());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
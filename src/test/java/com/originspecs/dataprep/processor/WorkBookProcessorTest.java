@@ -1,17 +1,28 @@
 package com.originspecs.dataprep.processor;
 
+import com.originspecs.dataprep.model.ColumnarRows;
 import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.SpillBudget;
+import com.originspecs.dataprep.model.SpillingRows;
 import com.originspecs.dataprep.model.WorkBookData;
 import com.originspecs.dataprep.model.WorkSheetData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Unit tests for {@link WorkBookProcessor}.
@@ -348,6 +359,137 @@ class WorkBookProcessorTest {
                     .getCell(hondaHeaders.indexOf("Car Name")))
                     .isEqualTo("ホンダ");
         }
+
+        @Test
+        void parallelProcessing_matchesSequentialOutputInSheetOrder() {
+            WorkSheetData[] sheets = new WorkSheetData[8];
+            for (int i = 0; i < sheets.length; i++) {
+                sheets[i] = buildSheet(
+                        rawHeaders("車名", "通称名", "型式", "エンジン", "重量", "排気量"),
+                        dataRow("トヨタ", "カローラ" + i, "ZRE212", "2ZR", "1290kg", "1.8L"),
+                        dataRow("",       "",            "ZRE212", "2ZR", "1320kg", i % 2 == 0 ? "" : "1.8L"));
+                sheets[i].setName("Sheet" + i);
+            }
+
+            WorkBookData sequential = processor.process(workBook(sheets), 0.6);
+            WorkBookData parallel = new WorkBookProcessor(PERMITTED, 4).process(workBook(sheets), 0.6);
+
+            assertThat(parallel.getWorksheets()).hasSameSizeAs(sequential.getWorksheets());
+            for (int i = 0; i < sheets.length; i++) {
+                WorkSheetData want = sequential.getWorksheets().get(i);
+                WorkSheetData got = parallel.getWorksheets().get(i);
+                assertThat(got.getName()).isEqualTo("Sheet" + i);
+                assertThat(got.getHeaders()).isEqualTo(want.getHeaders());
+                assertThat(got.getRows()).isEqualTo(want.getRows());
+            }
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    // Columnar row storage
+    // -----------------------------------------------------------------------
+
+    @Nested
+    class ColumnarStorage {
+
+        @Test
+        void columnarSheet_producesSameResultAsListSheet_andStaysColumnar() {
+            RowData[] rows = {
+                    dataRow("スバル", "フォレスター", "",    "FB20", "1650kg", "2.0L"),
+                    dataRow("",       "",             "",    "FB20", "1660kg", "2.0L"),
+                    dataRow("",       "アウトバック",  "",    "FA24", "1840kg", "2.4L"),
+                    footnoteRow("(注）参考値")
+            };
+            WorkSheetData listSheet = buildSheet(
+                    rawHeaders("車名", "通称名", "型式", "エンジン", "重量", "排気量"), rows);
+            WorkSheetData columnarSheet = buildSheet(
+                    rawHeaders("車名", "通称名", "型式", "エンジン", "重量", "排気量"), rows);
+            List<RowData> columnarRows = RowStorage.COLUMNAR.newRowList();
+            columnarRows.addAll(Arrays.asList(rows));
+            columnarSheet.setRows(columnarRows);
+
+            WorkSheetData expected = processor.process(workBook(listSheet), 0.3).getWorksheets().get(0);
+            WorkSheetData actual = processor.process(workBook(columnarSheet), 0.3).getWorksheets().get(0);
+
+            assertThat(actual.getHeaders()).isEqualTo(expected.getHeaders());
+            assertThat(actual.getRows()).isEqualTo(expected.getRows());
+            assertThat(actual.getRows()).isInstanceOf(ColumnarRows.class);
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    // Spilling row storage
+    // -----------------------------------------------------------------------
+
+    @Nested
+    class SpillStorage {
+
+        @Test
+        void spilledSheet_producesSameResultAsListSheet_andSpillsWithinSameBudget(@TempDir Path spillDir) {
+            RowData[] rows = {
+                    dataRow("スバル", "フォレスター", "",    "FB20", "1650kg", "2.0L"),
+                    dataRow("",       "",             "",    "FB20", "1660kg", "2.0L"),
+                    dataRow("",       "アウトバック",  "",    "FA24", "1840kg", "2.4L"),
+                    footnoteRow("(注）参考値")
+            };
+            WorkSheetData listSheet = buildSheet(
+                    rawHeaders("車名", "通称名", "型式", "エンジン", "重量", "排気量"), rows);
+            WorkSheetData spilledSheet = buildSheet(
+                    rawHeaders("車名", "通称名", "型式", "エンジン", "重量", "排気量"), rows);
+            // Room for about one row: the rest go to disk
+            SpillBudget budget = new SpillBudget(500, spillDir);
+            List<RowData> spilledRows = RowStorage.SPILL.newRowList(budget);
+            spilledRows.addAll(Arrays.asList(rows));
+            spilledSheet.setRows(spilledRows);
+
+            WorkSheetData expected = processor.process(workBook(listSheet), 0.3).getWorksheets().get(0);
+            WorkSheetData actual = processor.process(workBook(spilledSheet), 0.3).getWorksheets().get(0);
+
+            assertThat(actual.getHeaders()).isEqualTo(expected.getHeaders());
+            assertThat(actual.getRows()).isEqualTo(expected.getRows());
+            assertThat(actual.getRows()).isInstanceOfSatisfying(SpillingRows.class,
+                    processed -> assertThat(processed.budget()).isSameAs(budget));
+        }
+
+        @Test
+        void failingSheet_releasesSpilledRowsOfSheetsAlreadyProcessed(@TempDir Path spillDir) throws IOException {
+            SpillBudget budget = new SpillBudget(1, spillDir);
+            WorkSheetData unreadable = buildSheet(rawHeaders("車名", "通称名", "型式", "エンジン", "重量", "排気量"));
+            unreadable.setRows(new AbstractList<>() {
+                @Override
+                public RowData get(int index) {
+                    throw new IllegalStateException("unreadable row");
+                }
+
+                @Override
+                public int size() {
+                    return 1;
+                }
+            });
+
+            for (int parallelism : new int[]{1, 4}) {
+                WorkSheetData[] sheets = new WorkSheetData[4];
+                for (int i = 0; i < sheets.length - 1; i++) {
+                    sheets[i] = buildSheet(rawHeaders("車名", "通称名", "型式", "エンジン", "重量", "排気量"));
+                    List<RowData> rows = RowStorage.SPILL.newRowList(budget);
+                    rows.add(dataRow("スバル", "フォレスター", "", "FB20", "1650kg", "2.0L"));
+                    sheets[i].setRows(rows);
+                }
+                sheets[sheets.length - 1] = unreadable;
+                WorkBookData input = workBook(sheets);
+                WorkBookProcessor failing = new WorkBookProcessor(PERMITTED, parallelism);
+
+                assertThatThrownBy(() -> failing.process(input, 0.3)).hasMessageContaining("unreadable row");
+                // The input is the caller's to release; the processed copies must already be gone
+                RowStorage.release(input.getWorksheets().get(0).getRows());
+                RowStorage.release(input.getWorksheets().get(1).getRows());
+                RowStorage.release(input.getWorksheets().get(2).getRows());
+                try (Stream<Path> segments = Files.list(spillDir)) {
+                    assertThat(segments).as("parallelism %d", parallelism).isEmpty();
+                }
+                assertThat(budget.reservedBytes()).isZero();
+            }
+        }
     }
 
     // -----------------------------------------------------------------------
@@ -0,0 +1,148 @@
+package com.originspecs.dataprep.reader;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CellTextFormatter}.
+ *
+ * <p>Every cell of a workbook covering the number formats seen in MLIT spec sheets —
+ * General, fixed decimals, grouping, percentages, dates, multi-section and conditional
+ * formats — plus strings, booleans, errors and formulas is formatted both ways and
+ * compared with {@link DataFormatter}.
+ */
+class CellTextFormatterTest {
+
+    private static final String[] FORMATS = {
+            "General", "@", "0", "0.0", "0.00", "#,##0", "#,##0.0", "0%", "0.00%", "0.00E+00",
+            "#,##0,", "# ?/?", "yyyy/m/d", "m/d/yy h:mm", "[$-411]ggge\"年\"m\"月\"d\"日\"",
+            "#,##0;[Red]-#,##0", "0.0;-0.0;\"-\"", "[>=1000]#,##0;0.0", "\"約\"0.0\"km/L\"", "0.0_ "
+    };
+
+    private static final double[] VALUES = {
+            0, 1, -1, 0.5, 12.3, 1234.5678, -9876.54321, 1e-7, 1.23456789e12, 45123.75, 0.1 + 0.2
+    };
+
+    // --- Equivalence with DataFormatter ---
+
+    @Test
+    void format_hssfWorkbook_matchesDataFormatterForEveryCell() throws IOException {
+        try (Workbook workbook = populate(new HSSFWorkbook())) {
+            assertMatchesDataFormatter(workbook);
+        }
+    }
+
+    @Test
+    void format_xssfWorkbook_matchesDataFormatterForEveryCell() throws IOException {
+        try (Workbook workbook = populate(new XSSFWorkbook())) {
+            assertMatchesDataFormatter(workbook);
+        }
+    }
+
+    // --- Formulas ---
+
+    @Test
+    void format_formulaWithoutEvaluator_returnsFormulaText() throws IOException {
+        try (Workbook workbook = new HSSFWorkbook()) {
+            Cell cell = workbook.createSheet().createRow(0).createCell(0);
+            cell.setCellFormula("1+2");
+
+            assertThat(new CellTextFormatter().format(cell, null)).isEqualTo("1+2");
+        }
+    }
+
+    @Test
+    void formatCached_calculatedWorkbook_matchesEvaluatedText() throws IOException {
+        try (Workbook workbook = populate(new HSSFWorkbook())) {
+            FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+            evaluator.evaluateAll();
+            CellTextFormatter formatter = new CellTextFormatter();
+
+            for (Row row : workbook.getSheetAt(0)) {
+                for (Cell cell : row) {
+                    assertThat(formatter.formatCached(cell))
+                            .as(cell.getAddress().toString())
+                            .isEqualTo(formatter.format(cell, evaluator));
+                }
+            }
+        }
+    }
+
+    @Test
+    void format_nullCell_isEmpty() {
+        assertThat(new CellTextFormatter().format(null, null)).isEmpty();
+    }
+
+    // -----------------------------------------------------------------------
+    // Helpers
+    // -----------------------------------------------------------------------
+
+    private static void assertMatchesDataFormatter(Workbook workbook) {
+        FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        DataFormatter expected = new DataFormatter();
+        CellTextFormatter actual = new CellTextFormatter();
+
+        List<String> mismatches = new ArrayList<>();
+        for (Row row : workbook.getSheetAt(0)) {
+            for (Cell cell : row) {
+                String want = expected.formatCellValue(cell, evaluator);
+                String got = actual.format(cell, evaluator);
+                if (!want.equals(got)) {
+                    mismatches.add(cell.getAddress() + " [" + cell.getCellStyle().getDataFormatString()
+                            + "]: expected '" + want + "' but was '" + got + "'");
+                }
+            }
+        }
+        assertThat(mismatches).isEmpty();
+    }
+
+    private static Workbook populate(Workbook workbook) {
+        Sheet sheet = workbook.createSheet("Formats");
+        List<CellStyle> styles = new ArrayList<>();
+        for (String format : FORMATS) {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat(format));
+            styles.add(style);
+        }
+
+        int rowIndex = 0;
+        for (double value : VALUES) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < styles.size(); i++) {
+                Cell cell = row.createCell(i);
+                cell.setCellValue(value);
+                cell.setCellStyle(styles.get(i));
+            }
+        }
+
+        Row mixed = sheet.createRow(rowIndex++);
+        mixed.createCell(0).setCellValue("トヨタ");
+        mixed.createCell(1).setCellValue(true);
+        mixed.createCell(2).setCellErrorValue(FormulaError.DIV0.getCode());
+        mixed.createCell(3).setBlank();
+        mixed.createCell(4).setCellValue(21.4);
+
+        Row formulas = sheet.createRow(rowIndex);
+        formulas.createCell(0).setCellFormula("E" + rowIndex + "*2");
+        formulas.createCell(1).setCellFormula("A" + rowIndex + "&\"車\"");
+        formulas.createCell(2).setCellFormula("E" + rowIndex + ">20");
+        formulas.createCell(3).setCellFormula("1/0");
+        formulas.getCell(0).setCellStyle(styles.get(3));
+        return workbook;
+    }
+}
@@ -0,0 +1,96 @@
+package com.originspecs.dataprep.reader;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MergedRegionIndex}.
+ * Covers vertical, horizontal and block merges, origin cells, uncovered cells and
+ * origin values recorded from decoded rows.
+ */
+class MergedRegionIndexTest {
+
+    // Car Name merged over rows 2–9 in column 0, a group header over columns 3–5 in row 0,
+    // and a 2x2 block at rows 10–11, columns 1–2
+    private final MergedRegionIndex index = MergedRegionIndex.of(List.of(
+            new CellRangeAddress(2, 9, 0, 0),
+            new CellRangeAddress(0, 0, 3, 5),
+            new CellRangeAddress(10, 11, 1, 2)));
+
+    @BeforeEach
+    void recordOrigins() {
+        index.recordOrigins(0, List.of("", "", "", "燃費"));
+        index.recordOrigins(2, List.of("トヨタ", "", ""));
+        index.recordOrigins(10, List.of("", "カローラ"));
+    }
+
+    // --- valueAt ---
+
+    @Test
+    void valueAt_cellsBelowVerticalOrigin_returnOriginValue() {
+        assertThat(index.valueAt(3, 0)).isEqualTo("トヨタ");
+        assertThat(index.valueAt(9, 0)).isEqualTo("トヨタ");
+    }
+
+    @Test
+    void valueAt_cellsRightOfHorizontalOrigin_returnOriginValue() {
+        assertThat(index.valueAt(0, 4)).isEqualTo("燃費");
+        assertThat(index.valueAt(0, 5)).isEqualTo("燃費");
+    }
+
+    @Test
+    void valueAt_blockMerge_coversEveryNonOriginCell() {
+        assertThat(index.valueAt(10, 2)).isEqualTo("カローラ");
+        assertThat(index.valueAt(11, 1)).isEqualTo("カローラ");
+        assertThat(index.valueAt(11, 2)).isEqualTo("カローラ");
+    }
+
+    @Test
+    void valueAt_originCell_isEmpty() {
+        assertThat(index.valueAt(2, 0)).isEmpty();
+        assertThat(index.valueAt(0, 3)).isEmpty();
+        assertThat(index.valueAt(10, 1)).isEmpty();
+    }
+
+    @Test
+    void valueAt_cellsOutsideRegions_areEmpty() {
+        assertThat(index.valueAt(1, 0)).isEmpty();
+        assertThat(index.valueAt(10, 0)).isEmpty();
+        assertThat(index.valueAt(1, 4)).isEmpty();
+        assertThat(index.valueAt(0, 6)).isEmpty();
+        assertThat(index.valueAt(5, 100)).isEmpty();
+    }
+
+    // --- recordOrigins ---
+
+    @Test
+    void valueAt_beforeOriginRowIsRecorded_isEmpty() {
+        MergedRegionIndex fresh = MergedRegionIndex.of(List.of(new CellRangeAddress(2, 9, 0, 0)));
+
+        assertThat(fresh.valueAt(3, 0)).isEmpty();
+        fresh.recordOrigins(2, List.of("トヨタ"));
+        assertThat(fresh.valueAt(3, 0)).isEqualTo("トヨタ");
+    }
+
+    @Test
+    void recordOrigins_originBeyondRowWidth_recordsEmptyValue() {
+        MergedRegionIndex fresh = MergedRegionIndex.of(List.of(new CellRangeAddress(0, 3, 5, 5)));
+
+        fresh.recordOrigins(0, List.of("a", "b"));
+
+        assertThat(fresh.valueAt(1, 5)).isEmpty();
+        assertThat(fresh.recordedCount()).isZero();
+    }
+
+    @Test
+    void counts_reportRegionsRecordedValuesAndCoveredCells() {
+        assertThat(index.regionCount()).isEqualTo(3);
+        assertThat(index.recordedCount()).isEqualTo(3);
+        assertThat(index.coveredCellCount()).isEqualTo(7 + 2 + 3);
+    }
+}
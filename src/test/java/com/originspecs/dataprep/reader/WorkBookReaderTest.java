@@ -0,0 +1,237 @@
+package com.originspecs.dataprep.reader;
+
+import com.originspecs.dataprep.TestWorkbooks;
+import com.originspecs.dataprep.config.FormulaStrategy;
+import com.originspecs.dataprep.config.ReaderEngine;
+import com.originspecs.dataprep.model.ColumnarRows;
+import com.originspecs.dataprep.model.OffHeapRows;
+import com.originspecs.dataprep.model.FormulaStatistics;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.RowStorage;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link WorkBookReader}.
+ *
+ * <p>Each test writes the small MLIT-shaped workbook of
+ * {@link TestWorkbooks#writeMlitWorkbook} to a temp directory and reads it back.
+ */
+class WorkBookReaderTest {
+
+    private static final Set<String> BRANDS = Set.of("ホンダ", "トヨタ");
+
+    @TempDir
+    Path tempDir;
+
+    private Path input;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        input = TestWorkbooks.writeMlitWorkbook(new HSSFWorkbook(), tempDir.resolve("honda.xls"));
+    }
+
+    @Test
+    void read_userModel_detectsHeaderRangeAndSplitsDataRows() throws IOException {
+        WorkSheetData sheet = new WorkBookReader(BRANDS).read(input).getWorksheets().get(0);
+
+        assertThat(sheet.getHeaderRangeStart()).isEqualTo(1);
+        assertThat(sheet.getHeaderRangeEnd()).isEqualTo(2);
+        assertThat(sheet.getRawHeaderRows()).hasSize(2);
+        assertThat(sheet.getRows()).hasSize(5);
+        assertThat(sheet.getColumnStatistics().rowCount()).isEqualTo(5);
+    }
+
+    @Test
+    void read_userModel_expandsMergedCellsIntoDataRows() throws IOException {
+        WorkSheetData sheet = new WorkBookReader(BRANDS).read(input).getWorksheets().get(0);
+
+        assertThat(sheet.getRows().get(1).getCell(1)).isEqualTo("フィット");
+        assertThat(sheet.getRawHeaderRows().get(0).get(2)).isEqualTo("諸元");
+    }
+
+    @Test
+    void read_eventEngine_producesSameModelAsUserModel() throws IOException {
+        WorkBookData expected = new WorkBookReader(BRANDS, ReaderOptions.defaults()).read(input);
+        WorkBookData actual = new WorkBookReader(BRANDS, ReaderOptions.defaults().withEngine(ReaderEngine.EVENT)).read(input);
+
+        assertSameModel(actual, expected);
+    }
+
+    @Test
+    void read_xlsxInput_streamsSameModelAsXlsUserModel() throws IOException {
+        Path xlsx = TestWorkbooks.writeMlitWorkbook(new XSSFWorkbook(), tempDir.resolve("honda.xlsx"));
+
+        assertSameModel(new WorkBookReader(BRANDS).read(xlsx), new WorkBookReader(BRANDS).read(input));
+    }
+
+    @Test
+    void read_pathOnNonDefaultFileSystem_fallsBackToStreamAndReadsSameModel() throws IOException {
+        Path zip = tempDir.resolve("inputs.zip");
+        try (FileSystem zipFs = FileSystems.newFileSystem(zip, Map.of("create", "true"))) {
+            Path zipped = Files.copy(input, zipFs.getPath("honda.xls"));
+
+            assertSameModel(new WorkBookReader(BRANDS).read(zipped), new WorkBookReader(BRANDS).read(input));
+        }
+    }
+
+    @Test
+    void read_eventEngine_usesCachedFormulaResults() throws IOException {
+        ReaderOptions options = ReaderOptions.defaults().withEngine(ReaderEngine.EVENT);
+        WorkSheetData sheet = new WorkBookReader(BRANDS, options).read(input).getWorksheets().get(0);
+
+        // Column E holds =LEN(C4) on the first data row
+        assertThat(sheet.getRows().get(0).getCell(4)).isEqualTo("3");
+    }
+
+    @Test
+    void read_columnarStorage_producesSameRowsBackedByColumns() throws IOException {
+        ReaderOptions options = ReaderOptions.defaults().withRowStorage(RowStorage.COLUMNAR);
+        WorkBookData actual = new WorkBookReader(BRANDS, options).read(input);
+
+        assertSameModel(actual, new WorkBookReader(BRANDS).read(input));
+        assertThat(actual.getWorksheets().get(0).getRows()).isInstanceOf(ColumnarRows.class);
+    }
+
+    @Test
+    void read_offHeapStorage_producesSameRowsBackedByDirectBuffers() throws IOException {
+        ReaderOptions options = ReaderOptions.defaults().withRowStorage(RowStorage.OFF_HEAP);
+        WorkBookData actual = new WorkBookReader(BRANDS, options).read(input);
+
+        assertSameModel(actual, new WorkBookReader(BRANDS).read(input));
+        assertThat(actual.getWorksheets().get(0).getRows()).isInstanceOf(OffHeapRows.class);
+    }
+
+    @Test
+    void read_heapBoundedStorage_streamsRowsIntoSameModelOnBothStreamingReaders() throws IOException {
+        Path xlsx = TestWorkbooks.writeMlitWorkbook(new XSSFWorkbook(), tempDir.resolve("honda.xlsx"));
+        WorkBookData expected = new WorkBookReader(BRANDS).read(input);
+
+        for (RowStorage storage : List.of(RowStorage.SPILL, RowStorage.OFF_HEAP)) {
+            ReaderOptions options = ReaderOptions.defaults().withEngine(ReaderEngine.EVENT).withRowStorage(storage);
+            for (Path path : List.of(input, xlsx)) {
+                WorkBookData actual = new WorkBookReader(BRANDS, options).read(path);
+
+                assertSameModel(actual, expected);
+                actual.getWorksheets().forEach(sheet -> RowStorage.release(sheet.getRows()));
+            }
+        }
+    }
+
+    @Test
+    void read_carNameBeyondHeaderLookahead_fallsBackToRowZeroOnEveryEngine() throws IOException {
+        ReaderOptions options = ReaderOptions.defaults().withHeaderLookahead(2);
+        WorkBookData userModel = new WorkBookReader(BRANDS, options).read(input);
+        WorkSheetData sheet = userModel.getWorksheets().get(0);
+
+        assertThat(sheet.getHeaderRangeStart()).isZero();
+        assertThat(sheet.getHeaderRangeEnd()).isZero();
+        assertThat(sheet.getRows()).hasSize(7);
+        assertSameModel(new WorkBookReader(BRANDS, options.withEngine(ReaderEngine.EVENT)).read(input), userModel);
+    }
+
+    @Test
+    void read_withoutBrandNames_endsHeaderRangeAtCarNameRow() throws IOException {
+        WorkSheetData sheet = new WorkBookReader().read(input).getWorksheets().get(0);
+
+        assertThat(sheet.getHeaderRangeStart()).isEqualTo(1);
+        assertThat(sheet.getHeaderRangeEnd()).isEqualTo(2);
+        assertThat(sheet.getRows().get(0).getCell(0)).isEqualTo("ホンダ");
+    }
+
+    // --- Formula strategies ---
+
+    @Test
+    void read_cachedFormulaStrategy_usesStoredResultsWithoutEvaluating() throws IOException {
+        ReaderOptions options = ReaderOptions.defaults().withFormulaStrategy(FormulaStrategy.CACHED);
+        WorkBookData workBook = new WorkBookReader(BRANDS, options).read(input);
+
+        assertThat(workBook.getWorksheets().get(0).getRows().get(0).getCell(4)).isEqualTo("3");
+        assertThat(workBook.getFormulaStatistics()).isEqualTo(new FormulaStatistics(1, 0, 0));
+        assertSameModel(workBook, new WorkBookReader(BRANDS).read(input));
+    }
+
+    @Test
+    void read_evaluateFormulaStrategy_countsEvaluatedCells() throws IOException {
+        WorkBookData workBook = new WorkBookReader(BRANDS).read(input);
+
+        assertThat(workBook.getFormulaStatistics()).isEqualTo(new FormulaStatistics(0, 1, 0));
+    }
+
+    @Test
+    void read_autoFormulaStrategy_evaluatesOnlyWhenWorkbookFlagsStaleResults() throws IOException {
+        Path stale = writeStaleFormulaWorkbook(tempDir.resolve("stale.xls"));
+        ReaderOptions auto = ReaderOptions.defaults().withFormulaStrategy(FormulaStrategy.AUTO);
+
+        WorkBookData evaluated = new WorkBookReader(BRANDS, auto).read(stale);
+        WorkBookData cached = new WorkBookReader(BRANDS, auto.withFormulaStrategy(FormulaStrategy.CACHED)).read(stale);
+
+        assertThat(evaluated.getWorksheets().get(0).getRows().get(0).getCell(4)).isEqualTo("3");
+        assertThat(evaluated.getFormulaStatistics().evaluated()).isEqualTo(1);
+        assertThat(cached.getWorksheets().get(0).getRows().get(0).getCell(4)).isEqualTo("0");
+        assertThat(new WorkBookReader(BRANDS, auto).read(input).getFormulaStatistics())
+                .isEqualTo(new FormulaStatistics(1, 0, 0));
+    }
+
+    // -----------------------------------------------------------------------
+    // Test data builders
+    // -----------------------------------------------------------------------
+
+    // Same layout, but saved without calculating: the stored formula result is a stale 0
+    // and the workbook asks to be recalculated on load
+    private static Path writeStaleFormulaWorkbook(Path path) throws IOException {
+        try (Workbook workbook = new HSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Honda");
+            TestWorkbooks.writeRow(sheet, 0, "車名", "通称名", "型式", "エンジン", "長さ");
+            TestWorkbooks.writeRow(sheet, 1, "ホンダ", "フィット", "GK3", "L13B");
+            sheet.getRow(1).createCell(4).setCellFormula("LEN(C2)");
+            workbook.setForceFormulaRecalculation(true);
+
+            try (OutputStream os = Files.newOutputStream(path)) {
+                workbook.write(os);
+            }
+        }
+        return path;
+    }
+
+    private static void assertSameModel(WorkBookData actual, WorkBookData expected) {
+        assertThat(actual.getWorksheetCount()).isEqualTo(expected.getWorksheetCount());
+        for (int i = 0; i < expected.getWorksheets().size(); i++) {
+            WorkSheetData want = expected.getWorksheets().get(i);
+            WorkSheetData got = actual.getWorksheets().get(i);
+
+            assertThat(got.getName()).isEqualTo(want.getName());
+            assertThat(got.getHeaderRangeStart()).isEqualTo(want.getHeaderRangeStart());
+            assertThat(got.getHeaderRangeEnd()).isEqualTo(want.getHeaderRangeEnd());
+            assertThat(got.getOriginalRowCount()).isEqualTo(want.getOriginalRowCount());
+            assertThat(got.getOriginalColumnCount()).isEqualTo(want.getOriginalColumnCount());
+            assertThat(got.getRawHeaderRows()).isEqualTo(want.getRawHeaderRows());
+            assertThat(cells(got.getRows())).isEqualTo(cells(want.getRows()));
+            assertThat(got.getColumnStatistics().lastDataRowIndex())
+                    .isEqualTo(want.getColumnStatistics().lastDataRowIndex());
+        }
+    }
+
+    private static List<List<String>> cells(List<RowData> rows) {
+        return rows.stream().map(RowData::getCellValues).toList();
+    }
+}
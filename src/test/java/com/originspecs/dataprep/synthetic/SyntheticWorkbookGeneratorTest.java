@@ -0,0 +1,146 @@
+package com.originspecs.dataprep.synthetic;
+
+import com.originspecs.dataprep.config.FormulaStrategy;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import com.originspecs.dataprep.processor.WorkBookProcessor;
+import com.originspecs.dataprep.reader.ReaderOptions;
+import com.originspecs.dataprep.reader.WorkBookReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SyntheticWorkbookGenerator}: generated workbooks are read back
+ * through the real pipeline, which must find the layout the generator describes.
+ */
+class SyntheticWorkbookGeneratorTest {
+
+    private static final SyntheticWorkbookSpec SMALL = SyntheticWorkbookSpec.defaults()
+            .withSheets(3)
+            .withRowsPerSheet(120)
+            .withColumns(20)
+            .withFormulaRatio(0.5);
+
+    @TempDir
+    Path tempDir;
+
+    // --- Layout ---
+
+    @Test
+    void generate_xls_isReadWithDetectedHeaderRangeAndAllDataRows() throws IOException {
+        Path path = new SyntheticWorkbookGenerator(SMALL).generate(tempDir.resolve("synthetic.xls"));
+
+        WorkBookData workBook = read(path, ReaderOptions.defaults());
+
+        assertThat(workBook.getWorksheets()).extracting(WorkSheetData::getName)
+                .containsExactly("トヨタ", "ホンダ", "日産");
+        for (WorkSheetData sheet : workBook.getWorksheets()) {
+            assertThat(sheet.getHeaderRangeStart()).isEqualTo(SyntheticWorkbookGenerator.HEADER_START_ROW);
+            assertThat(sheet.getRawHeaderRows()).hasSize(SyntheticWorkbookGenerator.HEADER_ROWS);
+            assertThat(sheet.getOriginalColumnCount()).isEqualTo(20);
+            assertThat(sheet.getRows()).hasSize(120 + SyntheticWorkbookGenerator.FOOTNOTE_ROWS);
+            assertThat(sheet.getRows().get(0).getCell(0)).isEqualTo(sheet.getName());
+        }
+        assertThat(workBook.getFormulaStatistics().total()).isPositive();
+    }
+
+    @Test
+    void generate_processedWithItsPermittedHeaders_resolvesEnglishLabelsAndFillsDown() throws IOException {
+        SyntheticWorkbookGenerator generator = new SyntheticWorkbookGenerator(SMALL);
+        Path path = generator.generate(tempDir.resolve("synthetic.xls"));
+
+        WorkBookData processed = new WorkBookProcessor(generator.permittedHeaders())
+                .process(read(path, ReaderOptions.defaults()), 0.05);
+
+        WorkSheetData sheet = processed.getWorksheets().get(0);
+        assertThat(sheet.getHeaders()).startsWith("Car Name", "Common Name", "Model Type", "Fuel Economy");
+        assertThat(sheet.getHeaders()).doesNotContain("km/L", "kg");
+        assertThat(sheet.getRows().subList(0, 120)).extracting(row -> row.getCell(0)).containsOnly("トヨタ");
+        assertThat(sheet.getRows().subList(0, 120)).extracting(row -> row.getCell(1)).doesNotContain("");
+    }
+
+    @Test
+    void generate_xlsx_holdsSameCellsAsXls() throws IOException {
+        SyntheticWorkbookGenerator generator = new SyntheticWorkbookGenerator(SMALL);
+        Path xls = generator.generate(tempDir.resolve("synthetic.xls"));
+        Path xlsx = generator.generate(tempDir.resolve("synthetic.xlsx"));
+
+        ReaderOptions cached = ReaderOptions.defaults().withFormulaStrategy(FormulaStrategy.CACHED);
+        assertThat(cells(read(xlsx, cached))).isEqualTo(cells(read(xls, cached)));
+    }
+
+    @Test
+    void generate_cachedFormulaResults_matchEvaluation() throws IOException {
+        Path path = new SyntheticWorkbookGenerator(SMALL).generate(tempDir.resolve("synthetic.xls"));
+
+        ReaderOptions cached = ReaderOptions.defaults().withFormulaStrategy(FormulaStrategy.CACHED);
+        ReaderOptions evaluate = ReaderOptions.defaults().withFormulaStrategy(FormulaStrategy.EVALUATE);
+        assertThat(cells(read(path, cached))).isEqualTo(cells(read(path, evaluate)));
+    }
+
+    // --- Reproducibility ---
+
+    @Test
+    void generate_sameSeed_producesSameCells_otherSeedDiffers() throws IOException {
+        Path first = new SyntheticWorkbookGenerator(SMALL).generate(tempDir.resolve("a.xls"));
+        Path second = new SyntheticWorkbookGenerator(SMALL).generate(tempDir.resolve("b.xls"));
+        Path reseeded = new SyntheticWorkbookGenerator(SMALL.withSeed(2)).generate(tempDir.resolve("c.xls"));
+
+        List<List<List<String>>> expected = cells(read(first, ReaderOptions.defaults()));
+        assertThat(cells(read(second, ReaderOptions.defaults()))).isEqualTo(expected);
+        assertThat(cells(read(reseeded, ReaderOptions.defaults()))).isNotEqualTo(expected);
+    }
+
+    // --- Sizing ---
+
+    @Test
+    void withTargetCells_tenMillion_splitsIntoSheetsThatFitXls() {
+        SyntheticWorkbookSpec spec = SyntheticWorkbookSpec.defaults().withTargetCells(10_000_000);
+
+        assertThat(spec.cellCount()).isBetween(10_000_000L, 10_000_000L + (long) spec.sheets() * spec.columns());
+        assertThat(spec.rowsPerSheet()).isLessThanOrEqualTo(SyntheticWorkbookSpec.MAX_ROWS_PER_SHEET);
+    }
+
+    @Test
+    void withTargetCells_fewCells_usesFewerSheets() {
+        SyntheticWorkbookSpec spec = SyntheticWorkbookSpec.defaults().withTargetCells(1_000);
+
+        assertThat(spec.cellCount()).isGreaterThanOrEqualTo(1_000);
+        assertThat(spec.rowsPerSheet() * spec.columns()).isLessThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void generate_xlsRowLimitExceeded_throws() {
+        SyntheticWorkbookGenerator generator = new SyntheticWorkbookGenerator(
+                SyntheticWorkbookSpec.defaults().withSheets(1).withRowsPerSheet(70_000));
+
+        assertThatThrownBy(() -> generator.generate(tempDir.resolve("huge.xls")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(".xlsx");
+    }
+
+    // -----------------------------------------------------------------------
+    // Helpers
+    // -----------------------------------------------------------------------
+
+    private static WorkBookData read(Path path, ReaderOptions options) throws IOException {
+        Set<String> brands = new HashSet<>(SMALL.brands());
+        return new WorkBookReader(brands, options).read(path);
+    }
+
+    private static List<List<List<String>>> cells(WorkBookData workBook) {
+        return workBook.getWorksheets().stream()
+                .map(sheet -> sheet.getRows().stream().map(RowData::getCellValues).toList())
+                .toList();
+    }
+}
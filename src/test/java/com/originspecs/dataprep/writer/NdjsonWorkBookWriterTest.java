@@ -0,0 +1,155 @@
+package com.originspecs.dataprep.writer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link NdjsonWorkBookWriter}.
+ * Output is parsed back line by line with Jackson to check what actually landed on disk.
+ */
+class NdjsonWorkBookWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void write_ndjsonPath_writesSchemaRecordThenOneObjectPerRow() throws IOException {
+        Path output = tempDir.resolve("out.ndjson");
+
+        new NdjsonWorkBookWriter().write(workBook(sheet("Toyota", List.of("Car Name", "Common Name"), 2)), output);
+
+        List<JsonNode> lines = readLines(output, false);
+        assertThat(lines).hasSize(3);
+        JsonNode schema = lines.get(0).get(NdjsonWorkBookWriter.SCHEMA_KEY);
+        assertThat(schema.get("sheet").asText()).isEqualTo("Toyota");
+        assertThat(schema.get("rows").asInt()).isEqualTo(2);
+        assertThat(schema.get("columns")).extracting(JsonNode::asText).containsExactly("Car Name", "Common Name");
+        assertThat(lines.get(2).get("Car Name").asText()).isEqualTo("トヨタ");
+        assertThat(lines.get(2).get("Common Name").asText()).isEqualTo("model-1");
+    }
+
+    @Test
+    void write_everyLine_startsWithRecordWithoutSeparator() throws IOException {
+        Path output = tempDir.resolve("out.ndjson");
+
+        new NdjsonWorkBookWriter().write(workBook(
+                sheet("Toyota", List.of("Car Name", "Common Name"), 2),
+                sheet("Honda", List.of("Car Name", "Common Name"), 1)), output);
+
+        String text = new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+        assertThat(text).endsWith("}\n");
+        assertThat(text.split("\n")).hasSize(5).allSatisfy(line -> assertThat(line).startsWith("{"));
+    }
+
+    @Test
+    void write_gzPath_compressesOutput() throws IOException {
+        Path output = tempDir.resolve("out.jsonl.gz");
+
+        new NdjsonWorkBookWriter().write(workBook(
+                sheet("Toyota", List.of("Car Name", "Common Name"), 3),
+                sheet("Honda", List.of("Car Name", "Common Name"), 1)), output);
+
+        List<JsonNode> lines = readLines(output, true);
+        assertThat(lines).hasSize(4 + 2);
+        assertThat(lines.get(4).get(NdjsonWorkBookWriter.SCHEMA_KEY).get("sheet").asText()).isEqualTo("Honda");
+    }
+
+    @Test
+    void write_blankAndRepeatedHeaders_getUniqueKeys() throws IOException {
+        Path output = tempDir.resolve("out.ndjson");
+
+        new NdjsonWorkBookWriter().write(workBook(sheet("Toyota", List.of("Car Name", " ", "Car Name"), 1)), output);
+
+        List<JsonNode> lines = readLines(output, false);
+        assertThat(lines.get(0).get(NdjsonWorkBookWriter.SCHEMA_KEY).get("columns"))
+                .extracting(JsonNode::asText).containsExactly("Car Name", "column_2", "Car Name_2");
+        // The row has two cells, so the third column is written as an empty string
+        assertThat(lines.get(1).get("Car Name_2").asText()).isEmpty();
+    }
+
+    @Test
+    void write_rowWiderThanHeaders_keepsExtraCellsUnderColumnKeys() throws IOException {
+        Path output = tempDir.resolve("out.ndjson");
+
+        new NdjsonWorkBookWriter().write(workBook(sheet("Toyota", List.of("Car Name"), 1)), output);
+
+        List<JsonNode> lines = readLines(output, false);
+        assertThat(lines.get(0).get(NdjsonWorkBookWriter.SCHEMA_KEY).get("columns"))
+                .extracting(JsonNode::asText).containsExactly("Car Name");
+        assertThat(lines.get(1).get("Car Name").asText()).isEqualTo("トヨタ");
+        assertThat(lines.get(1).get("column_2").asText()).isEqualTo("model-0");
+    }
+
+    @Test
+    void handles_ndjsonAndJsonlWithOptionalGzip_only() {
+        assertThat(NdjsonWorkBookWriter.handles(Path.of("out.ndjson"))).isTrue();
+        assertThat(NdjsonWorkBookWriter.handles(Path.of("out.JSONL.gz"))).isTrue();
+        assertThat(NdjsonWorkBookWriter.handles(Path.of("out.xlsx"))).isFalse();
+        assertThat(NdjsonWorkBookWriter.handles(Path.of("out.xls.gz"))).isFalse();
+    }
+
+    @Test
+    void workBookWriter_ndjsonPath_delegatesToNdjsonWriter() throws IOException {
+        Path output = tempDir.resolve("nested/out.ndjson");
+
+        new WorkBookWriter().write(workBook(sheet("Toyota", List.of("Car Name", "Common Name"), 1)), output);
+
+        assertThat(readLines(output, false)).hasSize(2);
+    }
+
+    // --- Helpers ---
+
+    private static List<JsonNode> readLines(Path file, boolean gzip) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        try (InputStream in = gzip ? new GZIPInputStream(Files.newInputStream(file)) : Files.newInputStream(file);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(MAPPER.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private static WorkSheetData sheet(String name, List<String> headers, int rowCount) {
+        WorkSheetData sheet = new WorkSheetData();
+        sheet.setName(name);
+        sheet.setHeaders(headers);
+        List<RowData> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new RowData(List.of("トヨタ", "model-" + i)));
+        }
+        sheet.setRows(rows);
+        return sheet;
+    }
+
+    private static WorkBookData workBook(WorkSheetData... sheets) {
+        WorkBookData wb = new WorkBookData();
+        wb.setFileName("test.xls");
+        wb.setWorksheetCount(sheets.length);
+        for (WorkSheetData sheet : sheets) {
+            wb.getWorksheets().add(sheet);
+        }
+        return wb;
+    }
+}
@@ -0,0 +1,90 @@
+package com.originspecs.dataprep.writer;
+
+import com.originspecs.dataprep.model.RowData;
+import com.originspecs.dataprep.model.WorkBookData;
+import com.originspecs.dataprep.model.WorkSheetData;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link WorkBookWriter}.
+ * Output is read back with the POI user model to check what actually landed on disk.
+ */
+class WorkBookWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void write_xlsPath_writesHeaderRowThenDataRows() throws IOException {
+        Path output = tempDir.resolve("out.xls");
+
+        new WorkBookWriter().write(workBook(sheet("Toyota", 2)), output);
+
+        try (Workbook workbook = WorkbookFactory.create(output.toFile())) {
+            Sheet sheet = workbook.getSheet("Toyota");
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Car Name");
+            assertThat(sheet.getRow(2).getCell(1).getStringCellValue()).isEqualTo("model-1");
+            assertThat(sheet.getLastRowNum()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void write_xlsxPath_streamsRowsBeyondTheRowWindow() throws IOException {
+        Path output = tempDir.resolve("out.xlsx");
+
+        new WorkBookWriter(10).write(workBook(sheet("Toyota", 250)), output);
+
+        try (Workbook workbook = WorkbookFactory.create(output.toFile())) {
+            Sheet sheet = workbook.getSheet("Toyota");
+            assertThat(sheet.getLastRowNum()).isEqualTo(250);
+            assertThat(sheet.getRow(1).getCell(1).getStringCellValue()).isEqualTo("model-0");
+            assertThat(sheet.getRow(250).getCell(1).getStringCellValue()).isEqualTo("model-249");
+        }
+    }
+
+    @Test
+    void write_xlsPathWithTooManyRows_failsBeforeWriting() {
+        Path output = tempDir.resolve("big.xls");
+
+        assertThatThrownBy(() -> new WorkBookWriter().write(workBook(sheet("Big", 65_536)), output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(".xlsx");
+        assertThat(output).doesNotExist();
+    }
+
+    // --- Helpers ---
+
+    private static WorkSheetData sheet(String name, int rowCount) {
+        WorkSheetData sheet = new WorkSheetData();
+        sheet.setName(name);
+        sheet.setHeaders(List.of("Car Name", "Common Name"));
+        List<RowData> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new RowData(List.of(name, "model-" + i)));
+        }
+        sheet.setRows(rows);
+        return sheet;
+    }
+
+    private static WorkBookData workBook(WorkSheetData... sheets) {
+        WorkBookData wb = new WorkBookData();
+        wb.setFileName("test.xls");
+        wb.setWorksheetCount(sheets.length);
+        for (WorkSheetData sheet : sheets) {
+            wb.getWorksheets().add(sheet);
+        }
+        return wb;
+    }
+}